@@ -0,0 +1,35 @@
+package calendarsystem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * Benchmarks of the queries of {@link Accounts} that visit every account.
+ * They call the accounts directly, so the topic cache of the calendar system is not involved.
+ */
+public class AccountsBenchmark extends CalendarBenchmark {
+
+    // The accounts of the calendar.
+    private Accounts accounts;
+
+    // The topics of the query, matched by about a third of the events.
+    private ArrayList<String> topics;
+
+    @Override
+    protected void setUp() {
+        this.accounts = this.fixture.calendar.accounts;
+        this.topics = new ArrayList<>(Arrays.asList(CalendarFixture.TOPICS[0], CalendarFixture.TOPICS[4]));
+    }
+
+    @Benchmark
+    public ArrayList<Event> getEventsWithTopics() {
+        return this.accounts.getEventsWithTopics(this.topics);
+    }
+
+    @Benchmark
+    public ArrayList<AccountInterface> sortedList() {
+        return this.accounts.sortedList();
+    }
+}
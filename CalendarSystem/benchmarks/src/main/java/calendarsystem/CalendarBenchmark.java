@@ -0,0 +1,58 @@
+package calendarsystem;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The workload parameters and settings shared by the benchmarks, which build a {@link CalendarFixture}
+ * once per trial. Any parameter can be narrowed from the command line, for example -p accountCount=100.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public abstract class CalendarBenchmark {
+
+    // The number of accounts.
+    @Param({"100", "1000"})
+    public int accountCount;
+
+    // The number of events promoted by each account.
+    @Param({"5", "25"})
+    public int eventsPerAccount;
+
+    // The number of accounts invited to each event.
+    @Param({"4", "16"})
+    public int inviteesPerEvent;
+
+    // The calendar of the trial.
+    CalendarFixture fixture;
+
+    /**
+     * Builds the calendar of the trial.
+     */
+    @Setup(Level.Trial)
+    public void setUpCalendar() {
+        this.fixture = new CalendarFixture(this.accountCount, this.eventsPerAccount, this.inviteesPerEvent);
+        this.setUp();
+    }
+
+    /**
+     * Prepares the state of a benchmark once the calendar is built.
+     */
+    protected void setUp() {
+    }
+}
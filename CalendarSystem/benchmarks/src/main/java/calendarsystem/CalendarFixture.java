@@ -0,0 +1,197 @@
+package calendarsystem;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+/**
+ * A calendar filled with a regular workload, shared by the benchmarks.
+ * Account i promotes its events at hours of its own, so no invitation ever conflicts, and invites the
+ * accounts that follow it, which accept every other invitation and leave the rest unanswered.
+ * Only the first accounts may promote events, so that events with many invitees do not also give every
+ * account as many invitations.
+ */
+class CalendarFixture {
+
+    // The topics the events are tagged with.
+    static final String[] TOPICS = {"java", "jmh", "maven", "sports", "music", "movies", "travel", "food",
+        "science", "history", "art", "books", "games", "health", "news", "work"};
+
+    // The number of topics of each event.
+    static final int TOPICS_PER_EVENT = 3;
+
+    // The date of the first event.
+    static final LocalDateTime FIRST_DATE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    // The calendar.
+    final CalendarSystem calendar;
+
+    // The size of the workload.
+    final int accountCount;
+    final int promoterCount;
+    final int eventsPerAccount;
+    final int inviteesPerEvent;
+
+    /**
+     * Builds the calendar, where every account promotes events.
+     * @param accountCount The number of accounts.
+     * @param eventsPerAccount The number of events promoted by each account.
+     * @param inviteesPerEvent The number of accounts invited to each event, less than the number of accounts.
+     */
+    CalendarFixture(int accountCount, int eventsPerAccount, int inviteesPerEvent) {
+        this(accountCount, accountCount, eventsPerAccount, inviteesPerEvent);
+    }
+
+    /**
+     * Builds the calendar.
+     * @param accountCount The number of accounts.
+     * @param promoterCount The number of accounts that promote events, the first ones.
+     * @param eventsPerAccount The number of events promoted by each of these accounts.
+     * @param inviteesPerEvent The number of accounts invited to each event, less than the number of accounts.
+     */
+    CalendarFixture(int accountCount, int promoterCount, int eventsPerAccount, int inviteesPerEvent) {
+        if (inviteesPerEvent >= accountCount) {
+            throw new IllegalArgumentException("inviteesPerEvent must be less than accountCount.");
+        }
+        if (promoterCount > accountCount) {
+            throw new IllegalArgumentException("promoterCount must be at most accountCount.");
+        }
+        this.calendar = new CalendarSystem();
+        this.accountCount = accountCount;
+        this.promoterCount = promoterCount;
+        this.eventsPerAccount = eventsPerAccount;
+        this.inviteesPerEvent = inviteesPerEvent;
+
+        for (int i = 0; i < accountCount; i++) {
+            this.calendar.addAccount(accountName(i), AccountType.STAFF.toString());
+        }
+        for (int i = 0; i < promoterCount; i++) {
+            for (int j = 0; j < eventsPerAccount; j++) {
+                this.addEvent(i, j);
+            }
+        }
+    }
+
+    /**
+     * Creates an event, invites its accounts and answers the invitations.
+     * @param promoter The index of the promoter.
+     * @param index The index of the event among the events of the promoter.
+     */
+    void addEvent(int promoter, int index) {
+        this.addEvent(promoter, eventName(promoter, index), this.dateOf(promoter, index), topicsOf(promoter, index));
+    }
+
+    /**
+     * Registers an account of the workload again after it was unregistered, with its events, and invites it
+     * to the events of the accounts it follows with the same answers as the workload. Each invitation is
+     * answered right after it is made, so the answer finds it at the end of the events of the account.
+     * @param account The index of the account.
+     */
+    void addAccount(int account) {
+        String accName = accountName(account);
+        this.calendar.addAccount(accName, AccountType.STAFF.toString());
+        for (int k = 0; k < this.inviteesPerEvent; k++) {
+            int promoter = Math.floorMod(account - k - 1, this.accountCount);
+            if (promoter >= this.promoterCount) {
+                continue;
+            }
+            for (int j = 0; j < this.eventsPerAccount; j++) {
+                String eventName = eventName(promoter, j);
+                this.calendar.invite(accName, accountName(promoter), eventName);
+                if (k % 2 == 0) {
+                    this.calendar.respond(accName, accountName(promoter), eventName, EventResponse.ACCEPT.toString());
+                }
+            }
+        }
+        for (int j = 0; account < this.promoterCount && j < this.eventsPerAccount; j++) {
+            this.addEvent(account, j);
+        }
+    }
+
+    /**
+     * Creates an event beyond the workload, at an hour after every event of the workload, with the same
+     * invitations and answers as the events of the workload.
+     * @param promoter The index of the promoter.
+     * @param index The index of the extra event, which gives its hour, unique across the extra events.
+     * @return the event.
+     */
+    Event addExtraEvent(int promoter, int index) {
+        String eventName = "extra" + promoter + "_" + index;
+        LocalDateTime date = FIRST_DATE.plusHours((long) this.accountCount * this.eventsPerAccount + index);
+        this.addEvent(promoter, eventName, date, topicsOf(promoter, index));
+        return this.calendar.getEventByName(accountName(promoter), eventName);
+    }
+
+    /**
+     * Creates an event at a date, invites the accounts that follow its promoter and answers the invitations.
+     * @param promoter The index of the promoter.
+     * @param eventName The name of the event.
+     * @param date The date of the event.
+     * @param topics The topics of the event.
+     */
+    private void addEvent(int promoter, String eventName, LocalDateTime date, String[] topics) {
+        String promoterName = accountName(promoter);
+        this.calendar.addEvent(promoterName, EventType.MID.toString(), eventName, date, topics);
+
+        String[] inviteeNames = new String[this.inviteesPerEvent];
+        ArrayList<ResponseRequest> responses = new ArrayList<>();
+        for (int k = 0; k < this.inviteesPerEvent; k++) {
+            inviteeNames[k] = accountName((promoter + k + 1) % this.accountCount);
+            if (k % 2 == 0) {
+                responses.add(new ResponseRequest(inviteeNames[k], promoterName, eventName, EventResponse.ACCEPT.toString()));
+            }
+        }
+        this.calendar.inviteMany(promoterName, eventName, inviteeNames);
+        this.calendar.respondAll(responses);
+    }
+
+    /**
+     * Gets the name of an account.
+     * @param index The index of the account.
+     * @return the name of the account.
+     */
+    static String accountName(int index) {
+        return "acc" + index;
+    }
+
+    /**
+     * Gets the name of an event, unique across the calendar.
+     * @param promoter The index of the promoter.
+     * @param index The index of the event among the events of the promoter.
+     * @return the name of the event.
+     */
+    static String eventName(int promoter, int index) {
+        return "event" + promoter + "_" + index;
+    }
+
+    /**
+     * Gets the date of an event, an hour that no other event uses.
+     * @param promoter The index of the promoter.
+     * @param index The index of the event among the events of the promoter.
+     * @return the date of the event.
+     */
+    LocalDateTime dateOf(int promoter, int index) {
+        return FIRST_DATE.plusHours((long) promoter * this.eventsPerAccount + index);
+    }
+
+    /**
+     * Gets a date that no event uses.
+     * @return a free date.
+     */
+    LocalDateTime freeDate() {
+        return FIRST_DATE.minusHours(1);
+    }
+
+    /**
+     * Gets the topics of an event.
+     * @param promoter The index of the promoter.
+     * @param index The index of the event among the events of the promoter.
+     * @return the topics of the event.
+     */
+    static String[] topicsOf(int promoter, int index) {
+        String[] topics = new String[TOPICS_PER_EVENT];
+        for (int t = 0; t < TOPICS_PER_EVENT; t++) {
+            topics[t] = TOPICS[(promoter * 7 + index * 3 + t * 5) % TOPICS.length];
+        }
+        return topics;
+    }
+}
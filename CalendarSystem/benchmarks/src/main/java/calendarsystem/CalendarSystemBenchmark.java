@@ -0,0 +1,57 @@
+package calendarsystem;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the updates of {@link CalendarSystem}.
+ * Before each iteration, outside of the measurement, a batch of events is created with their invitations,
+ * one for each of the first accounts. The iteration removes the whole batch in a single invocation, and its
+ * time is divided by the size of the batch, so no setup runs between two measured removals.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 20)
+@Measurement(iterations = 50)
+public class CalendarSystemBenchmark extends CalendarBenchmark {
+
+    // The number of events removed by each iteration, at most the smallest number of accounts.
+    static final int BATCH_SIZE = 100;
+
+    // The events to remove, and the names of their promoters.
+    private Event[] events;
+    private String[] promoterNames;
+
+    @Override
+    protected void setUp() {
+        this.events = new Event[BATCH_SIZE];
+        this.promoterNames = new String[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            this.promoterNames[i] = CalendarFixture.accountName(i);
+        }
+    }
+
+    /**
+     * Creates the events removed by the next iteration.
+     */
+    @Setup(Level.Iteration)
+    public void createEvents() {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            this.events[i] = this.fixture.addExtraEvent(i, i);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public Event[] promoterRemoveEvent() {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            this.fixture.calendar.promoterRemoveEvent(this.promoterNames[i], this.events[i]);
+        }
+        return this.events;
+    }
+}
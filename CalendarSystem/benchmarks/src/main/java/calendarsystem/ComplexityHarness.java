@@ -0,0 +1,730 @@
+package calendarsystem;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.ToIntFunction;
+
+/**
+ * Runs the operations of {@link CalendarSystemInterface} on calendars of growing size, fits how their time
+ * grows and fails when it grows faster than the complexity budget declared for the operation, so that an
+ * accidentally quadratic path cannot come back unnoticed.
+ * The budgets state the growth each operation is meant to have, so an operation that grows faster fails until
+ * it is made faster. The operations that change the calendar are measured together with the calls that undo
+ * the change, so every call finds the same calendar. The topic queries are measured without their cache, and the free hours include the
+ * false positives of the hour filter, which scan the events of the account.
+ * Each operation grows along one size of the {@link CalendarFixture}, the others being kept small. Its time
+ * per call is the fastest of a few batches at each size, without the pauses of the garbage collector, and its
+ * growth is the slope of the least squares fit of log(time) over log(size), so 0 is constant, 1 is linear and
+ * 2 is quadratic. A slope more than {@link #TOLERANCE} above the exponent of the budget, which for O(n log n)
+ * counts what the factor log n adds over the measured sizes, is a failure. So are the last two doublings of the
+ * size when both multiply the time by more than {@link #LAST_DOUBLING_TOLERANCE} above the budget, a growth
+ * that speeds up at the largest sizes and that a fit over all the sizes would smooth out. A single steep doubling
+ * is what the calendar outgrowing a cache of the processor costs once, while a path that grows faster than its
+ * budget keeps doing so. A check that fails is measured again, up to {@link #ATTEMPTS} times, and only fails if
+ * every attempt does. The exit status is then 1.
+ * Every method of {@link CalendarSystemInterface} is checked, except {@code isResponseValid},
+ * {@code responseIsAccepted} and {@code respondeIsRejected}, which only read the word of a response, and
+ * {@code addGroup}, since a group is never removed and a probe would leave a new one behind at each call.
+ *
+ * The young generation of the heap is kept small, so the calendars are promoted to the old one in the order they
+ * are built, with the objects of each account close together, rather than in one copy that spreads them apart
+ * and makes the larger calendars look slower.
+ *
+ * Usage: java -Xmn16m -cp benchmarks.jar calendarsystem.ComplexityHarness [operation...]
+ * Without operations, all of them are checked. The profile "complexity" of the build runs it in the phase verify.
+ */
+public class ComplexityHarness {
+
+    // The margin allowed above the exponent of a budget, for the noise of the measurement.
+    static final double TOLERANCE = 0.25;
+
+    // The margin allowed above the exponent of a budget for each of the last doublings, which are noisier than the fit.
+    // A linear operation may then multiply its time by up to 2.8, less than the 4 of a quadratic one.
+    static final double LAST_DOUBLING_TOLERANCE = 0.5;
+
+    // The number of sizes each operation is measured at, each one twice the previous one.
+    private static final int SIZE_STEPS = 5;
+
+    // The number of batches measured at each size, whose fastest one is kept.
+    private static final int BATCHES = 9;
+
+    // The number of times a check that fails is measured again before it is reported, since a single run on a
+    // busy machine can be slowed at one size by work outside the program.
+    private static final int ATTEMPTS = 3;
+
+    // The shortest duration of a batch, and of the warm up at each size, in nanoseconds.
+    private static final long BATCH_NANOS = 2_000_000;
+    private static final long WARMUP_NANOS = 200_000_000;
+
+    // The sizes of the fixture that do not grow.
+    private static final int SMALL_ACCOUNTS = 64;
+    private static final int SMALL_EVENTS = 8;
+    private static final int SMALL_INVITEES = 4;
+
+    // The number of accounts that promote events when the invitees grow, so each account is invited to few events
+    // and the calendar grows with the invitees instead of their square.
+    private static final int SMALL_PROMOTERS = 8;
+
+    // The prefix of the names of the guests registered by the probes, which no account of the fixture has.
+    private static final String GUEST = "guest";
+
+    // The number of guests invited in a batch for each invitee of the event, so that the work that depends on
+    // the invitees already on the event outweighs the registration of the guests.
+    private static final int GUESTS_PER_INVITEE = 4;
+
+    // The name of the event added by the probes, which no event of the fixture has.
+    private static final String ADDED_EVENT = "added";
+
+    // The name of the group the probes create, of every account of the fixture or of the guests they register.
+    private static final String GROUP = "group";
+
+    // The recurrence of the events added by the probes, which starts and ends before every event of the fixture.
+    private static final Recurrence RECURRENCE = new Recurrence(RecurrenceType.WEEKLY, 4);
+
+    // The topic that no event has, so a search scans every event.
+    private static final String MISSING_TOPIC = "missing";
+
+    // The number of free hours checked in turn, so the false positives of the hour filter are averaged.
+    private static final int FREE_HOURS = 1024;
+
+    /**
+     * The growth budget of an operation.
+     */
+    enum Complexity {
+        CONSTANT("O(1)", 0, false),
+        LINEAR("O(n)", 1, false),
+        LINEARITHMIC("O(n log n)", 1, true),
+        QUADRATIC("O(n^2)", 2, false);
+
+        // The notation of the budget.
+        private final String notation;
+
+        // The exponent of n in the budget.
+        private final double exponent;
+
+        // Whether the budget has a factor log n, which adds to the fitted exponent over the measured sizes.
+        private final boolean logarithmic;
+
+        Complexity(String notation, double exponent, boolean logarithmic) {
+            this.notation = notation;
+            this.exponent = exponent;
+            this.logarithmic = logarithmic;
+        }
+
+        /**
+         * Checks if a fitted exponent stays within the budget.
+         * @param slope The fitted exponent.
+         * @param logSizes The logarithms of the sizes it was fitted over.
+         * @return true if the slope is at most the exponent the budget itself fits to over the sizes plus the tolerance.
+         */
+        boolean allows(double slope, double[] logSizes) {
+            double expected = this.exponent;
+            if (this.logarithmic) {
+                double[] logLogSizes = new double[logSizes.length];
+                for (int i = 0; i < logSizes.length; i++) {
+                    logLogSizes[i] = Math.log(logSizes[i]);
+                }
+                expected += slope(logSizes, logLogSizes);
+            }
+            return slope <= expected + TOLERANCE;
+        }
+
+        /**
+         * Checks if the growth of the time over a doubling of the size stays within the budget.
+         * @param ratio The time at a size over the time at half that size.
+         * @param logSize The logarithm of the size.
+         * @return true if the ratio is at most the growth of the budget over the doubling, times 2 to the power
+         * of the tolerance.
+         */
+        boolean allowsDoubling(double ratio, double logSize) {
+            double expected = Math.pow(2, this.exponent);
+            if (this.logarithmic) {
+                expected *= logSize / (logSize - Math.log(2));
+            }
+            return ratio <= expected * Math.pow(2, LAST_DOUBLING_TOLERANCE);
+        }
+
+        @Override
+        public String toString() {
+            return this.notation;
+        }
+    }
+
+    /**
+     * The size of the fixture an operation grows along.
+     */
+    enum Axis {
+        // The scans of the accounts already outgrow the second level cache at the smallest size.
+        ACCOUNTS(500),
+        EVENTS(25),
+        INVITEES(25);
+
+        // The smallest size measured.
+        private final int base;
+
+        Axis(int base) {
+            this.base = base;
+        }
+
+        /**
+         * Builds a calendar whose size along the axis is the given one, the other sizes being small.
+         * @param n The size along the axis.
+         * @return the calendar.
+         */
+        CalendarFixture fixture(int n) {
+            switch (this) {
+                case ACCOUNTS:
+                    return new CalendarFixture(n, SMALL_EVENTS, SMALL_INVITEES);
+                case EVENTS:
+                    return new CalendarFixture(SMALL_ACCOUNTS, n, SMALL_INVITEES);
+                default:
+                    return new CalendarFixture(n + SMALL_PROMOTERS, SMALL_PROMOTERS, 1, n);
+            }
+        }
+    }
+
+    /**
+     * A call to an operation, which returns a number derived from its result so that it is not optimized away.
+     */
+    @FunctionalInterface
+    interface Probe {
+
+        /**
+         * Calls the operation once.
+         * @param fixture The calendar.
+         * @param call The index of the call, to vary the accounts and events it uses.
+         * @return a number derived from the result.
+         */
+        int run(CalendarFixture fixture, int call);
+    }
+
+    /**
+     * An operation with its budget.
+     */
+    static class Check {
+
+        // The name of the operation.
+        final String name;
+
+        // The size the operation grows along.
+        final Axis axis;
+
+        // The budget of the operation.
+        final Complexity budget;
+
+        // The call to the operation.
+        final Probe probe;
+
+        Check(String name, Axis axis, Complexity budget, Probe probe) {
+            this.name = name;
+            this.axis = axis;
+            this.budget = budget;
+            this.probe = probe;
+        }
+    }
+
+    // The numbers returned by the probes, kept so that the calls are not optimized away.
+    private static long sink;
+
+    // The index of the next call of the check being measured, counted from 0 for each check.
+    private static int nextCall;
+
+    public static void main(String[] args) {
+        ArrayList<Check> checks = checks();
+        if (args.length > 0) {
+            checks.removeIf(check -> !Arrays.asList(args).contains(check.name));
+        }
+
+        System.out.printf("%-28s %-8s %-10s %s%n", "operation", "axis", "budget", "ns per call by size, fitted exponent, last two doublings");
+        int failures = 0;
+        for (Check check : checks) {
+            boolean within = run(check);
+            for (int attempt = 1; attempt < ATTEMPTS && !within; attempt++) {
+                within = run(check);
+            }
+            if (!within) {
+                failures++;
+            }
+        }
+        System.out.printf("%d of %d operations within budget.%n", checks.size() - failures, checks.size());
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Gets the operations and their budgets.
+     * @return the checks.
+     */
+    static ArrayList<Check> checks() {
+        ArrayList<Check> checks = new ArrayList<>();
+        ArrayList<String> missingTopic = new ArrayList<>(Arrays.asList(MISSING_TOPIC));
+
+        checks.add(new Check("accountAlreadyExists", Axis.ACCOUNTS, Complexity.CONSTANT,
+                (f, i) -> f.calendar.accountAlreadyExists(account(f, i)) ? 1 : 0));
+        checks.add(new Check("getAccountByName", Axis.ACCOUNTS, Complexity.CONSTANT,
+                (f, i) -> f.calendar.getAccountByName(account(f, i)).getName().length()));
+        checks.add(new Check("addAccount", Axis.ACCOUNTS, Complexity.CONSTANT,
+                (f, i) -> withGuest(f, i, guestName -> 1)));
+        checks.add(new Check("isGuestAccount", Axis.ACCOUNTS, Complexity.CONSTANT,
+                (f, i) -> f.calendar.isGuestAccount(account(f, i)) ? 1 : 0));
+        checks.add(new Check("isStaffAccount", Axis.ACCOUNTS, Complexity.CONSTANT,
+                (f, i) -> f.calendar.isStaffAccount(account(f, i)) ? 1 : 0));
+        checks.add(new Check("groupAlreadyExists", Axis.ACCOUNTS, Complexity.CONSTANT,
+                (f, i) -> f.calendar.groupAlreadyExists(everyone(f)) ? 1 : 0));
+        checks.add(new Check("addGroupMember", Axis.ACCOUNTS, Complexity.CONSTANT,
+                (f, i) -> withGuest(f, i, guestName -> f.calendar.addGroupMember(everyone(f), guestName) ? 1 : 0)));
+        checks.add(new Check("getGroupSize", Axis.ACCOUNTS, Complexity.LINEAR,
+                (f, i) -> f.calendar.getGroupSize(everyone(f))));
+        checks.add(new Check("getSortedList", Axis.ACCOUNTS, Complexity.LINEARITHMIC,
+                (f, i) -> f.calendar.getSortedList().size()));
+        checks.add(new Check("hasEventsWithTopic", Axis.ACCOUNTS, Complexity.LINEAR,
+                (f, i) -> f.calendar.hasEventsWithTopic(missingTopic) ? 1 : 0));
+        checks.add(new Check("getEventsWithTopics", Axis.ACCOUNTS, Complexity.LINEAR,
+                (f, i) -> {
+                    f.calendar.getTopicCache().clear();
+                    return f.calendar.getEventsWithTopics(topic(i)).size();
+                }));
+        checks.add(new Check("estimateMemory", Axis.ACCOUNTS, Complexity.LINEARITHMIC,
+                (f, i) -> (int) f.calendar.estimateMemory(1).getTotalBytes()));
+        checks.add(new Check("promoterRemoveEvent", Axis.ACCOUNTS, Complexity.CONSTANT,
+                ComplexityHarness::removeAndRestore));
+
+        checks.add(new Check("hasEventOnDate(free)", Axis.EVENTS, Complexity.LINEAR,
+                (f, i) -> f.calendar.hasEventOnDate(account(f, i), f.freeDate().minusHours(i % FREE_HOURS)) ? 1 : 0));
+        checks.add(new Check("hasEventOnDate(busy)", Axis.EVENTS, Complexity.LINEAR,
+                (f, i) -> f.calendar.hasEventOnDate(account(f, i), f.dateOf(i % f.promoterCount, i % f.eventsPerAccount)) ? 1 : 0));
+        checks.add(new Check("hasEventDuring", Axis.EVENTS, Complexity.LINEAR,
+                (f, i) -> f.calendar.hasEventDuring(account(f, i), recurringDate(f).minusHours(i % FREE_HOURS), 2, RECURRENCE) ? 1 : 0));
+        checks.add(new Check("addRecurringEvent", Axis.EVENTS, Complexity.CONSTANT,
+                (f, i) -> addRecurringAndCancel(f, i, false)));
+        checks.add(new Check("skipOccurrence", Axis.EVENTS, Complexity.CONSTANT,
+                (f, i) -> addRecurringAndCancel(f, i, true)));
+        checks.add(new Check("eventAlreadyExists", Axis.EVENTS, Complexity.LINEAR,
+                (f, i) -> f.calendar.eventAlreadyExists(account(f, i), event(f, i)) ? 1 : 0));
+        checks.add(new Check("getEventByName", Axis.EVENTS, Complexity.LINEAR,
+                (f, i) -> f.calendar.getEventByName(account(f, i), event(f, i)).getName().length()));
+        checks.add(new Check("isValidEvent", Axis.EVENTS, Complexity.LINEAR,
+                (f, i) -> f.calendar.isValidEvent(account(f, i), event(f, i)) ? 1 : 0));
+        checks.add(new Check("isPromoterHighEvent", Axis.EVENTS, Complexity.LINEAR,
+                (f, i) -> f.calendar.isPromoterHighEvent(account(f, i), event(f, i)) ? 1 : 0));
+        checks.add(new Check("getEventDay", Axis.EVENTS, Complexity.LINEAR,
+                (f, i) -> f.calendar.getEventDay(event(f, i), account(f, i))));
+        checks.add(new Check("getEventMonth", Axis.EVENTS, Complexity.LINEAR,
+                (f, i) -> f.calendar.getEventMonth(event(f, i), account(f, i))));
+        checks.add(new Check("getEventYear", Axis.EVENTS, Complexity.LINEAR,
+                (f, i) -> f.calendar.getEventYear(event(f, i), account(f, i))));
+        checks.add(new Check("getEventHour", Axis.EVENTS, Complexity.LINEAR,
+                (f, i) -> f.calendar.getEventHour(event(f, i), account(f, i))));
+        checks.add(new Check("getAccountEvents", Axis.EVENTS, Complexity.LINEAR,
+                (f, i) -> f.calendar.getAccountEvents(account(f, i)).size()));
+        checks.add(new Check("getAccountStatusLines", Axis.EVENTS, Complexity.LINEAR,
+                (f, i) -> f.calendar.getAccountStatusLines(account(f, i)).size()));
+        checks.add(new Check("getInviteeConflictEvents", Axis.EVENTS, Complexity.LINEAR,
+                (f, i) -> f.calendar.getInviteeConflictEvents(invitee(f, i), account(f, i), event(f, i)).size()));
+        checks.add(new Check("getInviteeInvitedConflictEvents", Axis.EVENTS, Complexity.LINEAR,
+                (f, i) -> f.calendar.getInviteeInvitedConflictEvents(invitee(f, i), account(f, i), event(f, i)).size()));
+        checks.add(new Check("getInvitedAccountEventsOnDate", Axis.EVENTS, Complexity.LINEAR,
+                (f, i) -> f.calendar.getInvitedAccountEventsOnDate(account(f, i), event(f, i)).size()));
+        checks.add(new Check("hasInviteeAccountEventOnDate", Axis.EVENTS, Complexity.LINEAR,
+                (f, i) -> f.calendar.hasInviteeAccountEventOnDate(invitee(f, i), account(f, i), event(f, i)) ? 1 : 0));
+        checks.add(new Check("hasInviteeAccountHighEventOnDate", Axis.EVENTS, Complexity.LINEAR,
+                (f, i) -> f.calendar.hasInviteeAccountHighEventOnDate(invitee(f, i), account(f, i), event(f, i)) ? 1 : 0));
+        checks.add(new Check("isOnInvitationList", Axis.EVENTS, Complexity.LINEAR,
+                (f, i) -> f.calendar.isOnInvitationList(invitee(f, i), event(f, i)) ? 1 : 0));
+        checks.add(new Check("hasAlreadyBeenInvited", Axis.EVENTS, Complexity.LINEAR,
+                (f, i) -> f.calendar.hasAlreadyBeenInvited(invitee(f, i), event(f, i)) ? 1 : 0));
+        checks.add(new Check("hasAlreadyResponded", Axis.EVENTS, Complexity.LINEAR,
+                (f, i) -> f.calendar.hasAlreadyResponded(invitee(f, i), event(f, i)) ? 1 : 0));
+        checks.add(new Check("promoterRemoveEvent(events)", Axis.EVENTS, Complexity.LINEAR,
+                ComplexityHarness::removeAndRestore));
+
+        checks.add(new Check("getInvitedNamesList", Axis.INVITEES, Complexity.LINEAR,
+                (f, i) -> f.calendar.getInvitedNamesList(account(f, i), event(f, i)).size()));
+        checks.add(new Check("isEventAccepted", Axis.INVITEES, Complexity.LINEAR,
+                (f, i) -> f.calendar.isEventAccepted(invitee(f, i), event(f, i), account(f, i)) ? 1 : 0));
+        checks.add(new Check("isEventRejected", Axis.INVITEES, Complexity.LINEAR,
+                (f, i) -> f.calendar.isEventRejected(invitee(f, i), event(f, i), account(f, i)) ? 1 : 0));
+        checks.add(new Check("respond(answered)", Axis.INVITEES, Complexity.LINEAR,
+                (f, i) -> f.calendar.respond(invitee(f, i), account(f, i), event(f, i), EventResponse.ACCEPT.toString()).getOutcome().ordinal()));
+        checks.add(new Check("invite", Axis.INVITEES, Complexity.CONSTANT,
+                (f, i) -> inviteGuests(f, i, 1, false, false)));
+        checks.add(new Check("respond(unanswered)", Axis.INVITEES, Complexity.CONSTANT,
+                (f, i) -> inviteGuests(f, i, 1, false, true)));
+        checks.add(new Check("inviteMany", Axis.INVITEES, Complexity.LINEAR,
+                (f, i) -> inviteGuests(f, i, GUESTS_PER_INVITEE * f.inviteesPerEvent, false, false)));
+        checks.add(new Check("respondAll(unanswered)", Axis.INVITEES, Complexity.LINEAR,
+                (f, i) -> inviteGuests(f, i, GUESTS_PER_INVITEE * f.inviteesPerEvent, false, true)));
+        checks.add(new Check("inviteGroup", Axis.INVITEES, Complexity.LINEAR,
+                (f, i) -> inviteGuests(f, i, GUESTS_PER_INVITEE * f.inviteesPerEvent, true, false)));
+        checks.add(new Check("inviteUpdateEvent", Axis.INVITEES, Complexity.CONSTANT,
+                (f, i) -> withGuest(f, i, guestName -> {
+                    f.calendar.inviteUpdateEvent(guestName, account(f, i), event(f, i));
+                    return 1;
+                })));
+        checks.add(new Check("inviteeAcceptEvent", Axis.INVITEES, Complexity.CONSTANT,
+                (f, i) -> withGuest(f, i, guestName -> {
+                    f.calendar.inviteeAcceptEvent(account(f, i), guestName, event(f, i));
+                    return 1;
+                })));
+        checks.add(new Check("inviteeRejectEvent", Axis.INVITEES, Complexity.CONSTANT,
+                (f, i) -> withGuest(f, i, guestName -> {
+                    f.calendar.inviteeRejectEvent(account(f, i), guestName, event(f, i));
+                    return 1;
+                })));
+        checks.add(new Check("addEvent", Axis.INVITEES, Complexity.CONSTANT,
+                ComplexityHarness::addAndCancel));
+        checks.add(new Check("cancelEvent", Axis.INVITEES, Complexity.LINEAR,
+                ComplexityHarness::cancelAndRestore));
+        checks.add(new Check("unregisterAccount", Axis.INVITEES, Complexity.LINEAR,
+                ComplexityHarness::unregisterAndRestore));
+        return checks;
+    }
+
+    /**
+     * Measures a check at growing sizes, prints its row and tells if it stays within its budget.
+     * @param check The check.
+     * @return true if the fitted exponent is within the budget, and one of the last two doublings at least.
+     */
+    static boolean run(Check check) {
+        nextCall = 0;
+
+        // A first warm up at the smallest size, on a calendar thrown away, lets the compiler finish before the sizes are compared.
+        warmUp(check.probe, check.axis.fixture(check.axis.base));
+
+        CalendarFixture[] fixtures = new CalendarFixture[SIZE_STEPS];
+        int[] calls = new int[SIZE_STEPS];
+        double[] logSizes = new double[SIZE_STEPS];
+        int n = check.axis.base;
+        for (int step = 0; step < SIZE_STEPS; step++, n *= 2) {
+            fixtures[step] = check.axis.fixture(n);
+            calls[step] = warmUp(check.probe, fixtures[step]);
+            logSizes[step] = Math.log(n);
+        }
+
+        // The batches take turns across the sizes, so a slow spell of the machine slows every size alike.
+        double[] nanos = new double[SIZE_STEPS];
+        Arrays.fill(nanos, Double.MAX_VALUE);
+        for (int batch = 0; batch < BATCHES; batch++) {
+            for (int step = 0; step < SIZE_STEPS; step++) {
+                nanos[step] = Math.min(nanos[step], measure(check.probe, fixtures[step], calls[step]));
+            }
+        }
+
+        double[] logNanos = new double[SIZE_STEPS];
+        StringBuilder row = new StringBuilder();
+        n = check.axis.base;
+        for (int step = 0; step < SIZE_STEPS; step++, n *= 2) {
+            logNanos[step] = Math.log(nanos[step]);
+            row.append(String.format(Locale.ROOT, "%d:%.0f ", n, nanos[step]));
+        }
+
+        double slope = slope(logSizes, logNanos);
+        double previousDoubling = Math.exp(logNanos[SIZE_STEPS - 2] - logNanos[SIZE_STEPS - 3]);
+        double lastDoubling = Math.exp(logNanos[SIZE_STEPS - 1] - logNanos[SIZE_STEPS - 2]);
+        boolean speedsUp = !check.budget.allowsDoubling(previousDoubling, logSizes[SIZE_STEPS - 2])
+                && !check.budget.allowsDoubling(lastDoubling, logSizes[SIZE_STEPS - 1]);
+        boolean within = check.budget.allows(slope, logSizes) && !speedsUp;
+        System.out.printf(Locale.ROOT, "%-28s %-8s %-10s %s=> %.2f x%.2f x%.2f %s%n", check.name, check.axis.toString().toLowerCase(Locale.ROOT),
+                check.budget, row, slope, previousDoubling, lastDoubling, within ? "ok" : "FAILED");
+        return within;
+    }
+
+    /**
+     * Warms up a call on a calendar, and finds how many calls a batch needs to last long enough.
+     * @param probe The call.
+     * @param fixture The calendar.
+     * @return the number of calls of a batch.
+     */
+    static int warmUp(Probe probe, CalendarFixture fixture) {
+        int calls = 1;
+        long warmupEnd = System.nanoTime() + WARMUP_NANOS;
+        long elapsed;
+        do {
+            long start = System.nanoTime();
+            for (int i = 0; i < calls; i++) {
+                sink += probe.run(fixture, nextCall++);
+            }
+            elapsed = System.nanoTime() - start;
+            if (elapsed < BATCH_NANOS) {
+                calls *= 2;
+            }
+        } while (System.nanoTime() < warmupEnd || elapsed < BATCH_NANOS);
+        return calls;
+    }
+
+    /**
+     * Measures a batch of calls on a calendar, without the pauses of the garbage collector.
+     * @param probe The call.
+     * @param fixture The calendar.
+     * @param calls The number of calls of the batch.
+     * @return the time per call, in nanoseconds.
+     */
+    static double measure(Probe probe, CalendarFixture fixture, int calls) {
+        long gcStart = gcNanos();
+        long start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            sink += probe.run(fixture, nextCall++);
+        }
+        long measured = System.nanoTime() - start - (gcNanos() - gcStart);
+        return (double) Math.max(measured, 1) / calls;
+    }
+
+    /**
+     * Gets the time spent collecting garbage since the start of the program. A collection scans a heap that
+     * grows with the size of the calendar, so its pauses would make cheap calls look slower on larger ones.
+     * @return the total time of the collections, in nanoseconds, to the millisecond.
+     */
+    static long gcNanos() {
+        long millis = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(collector.getCollectionTime(), 0);
+        }
+        return millis * 1_000_000;
+    }
+
+    /**
+     * Computes the slope of the least squares line through points.
+     * @param x The abscissas.
+     * @param y The ordinates.
+     * @return the slope.
+     */
+    static double slope(double[] x, double[] y) {
+        double meanX = 0;
+        double meanY = 0;
+        for (int i = 0; i < x.length; i++) {
+            meanX += x[i];
+            meanY += y[i];
+        }
+        meanX /= x.length;
+        meanY /= y.length;
+
+        double covariance = 0;
+        double variance = 0;
+        for (int i = 0; i < x.length; i++) {
+            covariance += (x[i] - meanX) * (y[i] - meanY);
+            variance += (x[i] - meanX) * (x[i] - meanX);
+        }
+        return covariance / variance;
+    }
+
+    /**
+     * Removes an event with its invitations and creates it again.
+     * @param fixture The calendar.
+     * @param call The index of the call.
+     * @return the number of invitees of the removed event.
+     */
+    private static int removeAndRestore(CalendarFixture fixture, int call) {
+        int promoter = call % fixture.promoterCount;
+        int index = call % fixture.eventsPerAccount;
+        String promoterName = CalendarFixture.accountName(promoter);
+        Event event = fixture.calendar.getEventByName(promoterName, CalendarFixture.eventName(promoter, index));
+        int invitees = event.getAllInvitedNames().size();
+        fixture.calendar.promoterRemoveEvent(promoterName, event);
+        fixture.addEvent(promoter, index);
+        return invitees;
+    }
+
+    /**
+     * Registers new guests, invites them to the event of the promoter used by a call, which already has the
+     * invitees of the fixture, and unregisters them, which takes them off the event again.
+     * A single guest is invited and answers with {@link CalendarSystem#invite} and {@link CalendarSystem#respond},
+     * and more guests with {@link CalendarSystem#inviteMany}, or {@link CalendarSystem#inviteGroup} once they
+     * joined a group, and {@link CalendarSystem#respondAll}.
+     * @param fixture The calendar.
+     * @param call The index of the call.
+     * @param guests The number of guests.
+     * @param group True if the guests join a group, which is invited instead of their names.
+     * @param answer True if the guests accept their invitations before they are unregistered.
+     * @return the number of invitations and answers that succeeded.
+     */
+    private static int inviteGuests(CalendarFixture fixture, int call, int guests, boolean group, boolean answer) {
+        String promoterName = account(fixture, call);
+        String eventName = event(fixture, call);
+        String[] guestNames = new String[guests];
+        if (group && !fixture.calendar.groupAlreadyExists(GROUP)) {
+            fixture.calendar.addGroup(GROUP);
+        }
+        for (int g = 0; g < guests; g++) {
+            guestNames[g] = GUEST + g;
+            fixture.calendar.addAccount(guestNames[g], AccountType.GUEST.toString());
+            if (group) {
+                fixture.calendar.addGroupMember(GROUP, guestNames[g]);
+            }
+        }
+
+        int succeeded = 0;
+        if (group) {
+            for (InviteResult result : fixture.calendar.inviteGroup(promoterName, eventName, GROUP)) {
+                succeeded += result.getOutcome().isSuccess() ? 1 : 0;
+            }
+        } else if (guests == 1) {
+            succeeded += fixture.calendar.invite(guestNames[0], promoterName, eventName).getOutcome().isSuccess() ? 1 : 0;
+            if (answer) {
+                succeeded += fixture.calendar.respond(guestNames[0], promoterName, eventName,
+                        EventResponse.ACCEPT.toString()).getOutcome().isSuccess() ? 1 : 0;
+            }
+        } else {
+            for (InviteResult result : fixture.calendar.inviteMany(promoterName, eventName, guestNames)) {
+                succeeded += result.getOutcome().isSuccess() ? 1 : 0;
+            }
+            if (answer) {
+                ArrayList<ResponseRequest> responses = new ArrayList<>(guests);
+                for (int g = 0; g < guests; g++) {
+                    responses.add(new ResponseRequest(guestNames[g], promoterName, eventName, EventResponse.ACCEPT.toString()));
+                }
+                for (ResponseResult result : fixture.calendar.respondAll(responses)) {
+                    succeeded += result.getOutcome().isSuccess() ? 1 : 0;
+                }
+            }
+        }
+
+        for (int g = 0; g < guests; g++) {
+            fixture.calendar.unregisterAccount(guestNames[g]);
+        }
+        return succeeded;
+    }
+
+    /**
+     * Registers a new guest, makes a call with it and unregisters it, which undoes what the call did to it.
+     * @param fixture The calendar.
+     * @param call The index of the call.
+     * @param guestCall The call, given the name of the guest.
+     * @return the number returned by the call.
+     */
+    private static int withGuest(CalendarFixture fixture, int call, ToIntFunction<String> guestCall) {
+        String guestName = GUEST;
+        fixture.calendar.addAccount(guestName, AccountType.GUEST.toString());
+        int result = guestCall.applyAsInt(guestName);
+        fixture.calendar.unregisterAccount(guestName);
+        return result;
+    }
+
+    /**
+     * Adds a recurring event to the promoter used by a call, before every event of the fixture, and cancels it again.
+     * @param fixture The calendar.
+     * @param call The index of the call.
+     * @param skip True if an occurrence of the event is skipped before it is cancelled.
+     * @return the number of accounts the event was removed from, and one more if an occurrence was skipped.
+     */
+    private static int addRecurringAndCancel(CalendarFixture fixture, int call, boolean skip) {
+        String promoterName = account(fixture, call);
+        LocalDateTime date = recurringDate(fixture);
+        fixture.calendar.addRecurringEvent(promoterName, EventType.MID.toString(), ADDED_EVENT, date, 1,
+                CalendarFixture.topicsOf(call % fixture.promoterCount, 0), new Recurrence(RECURRENCE));
+        int skipped = 0;
+        if (skip) {
+            skipped = fixture.calendar.skipOccurrence(promoterName, ADDED_EVENT, RECURRENCE.getOccurrence(date, 1)) ? 1 : 0;
+        }
+        return fixture.calendar.cancelEvent(promoterName, ADDED_EVENT) + skipped;
+    }
+
+    /**
+     * Adds an event to the promoter used by a call, at a free date, and cancels it again.
+     * @param fixture The calendar.
+     * @param call The index of the call.
+     * @return the number of accounts the event was removed from.
+     */
+    private static int addAndCancel(CalendarFixture fixture, int call) {
+        String promoterName = account(fixture, call);
+        fixture.calendar.addEvent(promoterName, EventType.MID.toString(), ADDED_EVENT, fixture.freeDate(),
+                CalendarFixture.topicsOf(call % fixture.promoterCount, 0));
+        return fixture.calendar.cancelEvent(promoterName, ADDED_EVENT);
+    }
+
+    /**
+     * Cancels an event with its invitations and creates it again.
+     * @param fixture The calendar.
+     * @param call The index of the call.
+     * @return the number of accounts the event was removed from.
+     */
+    private static int cancelAndRestore(CalendarFixture fixture, int call) {
+        int promoter = call % fixture.promoterCount;
+        int index = call % fixture.eventsPerAccount;
+        int removed = fixture.calendar.cancelEvent(CalendarFixture.accountName(promoter), CalendarFixture.eventName(promoter, index));
+        fixture.addEvent(promoter, index);
+        return removed;
+    }
+
+    /**
+     * Unregisters an account, which cancels its events and takes it off the events it was invited to,
+     * and registers it again with the same events, invitations and answers.
+     * @param fixture The calendar.
+     * @param call The index of the call.
+     * @return the number of events the account promoted or was invited to.
+     */
+    private static int unregisterAndRestore(CalendarFixture fixture, int call) {
+        int account = call % fixture.promoterCount;
+        UnregisterResult result = fixture.calendar.unregisterAccount(CalendarFixture.accountName(account));
+        fixture.addAccount(account);
+        return result.getCancelledEvents() + result.getLeftEvents();
+    }
+
+    /**
+     * Gets the promoter used by a call.
+     * @param fixture The calendar.
+     * @param call The index of the call.
+     * @return the name of the account.
+     */
+    private static String account(CalendarFixture fixture, int call) {
+        return CalendarFixture.accountName(call % fixture.promoterCount);
+    }
+
+    /**
+     * Gets the event of the promoter used by a call.
+     * @param fixture The calendar.
+     * @param call The index of the call.
+     * @return the name of the event.
+     */
+    private static String event(CalendarFixture fixture, int call) {
+        return CalendarFixture.eventName(call % fixture.promoterCount, call % fixture.eventsPerAccount);
+    }
+
+    /**
+     * Gets the first account invited to the event of the promoter used by a call.
+     * @param fixture The calendar.
+     * @param call The index of the call.
+     * @return the name of the account.
+     */
+    private static String invitee(CalendarFixture fixture, int call) {
+        return CalendarFixture.accountName((call % fixture.promoterCount + 1) % fixture.accountCount);
+    }
+
+    /**
+     * Gets the group of every account of the fixture, created by the first call that needs it.
+     * @param fixture The calendar.
+     * @return the name of the group.
+     */
+    private static String everyone(CalendarFixture fixture) {
+        if (!fixture.calendar.groupAlreadyExists(GROUP)) {
+            fixture.calendar.addGroup(GROUP);
+            for (int a = 0; a < fixture.accountCount; a++) {
+                fixture.calendar.addGroupMember(GROUP, CalendarFixture.accountName(a));
+            }
+        }
+        return GROUP;
+    }
+
+    /**
+     * Gets the first date of the recurring events, whose occurrences all come before the events of the fixture
+     * and the free dates of {@link CalendarFixture#freeDate()}.
+     * @param fixture The calendar.
+     * @return the date.
+     */
+    private static LocalDateTime recurringDate(CalendarFixture fixture) {
+        return fixture.freeDate().minusWeeks(RECURRENCE.getCount());
+    }
+
+    /**
+     * Gets the topic searched by a call.
+     * @param call The index of the call.
+     * @return the topic in a list.
+     */
+    private static ArrayList<String> topic(int call) {
+        return new ArrayList<>(Arrays.asList(CalendarFixture.TOPICS[call % CalendarFixture.TOPICS.length]));
+    }
+}
@@ -0,0 +1,22 @@
+package calendarsystem;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * Benchmarks of the counters of an {@link Event} with inviteesPerEvent invitations, half of them accepted.
+ */
+public class EventBenchmark extends CalendarBenchmark {
+
+    // The event.
+    private Event event;
+
+    @Override
+    protected void setUp() {
+        this.event = this.fixture.calendar.getEventByName(CalendarFixture.accountName(0), CalendarFixture.eventName(0, 0));
+    }
+
+    @Benchmark
+    public int getUnansweredStatus() {
+        return this.event.getUnansweredStatus();
+    }
+}
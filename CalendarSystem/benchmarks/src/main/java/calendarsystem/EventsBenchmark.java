@@ -0,0 +1,56 @@
+package calendarsystem;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * Benchmarks of the queries of {@link Events}, on the events of the first account: the ones it promotes
+ * and the ones it is invited to by the accounts before it.
+ */
+public class EventsBenchmark extends CalendarBenchmark {
+
+    // The name of the account.
+    private String accName;
+
+    // A copy of the events of the account.
+    private Events events;
+
+    // The date of an event of the account.
+    private LocalDateTime busyDate;
+
+    // A date without events.
+    private LocalDateTime freeDate;
+
+    // An event the account is invited to.
+    private Event invitedEvent;
+
+    @Override
+    protected void setUp() {
+        this.accName = CalendarFixture.accountName(0);
+        this.events = new Events();
+        for (Event event : this.fixture.calendar.getAccountEvents(this.accName)) {
+            this.events.addEvent(event, this.accName);
+        }
+        this.busyDate = this.fixture.dateOf(0, 0);
+        this.freeDate = this.fixture.freeDate();
+        int inviter = this.fixture.accountCount - 1;
+        this.invitedEvent = this.fixture.calendar.getEventByName(CalendarFixture.accountName(inviter), CalendarFixture.eventName(inviter, 0));
+    }
+
+    @Benchmark
+    public boolean hasEventOnDateBusy() {
+        return this.events.hasEventOnDate(this.busyDate, this.accName);
+    }
+
+    @Benchmark
+    public boolean hasEventOnDateFree() {
+        return this.events.hasEventOnDate(this.freeDate, this.accName);
+    }
+
+    @Benchmark
+    public ArrayList<Event> getEventsListByDate() {
+        return this.events.getEventsListByDate(this.invitedEvent, this.accName);
+    }
+}
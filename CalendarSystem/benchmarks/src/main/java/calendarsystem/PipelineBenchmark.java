@@ -0,0 +1,205 @@
+package calendarsystem;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+/**
+ * Compares the throughput and the tail latency of the calendar system called directly by several
+ * threads, as a {@link ConcurrentCalendarSystem}, with the same workload executed through a
+ * {@link CommandPipeline} over a plain {@link CalendarSystem}.
+ * Both paths run every operation atomically: the pipeline runs one operation at a time, and the direct
+ * path holds the stripe of the account of a composite operation for all of its calls.
+ *
+ * Usage: java -jar benchmarks.jar PipelineBenchmark -t 8 -p accounts=100000
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class PipelineBenchmark {
+
+    // The value of the parameter path that calls the concurrent calendar system directly.
+    private static final String DIRECT = "direct";
+
+    // The seed of the workload, so both paths run the same operations.
+    private static final long SEED = 42;
+
+    // The way the operations are executed, "direct" or "pipeline".
+    @Param({"direct", "pipeline"})
+    public String path;
+
+    // The number of accounts.
+    @Param({"10000"})
+    public int accounts;
+
+    // The number of slots of the pipeline.
+    @Param({"1024"})
+    public int capacity;
+
+    // The calendar called directly, or null when the operations go through the pipeline.
+    private ConcurrentCalendarSystem direct;
+
+    // The pipeline, or null when the operations are called directly.
+    private CommandPipeline pipeline;
+
+    /**
+     * Builds the calendar of the trial, and the pipeline over it when the operations go through one.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (DIRECT.equals(this.path)) {
+            this.direct = new ConcurrentCalendarSystem();
+            populate(this.direct, this.accounts);
+        } else {
+            CalendarSystem calendar = new CalendarSystem();
+            populate(calendar, this.accounts);
+            this.pipeline = new CommandPipeline(calendar, this.capacity);
+        }
+    }
+
+    /**
+     * Stops the pipeline of the trial.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (this.pipeline != null) {
+            this.pipeline.close();
+        }
+    }
+
+    // The guard of the try-with-resources block is only there to release its stripe when the block ends.
+    @SuppressWarnings("try")
+    @Benchmark
+    public Object execute(Workload workload) {
+        WorkloadOperation operation = workload.next(this.accounts);
+        if (this.pipeline != null) {
+            return this.pipeline.execute(operation.operation);
+        }
+        if (operation.accName == null) {
+            return operation.operation.apply(this.direct);
+        }
+        try (AccountLocks.Guard guard = this.direct.lockAccounts(operation.accName)) {
+            return operation.operation.apply(this.direct);
+        }
+    }
+
+    /**
+     * This method creates the accounts of the workload and one event per manager.
+     * @param calendar The calendar system.
+     * @param accounts The number of accounts.
+     */
+    private static void populate(CalendarSystemInterface calendar, int accounts) {
+        for (int i = 0; i < accounts; i++) {
+            calendar.addAccount(accountName(i), i % 4 == 0 ? "staff" : "manager");
+        }
+        for (int i = 0; i < accounts; i++) {
+            if (i % 4 != 0) {
+                String[] topics = {"topic" + (i % 7)};
+                calendar.addEvent(accountName(i), i % 3 == 0 ? "high" : "mid", "event" + i, dateOf(i), topics);
+            }
+        }
+    }
+
+    /**
+     * This method gets the name of an account of the workload.
+     * @param index The index of the account.
+     * @return the name of the account.
+     */
+    private static String accountName(int index) {
+        return "user" + index;
+    }
+
+    /**
+     * This method gets the date of the event of an account, spread over a few days.
+     * @param index The index of the account.
+     * @return the date.
+     */
+    private static LocalDateTime dateOf(int index) {
+        return LocalDateTime.of(2024, 1, 1 + index % 28, 8 + index % 10, 0);
+    }
+
+    /**
+     * The operations of one benchmark thread, seeded by the index of the thread.
+     */
+    @State(Scope.Thread)
+    public static class Workload {
+
+        // The random generator of the thread.
+        private Random random;
+
+        /**
+         * Seeds the random generator of the thread.
+         * @param threads The parameters of the benchmark threads.
+         */
+        @Setup(Level.Trial)
+        public void setUp(ThreadParams threads) {
+            this.random = new Random(SEED + threads.getThreadIndex());
+        }
+
+        /**
+         * This method picks the next operation of the workload: mostly reads, with invitations and new events.
+         * @param accounts The number of accounts.
+         * @return the operation.
+         */
+        WorkloadOperation next(int accounts) {
+            int kind = this.random.nextInt(10);
+            String accName = accountName(this.random.nextInt(accounts));
+            if (kind < 6) {
+                return new WorkloadOperation(null, calendar -> calendar.getAccountEvents(accName));
+            }
+            int promoter = this.random.nextInt(accounts);
+            if (kind < 9) {
+                String promoterName = accountName(promoter | 1);
+                String eventName = "event" + (promoter | 1);
+                return new WorkloadOperation(null, calendar -> calendar.invite(accName, promoterName, eventName));
+            }
+            String eventName = "extra" + this.random.nextInt(1_000_000);
+            String[] topics = {"topic" + this.random.nextInt(7)};
+            return new WorkloadOperation(accName, calendar -> {
+                if (calendar.isStaffAccount(accName) || calendar.eventAlreadyExists(accName, eventName)
+                        || calendar.hasEventOnDate(accName, dateOf(promoter))) {
+                    return false;
+                }
+                calendar.addEvent(accName, "mid", eventName, dateOf(promoter), topics);
+                return true;
+            });
+        }
+    }
+
+    /**
+     * An operation of the workload, with the account the direct path locks around it.
+     */
+    static final class WorkloadOperation {
+
+        // The account a composite operation touches, or null if the operation is a single call.
+        final String accName;
+
+        // The operation.
+        final CalendarOperation<?> operation;
+
+        WorkloadOperation(String accName, CalendarOperation<?> operation) {
+            this.accName = accName;
+            this.operation = operation;
+        }
+    }
+}
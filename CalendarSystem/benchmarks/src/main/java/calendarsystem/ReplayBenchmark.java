@@ -0,0 +1,260 @@
+package calendarsystem;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Replays a script made by {@link WorkloadGenerator} on a {@link CalendarSystem}, and samples the latency of
+ * each command of one type, whose percentiles JMH reports with the throughput.
+ * The script is generated and parsed once per trial, so neither is measured. Each command runs the same checks
+ * and calls as the command line program, without printing. Before each measured command, the commands of the
+ * other types that come first in the script run in the setup of the invocation, so every command sees the
+ * calendar left by the ones before it. Once the script ends, it is replayed again on a new calendar.
+ * The type "all" measures every command of the script.
+ *
+ * Usage: java -jar benchmarks.jar ReplayBenchmark -p command=invite -p accounts=10000
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReplayBenchmark {
+
+    // The value of the parameter command that measures every command.
+    private static final String ALL = "all";
+
+    // The type of the commands that are measured, or "all".
+    @Param({"all", "create", "invite", "response", "topics"})
+    public String command;
+
+    // The seed of the script.
+    @Param({"42"})
+    public long seed;
+
+    // The number of accounts registered by the script.
+    @Param({"1000"})
+    public int accounts;
+
+    // The number of commands of the script after the registrations.
+    @Param({"100000"})
+    public int commands;
+
+    // The percentages of staff and guest accounts, the rest being managers.
+    @Param({"50"})
+    public int staffShare;
+
+    @Param({"20"})
+    public int guestShare;
+
+    // The commands of the script, in order, without the final exit.
+    private ArrayList<ReplayCommand> script;
+
+    // The type of the measured commands, or null to measure all of them.
+    private CommandType measured;
+
+    // The calendar the script is replayed on.
+    private CalendarSystem calendar;
+
+    // The index of the next command of the script.
+    private int next;
+
+    // The command measured by the next invocation.
+    private ReplayCommand current;
+
+    /**
+     * Generates the script and parses it into commands.
+     */
+    @Setup(Level.Trial)
+    public void generateScript() {
+        StringWriter text = new StringWriter();
+        try (PrintWriter out = new PrintWriter(text)) {
+            new WorkloadGenerator(this.seed, this.accounts, this.staffShare, this.guestShare).generate(this.commands, out);
+        }
+        this.script = parse(text.toString());
+        this.measured = ALL.equals(this.command) ? null : CommandType.getEnum(this.command);
+        this.calendar = new CalendarSystem();
+        this.next = 0;
+    }
+
+    /**
+     * Runs the commands that come before the next measured one, starting the script again on a new
+     * calendar when it ends.
+     */
+    @Setup(Level.Invocation)
+    public void nextCommand() {
+        while (true) {
+            if (this.next == this.script.size()) {
+                this.calendar = new CalendarSystem();
+                this.next = 0;
+            }
+            ReplayCommand replayCommand = this.script.get(this.next++);
+            if (this.measured == null || replayCommand.type == this.measured) {
+                this.current = replayCommand;
+                return;
+            }
+            replayCommand.operation.apply(this.calendar);
+        }
+    }
+
+    @Benchmark
+    public Object replay() {
+        return this.current.operation.apply(this.calendar);
+    }
+
+    /**
+     * Parses a script into commands, up to the command "exit" or the end of the script.
+     * @param text The script.
+     * @return the commands.
+     */
+    static ArrayList<ReplayCommand> parse(String text) {
+        ArrayList<ReplayCommand> commands = new ArrayList<>();
+        try (Scanner sn = new Scanner(text)) {
+            while (sn.hasNextLine()) {
+                String[] line = sn.nextLine().split(" ");
+                CommandType type = CommandType.getEnum(line[0]);
+                if (type == null) {
+                    throw new IllegalArgumentException("Unknown command " + line[0] + ".");
+                }
+                if (type == CommandType.CMD_EXIT) {
+                    break;
+                }
+                commands.add(new ReplayCommand(type, parseCommand(type, line, sn)));
+            }
+        }
+        return commands;
+    }
+
+    /**
+     * Parses one command, with the lines that follow it.
+     * @param type The type of the command.
+     * @param line The command line, split on spaces.
+     * @param sn The scanner positioned after the command line.
+     * @return the operation that executes the command.
+     */
+    private static CalendarOperation<?> parseCommand(CommandType type, String[] line, Scanner sn) {
+        switch (type) {
+            case CMD_REGISTER:
+                return register(line[1], line[2]);
+            case CMD_CREATE: {
+                String eventName = sn.nextLine();
+                String[] dateLine = sn.nextLine().split(" ");
+                LocalDateTime ldt = LocalDateTime.of(Integer.parseInt(dateLine[1]), Integer.parseInt(dateLine[2]),
+                        Integer.parseInt(dateLine[3]), Integer.parseInt(dateLine[4]), 0);
+                return create(line[1], eventName, dateLine[0], ldt, sn.nextLine().split(" "));
+            }
+            case CMD_INVITE: {
+                String[] promoterLine = sn.nextLine().split(" ");
+                String eventName = String.join(" ", Arrays.copyOfRange(promoterLine, 1, promoterLine.length));
+                return invite(Arrays.copyOfRange(line, 1, line.length), promoterLine[0], eventName);
+            }
+            case CMD_RESPONSE: {
+                String[] promoterLine = sn.nextLine().split(" ");
+                String eventName = String.join(" ", Arrays.copyOfRange(promoterLine, 1, promoterLine.length));
+                String response = sn.nextLine();
+                return calendar -> calendar.respond(line[1], promoterLine[0], eventName, response);
+            }
+            case CMD_TOPICS: {
+                ArrayList<String> topics = new ArrayList<>(Arrays.asList(line).subList(1, line.length));
+                return calendar -> calendar.getEventsWithTopics(topics);
+            }
+            default:
+                throw new IllegalArgumentException("The command " + line[0] + " is not replayed.");
+        }
+    }
+
+    /**
+     * Builds the command "register", with the checks of the command line program.
+     * @param accName The name of the account.
+     * @param accType The type of the account.
+     * @return the operation, which tells if the account was registered.
+     */
+    private static CalendarOperation<Boolean> register(String accName, String accType) {
+        return calendar -> {
+            if (calendar.accountAlreadyExists(accName) || !AccountType.isTypeValid(accType)) {
+                return false;
+            }
+            calendar.addAccount(accName, accType);
+            return true;
+        };
+    }
+
+    /**
+     * Builds the command "create" of a single event, with the checks and the cascade of the command line program.
+     * @param accName The name of the promoter.
+     * @param eventName The name of the event.
+     * @param pType The priority type of the event.
+     * @param ldt The date of the event.
+     * @param topics The topics of the event.
+     * @return the operation, which tells if the event was created.
+     */
+    private static CalendarOperation<Boolean> create(String accName, String eventName, String pType, LocalDateTime ldt, String[] topics) {
+        return calendar -> {
+            if (!calendar.accountAlreadyExists(accName) || !EventType.isPriorityTypeValid(pType)
+                    || calendar.isGuestAccount(accName)
+                    || (calendar.isStaffAccount(accName) && EventType.isHigh(pType))
+                    || calendar.eventAlreadyExists(accName, eventName) || calendar.hasEventOnDate(accName, ldt)) {
+                return false;
+            }
+            calendar.addEvent(accName, pType, eventName, ldt, topics);
+            Iterator<Event> itEvents = calendar.getInvitedAccountEventsOnDate(accName, eventName).iterator();
+            while (itEvents.hasNext()) {
+                itEvents.next().addRejectedAccount(accName);
+            }
+            return true;
+        };
+    }
+
+    /**
+     * Builds the command "invite", with the checks of the command line program.
+     * @param inviteeNames The names of the invited accounts.
+     * @param promoterName The name of the promoter.
+     * @param eventName The name of the event.
+     * @return the operation, which gives the outcome of each invitation, or null if the promoter does not exist.
+     */
+    private static CalendarOperation<ArrayList<InviteResult>> invite(String[] inviteeNames, String promoterName, String eventName) {
+        return calendar -> {
+            if (!calendar.accountAlreadyExists(promoterName)) {
+                return null;
+            }
+            return calendar.inviteMany(promoterName, eventName, inviteeNames);
+        };
+    }
+
+    /**
+     * A command of the script.
+     */
+    static final class ReplayCommand {
+
+        // The type of the command.
+        final CommandType type;
+
+        // The operation that executes the command.
+        final CalendarOperation<?> operation;
+
+        ReplayCommand(CommandType type, CalendarOperation<?> operation) {
+            this.type = type;
+            this.operation = operation;
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package calendarsystem;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Generates a script of commands in the format read by the command line program, to size the calendar
+ * system with a realistic workload. The same seed and settings always produce the same script.
+ * All the accounts are registered first, with the given mix of types. Then the script creates events,
+ * invites accounts, answers invitations and searches topics. A few accounts, time slots and topics are
+ * much more popular than the others, so the busy checks and conflicts of a real calendar show up too.
+ * The script ends with the command "exit". {@link ReplayBenchmark} replays such scripts.
+ *
+ * Usage: java -cp benchmarks.jar calendarsystem.WorkloadGenerator [seed] [accounts] [commands] [staff%] [guest%]
+ * The managers are the remaining share of the accounts. The script can also be piped into the program itself.
+ */
+public class WorkloadGenerator {
+
+    /** The share of the commands, in percent, of each kind after the registrations. */
+    private static final int CREATE_SHARE = 20;
+    private static final int INVITE_SHARE = 40;
+    private static final int RESPONSE_SHARE = 25;
+
+    /** The skew of the popularity of accounts and topics, as the exponent of a Zipf distribution. */
+    private static final double POPULARITY_SKEW = 1.1;
+
+    /** The number of topics. */
+    private static final int TOPIC_COUNT = 40;
+
+    /** The number of days and of hours per day the events are spread over. */
+    private static final int DAYS = 28;
+    private static final int HOURS_PER_DAY = 12;
+
+    /** The number of hot time slots, and the percentage of the events scheduled in one of them. */
+    private static final int HOT_SLOTS = 6;
+    private static final int HOT_SLOT_SHARE = 40;
+
+    /** The percentage of the answers that accept the invitation. */
+    private static final int ACCEPT_SHARE = 70;
+
+    /** The largest number of accounts invited by one command. */
+    private static final int MAX_INVITEES = 3;
+
+    /** The random generator of the script. */
+    private Random random;
+
+    /** The number of accounts. */
+    private int accounts;
+
+    /** The types of the accounts, by index. */
+    private AccountType[] types;
+
+    /** The indexes of the accounts that can create events, managers and staff. */
+    private ArrayList<Integer> promoters;
+
+    /** The cumulative popularity of the accounts, by index. */
+    private double[] accountPopularity;
+
+    /** The cumulative popularity of the topics, by index. */
+    private double[] topicPopularity;
+
+    /** The hot time slots. */
+    private int[] hotSlots;
+
+    /** The events created so far, as the index of the promoter and the name of the event. */
+    private ArrayList<Integer> eventPromoters;
+    private ArrayList<String> eventNames;
+
+    /** The invitations sent so far, as the index of the invitee and the index of the event. */
+    private ArrayList<Integer> invitationInvitees;
+    private ArrayList<Integer> invitationEvents;
+
+    /**
+     * Initializes the generator.
+     * @param seed The seed of the random generator.
+     * @param accounts The number of accounts.
+     * @param staffShare The percentage of staff accounts.
+     * @param guestShare The percentage of guest accounts, the rest being managers.
+     */
+    public WorkloadGenerator(long seed, int accounts, int staffShare, int guestShare) {
+        this.random = new Random(seed);
+        this.accounts = accounts;
+        this.types = new AccountType[accounts];
+        this.promoters = new ArrayList<>();
+        for (int i = 0; i < accounts; i++) {
+            int share = this.random.nextInt(100);
+            if (share < staffShare) {
+                this.types[i] = AccountType.STAFF;
+            } else if (share < staffShare + guestShare) {
+                this.types[i] = AccountType.GUEST;
+            } else {
+                this.types[i] = AccountType.MANAGER;
+            }
+            if (this.types[i] != AccountType.GUEST) {
+                this.promoters.add(i);
+            }
+        }
+        this.accountPopularity = zipf(accounts);
+        this.topicPopularity = zipf(TOPIC_COUNT);
+        this.hotSlots = new int[HOT_SLOTS];
+        for (int i = 0; i < HOT_SLOTS; i++) {
+            this.hotSlots[i] = this.random.nextInt(DAYS * HOURS_PER_DAY);
+        }
+        this.eventPromoters = new ArrayList<>();
+        this.eventNames = new ArrayList<>();
+        this.invitationInvitees = new ArrayList<>();
+        this.invitationEvents = new ArrayList<>();
+    }
+
+    public static void main(String[] args) {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 42;
+        int accounts = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+        int commands = args.length > 2 ? Integer.parseInt(args[2]) : 100_000;
+        int staffShare = args.length > 3 ? Integer.parseInt(args[3]) : 50;
+        int guestShare = args.length > 4 ? Integer.parseInt(args[4]) : 20;
+
+        PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out)));
+        new WorkloadGenerator(seed, accounts, staffShare, guestShare).generate(commands, out);
+        out.flush();
+    }
+
+    /**
+     * This method writes the script: the registrations, the given number of other commands and the exit.
+     * @param commands The number of commands after the registrations.
+     * @param out The writer that receives the script.
+     */
+    public void generate(int commands, PrintWriter out) {
+        for (int i = 0; i < this.accounts; i++) {
+            out.println(CommandType.CMD_REGISTER + " " + accountName(i) + " " + this.types[i]);
+        }
+        for (int i = 0; i < commands; i++) {
+            int kind = this.random.nextInt(100);
+            if (kind < CREATE_SHARE || this.eventNames.isEmpty()) {
+                this.create(out);
+            } else if (kind < CREATE_SHARE + INVITE_SHARE) {
+                this.invite(out);
+            } else if (kind < CREATE_SHARE + INVITE_SHARE + RESPONSE_SHARE && !this.invitationEvents.isEmpty()) {
+                this.response(out);
+            } else {
+                this.topics(out);
+            }
+        }
+        out.println(CommandType.CMD_EXIT);
+    }
+
+    /**
+     * This method writes a command "create" by a popular manager or staff account.
+     * @param out The writer that receives the script.
+     */
+    private void create(PrintWriter out) {
+        int promoter = this.promoters.get(pick(this.accountPopularity, this.random) % this.promoters.size());
+        String eventName = "event" + this.eventNames.size();
+        boolean high = this.types[promoter] == AccountType.MANAGER && this.random.nextInt(10) < 3;
+        LocalDateTime ldt = this.nextDate();
+
+        out.println(CommandType.CMD_CREATE + " " + accountName(promoter));
+        out.println(eventName);
+        out.println((high ? EventType.HIGH : EventType.MID) + " " + ldt.getYear() + " " + ldt.getMonthValue() + " "
+                + ldt.getDayOfMonth() + " " + ldt.getHour());
+        out.println(this.nextTopics(1 + this.random.nextInt(3)));
+
+        this.eventPromoters.add(promoter);
+        this.eventNames.add(eventName);
+    }
+
+    /**
+     * This method writes a command "invite" of popular accounts to a recent event.
+     * @param out The writer that receives the script.
+     */
+    private void invite(PrintWriter out) {
+        int event = this.nextEvent();
+        int inviteeCount = 1 + (this.random.nextInt(4) == 0 ? this.random.nextInt(MAX_INVITEES) : 0);
+
+        StringBuilder command = new StringBuilder(CommandType.CMD_INVITE.toString());
+        for (int i = 0; i < inviteeCount; i++) {
+            int invitee = pick(this.accountPopularity, this.random);
+            command.append(' ').append(accountName(invitee));
+            this.invitationInvitees.add(invitee);
+            this.invitationEvents.add(event);
+        }
+        out.println(command);
+        out.println(accountName(this.eventPromoters.get(event)) + " " + this.eventNames.get(event));
+    }
+
+    /**
+     * This method writes a command "response" to one of the invitations sent so far, most likely a recent one.
+     * @param out The writer that receives the script.
+     */
+    private void response(PrintWriter out) {
+        int invitation = this.nextRecent(this.invitationEvents.size());
+        int event = this.invitationEvents.get(invitation);
+
+        out.println(CommandType.CMD_RESPONSE + " " + accountName(this.invitationInvitees.get(invitation)));
+        out.println(accountName(this.eventPromoters.get(event)) + " " + this.eventNames.get(event));
+        out.println(this.random.nextInt(100) < ACCEPT_SHARE ? EventResponse.ACCEPT : EventResponse.REJECT);
+    }
+
+    /**
+     * This method writes a command "topics" with one or two popular topics.
+     * @param out The writer that receives the script.
+     */
+    private void topics(PrintWriter out) {
+        out.println(CommandType.CMD_TOPICS + " " + this.nextTopics(1 + this.random.nextInt(2)));
+    }
+
+    /**
+     * This method picks the date of a new event, in a hot time slot or anywhere in the calendar.
+     * @return the date.
+     */
+    private LocalDateTime nextDate() {
+        int slot = this.random.nextInt(100) < HOT_SLOT_SHARE
+                ? this.hotSlots[this.random.nextInt(HOT_SLOTS)]
+                : this.random.nextInt(DAYS * HOURS_PER_DAY);
+        return LocalDateTime.of(2024, 1, 1 + slot / HOURS_PER_DAY, 8 + slot % HOURS_PER_DAY, 0);
+    }
+
+    /**
+     * This method picks distinct popular topics.
+     * @param count The number of topics.
+     * @return the topics separated by spaces.
+     */
+    private String nextTopics(int count) {
+        ArrayList<String> topics = new ArrayList<>();
+        while (topics.size() < count) {
+            String topic = "topic" + pick(this.topicPopularity, this.random);
+            if (!topics.contains(topic)) {
+                topics.add(topic);
+            }
+        }
+        return String.join(" ", topics);
+    }
+
+    /**
+     * This method picks an event, most likely a recent one.
+     * @return the index of the event.
+     */
+    private int nextEvent() {
+        return this.nextRecent(this.eventNames.size());
+    }
+
+    /**
+     * This method picks an index skewed towards the end, as recent items are the most active ones.
+     * @param size The number of items.
+     * @return the index of the item.
+     */
+    private int nextRecent(int size) {
+        int window = Math.min(size, 1 + this.random.nextInt(Math.min(size, 200)));
+        return size - 1 - this.random.nextInt(window);
+    }
+
+    /**
+     * This method gets the name of an account of the workload.
+     * @param index The index of the account.
+     * @return the name of the account.
+     */
+    private static String accountName(int index) {
+        return "user" + index;
+    }
+
+    /**
+     * This method computes the cumulative weights of a Zipf distribution, where rank i has weight 1 / (i + 1)^s.
+     * @param size The number of ranks.
+     * @return the cumulative weights, the last one being 1.
+     */
+    private static double[] zipf(int size) {
+        double[] cumulative = new double[size];
+        double total = 0;
+        for (int i = 0; i < size; i++) {
+            total += 1.0 / Math.pow(i + 1, POPULARITY_SKEW);
+            cumulative[i] = total;
+        }
+        for (int i = 0; i < size; i++) {
+            cumulative[i] /= total;
+        }
+        return cumulative;
+    }
+
+    /**
+     * This method picks a rank from cumulative weights.
+     * @param cumulative The cumulative weights.
+     * @param random The random generator.
+     * @return the rank.
+     */
+    private static int pick(double[] cumulative, Random random) {
+        double value = random.nextDouble();
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (cumulative[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,58 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs the command line program on scripts and checks what it prints.
+ * The program ends with System.exit, so each script runs in a JVM of its own.
+ */
+class MainTest {
+
+    /** The registration that starts every script, and what the program prints for it. */
+    private static final String REGISTER = "register boss manager\n";
+    private static final String REGISTERED = "boss was registered.";
+
+    @Test
+    void createsRecurringEvent() throws Exception {
+        List<String> output = run(REGISTER + "create boss\nstandup\nmid 2024 1 1 9 weekly 3\nteam\n");
+        assertEquals(Arrays.asList(REGISTERED, "standup is scheduled weekly, 3 occurrences."), output.subList(0, 2));
+    }
+
+    @Test
+    void rejectsRecurrenceWithoutCount() throws Exception {
+        List<String> output = run(REGISTER + "create boss\nodd\nmid 2024 1 1 9 weekly\nteam\nevents boss\n");
+        assertEquals(Arrays.asList(REGISTERED, "Unknown recurrence.", "Account boss has no events."), output.subList(0, 3));
+    }
+
+    @Test
+    void rejectsOptionWithoutValue() throws Exception {
+        List<String> output = run(REGISTER + "create boss\nodd\nmid 2024 1 1 9 hours 2 daily\nteam\n");
+        assertEquals(Arrays.asList(REGISTERED, "Unknown recurrence."), output.subList(0, 2));
+    }
+
+    /**
+     * Runs the program on a script, which is ended with the command "exit".
+     * @param script The commands.
+     * @return the lines printed by the program.
+     */
+    private static List<String> run(String script) throws Exception {
+        Path classes = Paths.get(Main.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        Path java = Paths.get(System.getProperty("java.home"), "bin", "java");
+        Process process = new ProcessBuilder(java.toString(), "-cp", classes.toString(), "Main")
+                .redirectErrorStream(true)
+                .start();
+        try (OutputStream in = process.getOutputStream()) {
+            in.write((script + "exit\n").getBytes(StandardCharsets.UTF_8));
+        }
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertEquals(0, process.waitFor(), output);
+        return Arrays.asList(output.split("\\R"));
+    }
+}
@@ -1,7 +1,14 @@
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.time.LocalDateTime;
 import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Scanner;
 
 import calendarsystem.*;
@@ -17,9 +24,18 @@ public class Main {
     /** The final part of the message that will be printed be printed in the case of an unknown command.*/
     private static final String MSG_TYPE_HELP = ". Type help to see available commands.";
 
+    /** The number of heaviest accounts and events printed by the command memory by default. */
+    private static final int DEFAULT_MEMORY_TOP = 5;
+
     /** The reference to the calendar system. */
     private static CalendarSystem calendar;
 
+    /** The latencies and counters of the executed commands. */
+    private static CommandStats stats = new CommandStats();
+
+    /** Whether a validation refused the command being executed. */
+    private static boolean commandRejected;
+
     public static void main(String[] args) {
 
         Scanner sn = new Scanner(System.in);
@@ -38,56 +54,94 @@ public class Main {
      * @param sn The reference to the Scanner.
      */
     private static void executeCommands(Scanner sn) {
-        boolean exitCommand = false;      
+        CommandType command;
         do {
-            // read command line
-            String[] line = sn.nextLine().split(" ");
-
-
-            CommandType command;
-            try {
-                // get the command from the command line
-                command = CommandType.getEnum(line[0].toLowerCase());
-                switch (command) {
-                    case CMD_EXIT:
-                        exit();
-                        exitCommand = true;
-                        break;
-                    case CMD_HELP:
-                        help();
-                        break;
-                    case CMD_REGISTER:
-                        register(line);
-                        break;
-                    case CMD_ACCOUNTS:
-                        accounts();
-                        break;
-                    case CMD_CREATE:
-                        create(sn, line);
-                        break;
-                    case CMD_EVENTS:
-                        events(line);
-                        break;
-                    case CMD_INVITE:
-                        invite(sn, line);
-                        break;
-                    case CMD_RESPONSE:
-                        response(sn, line);
-                        break;
-                    case CMD_EVENT:
-                        event(line);
-                        break;
-                    case CMD_TOPICS:
-                        topics(line);
-                        break;
-                    default:
-                        printUnknownCommand(line);
-                        break;
-                }
-            } catch (Exception e) {
-                printUnknownCommand(line);
+            long start = System.nanoTime();
+            command = executeCommand(sn);
+            stats.record(command, System.nanoTime() - start, commandRejected);
+        } while(command != CommandType.CMD_EXIT);
+    }
+
+    /**
+     * This method reads one command, with the lines that follow it, and executes it.
+     * @param sn The reference to the Scanner.
+     * @return the type of the command, or null if the command is unknown.
+     */
+    private static CommandType executeCommand(Scanner sn) {
+        // read command line
+        String[] line = sn.nextLine().split(" ");
+
+        commandRejected = false;
+        CommandType command = null;
+        try {
+            // get the command from the command line
+            command = CommandType.getEnum(line[0].toLowerCase());
+            switch (command) {
+                case CMD_EXIT:
+                    exit();
+                    break;
+                case CMD_HELP:
+                    help();
+                    break;
+                case CMD_REGISTER:
+                    register(line);
+                    break;
+                case CMD_ACCOUNTS:
+                    accounts();
+                    break;
+                case CMD_CREATE:
+                    create(sn, line);
+                    break;
+                case CMD_EVENTS:
+                    events(line);
+                    break;
+                case CMD_INVITE:
+                    invite(sn, line);
+                    break;
+                case CMD_RESPONSE:
+                    response(sn, line);
+                    break;
+                case CMD_EVENT:
+                    event(line);
+                    break;
+                case CMD_TOPICS:
+                    topics(line);
+                    break;
+                case CMD_LOAD:
+                    load(line);
+                    break;
+                case CMD_EXPORT:
+                    export(line);
+                    break;
+                case CMD_STATS:
+                    stats(line);
+                    break;
+                case CMD_MEMORY:
+                    memory(line);
+                    break;
+                case CMD_SKIP:
+                    skip(sn, line);
+                    break;
+                case CMD_CANCEL:
+                    cancel(line);
+                    break;
+                case CMD_UNREGISTER:
+                    unregister(line);
+                    break;
+                case CMD_GROUP:
+                    group(line);
+                    break;
+                case CMD_INVITE_GROUP:
+                    inviteGroup(sn, line);
+                    break;
+                default:
+                    printUnknownCommand(line);
+                    break;
             }
-        } while(exitCommand == false);
+        } catch (Exception e) {
+            printUnknownCommand(line);
+        }
+        return command;
     }
 
     /**
@@ -111,6 +165,23 @@ public class Main {
         return;
     }
 
+    /**
+     * This method executes the command "unregister", which removes an account with the events it promotes
+     * and its invitations to the events of other accounts.
+     * @param line The command line already separated in a Vector.
+     */
+    private static void unregister(String[] line) {
+        String accName = line[1];
+
+        if(!doesAccountExist(accName)) {
+            return;
+        }
+
+        UnregisterResult result = calendar.unregisterAccount(accName);
+        System.out.println(accName + " was unregistered, " + result.getCancelledEvents() + " events cancelled for "
+                + result.getUpdatedAccounts() + " invitees, " + result.getLeftEvents() + " invitations removed.");
+    }
+
     /**
      * This method executes the command "accounts".
      */
@@ -145,6 +216,17 @@ public class Main {
         int month = Integer.parseInt(eventDateLine[2]);
         int day = Integer.parseInt(eventDateLine[3]);
         int hour = Integer.parseInt(eventDateLine[4]);
+        String recurrenceType = null;
+        int count = 1;
+        int hours = 1;
+        for (int i = 5; i + 1 < eventDateLine.length; i += 2) {
+            if (eventDateLine[i].equals("hours")) {
+                hours = Integer.parseInt(eventDateLine[i + 1]);
+            } else {
+                recurrenceType = eventDateLine[i];
+                count = Integer.parseInt(eventDateLine[i + 1]);
+            }
+        }
 
         String[] topics = sn.nextLine().split(" ");
 
@@ -157,6 +239,18 @@ public class Main {
             return;
         }
 
+        if (!areEventOptionsComplete(eventDateLine)) {
+            return;
+        }
+
+        if (recurrenceType != null && !isRecurrenceValid(recurrenceType, count)) {
+            return;
+        }
+
+        if (!isDurationValid(hours)) {
+            return;
+        }
+
         if (isGuestAccount(accName)) {
             return;
         }
@@ -179,8 +273,18 @@ public class Main {
             return;
         }
 
-        calendar.addEvent(accName, pType, eventName, ldt, topics);
-        System.out.println(eventName + " is scheduled.");
+        Recurrence recurrence = recurrenceType == null ? null : new Recurrence(RecurrenceType.getEnum(recurrenceType), count);
+
+        if((recurrence != null || hours > 1) && hasEventDuring(accName, ldt, hours, recurrence)) {
+            return;
+        }
+
+        calendar.addRecurringEvent(accName, pType, eventName, ldt, hours, topics, recurrence);
+        if (recurrence == null) {
+            System.out.println(eventName + " is scheduled.");
+        } else {
+            System.out.println(eventName + " is scheduled " + recurrence.getType() + ", " + count + " occurrences.");
+        }
 
         Iterator<Event> itEvents = calendar.getInvitedAccountEventsOnDate(accName, eventName).iterator();
         while(itEvents.hasNext()) {
@@ -200,14 +304,13 @@ public class Main {
             return;
         }
 
-        ArrayList<Event> eventsList = calendar.getAccountEvents(accName);
+        ArrayList<String> statusLines = calendar.getAccountStatusLines(accName);
 
-        if(eventsList.size() > 0) {
-            Iterator<Event> itEvents = eventsList.iterator();
+        if(statusLines.size() > 0) {
+            Iterator<String> itLines = statusLines.iterator();
             System.out.println("Account " + accName + " events:");
-            while(itEvents.hasNext()) {
-                Event event = itEvents.next();
-                System.out.println(event.getName() + " status " + "[invited " + event.getInviteStatus() + "] [accepted " + event.getAcceptedStatus() + "] [rejected " + event.getRejectedStatus() + "] [unanswered " + event.getUnansweredStatus() + "]");
+            while(itLines.hasNext()) {
+                System.out.println(itLines.next());
             }
         } else {
             System.out.println("Account " + accName + " has no events.");
@@ -216,12 +319,16 @@ public class Main {
     }
 
     /**
-     * This method executes the command "invite".
+     * This method executes the command "invite", for one or several invitees.
      * @param sn The reference to the scanner.
      * @param line The command line already separated in a Vector.
      */
     private static void invite(Scanner sn, String[] line) {
-        String inviteeName = line[1];
+        String[] inviteeNames = Arrays.copyOfRange(line, 1, line.length);
+        if (inviteeNames.length == 0) {
+            printUnknownCommand(line);
+            return;
+        }
 
         // read promoter invitation Line
         String[] pInvitationLine = sn.nextLine().split(" ");
@@ -232,104 +339,224 @@ public class Main {
             return;
         }
 
-        if(!doesAccountExist(inviteeName)) {
-            return;
+        // A staff user invited to a high priority event accepts at once, and its conflicting events are handled in the same transaction
+        Iterator<InviteResult> itResults = calendar.inviteMany(promoterName, eventName, inviteeNames).iterator();
+        while(itResults.hasNext()) {
+            InviteResult result = itResults.next();
+            if (!result.getOutcome().isSuccess()) {
+                commandRejected = true;
+            }
+            printInviteResult(result, promoterName, eventName);
         }
+    }
+
+    /**
+     * This method executes the command "group", either "group create <group>" or "group add <group> <accounts>".
+     * @param line The command line already separated in a Vector.
+     */
+    private static void group(String[] line) {
+        String groupName = line[2];
 
-        if (!doesEventExistInAccount(eventName, promoterName)) {
+        if (line[1].equals("create")) {
+            if (calendar.groupAlreadyExists(groupName)) {
+                System.out.println("Group " + groupName + " already exists.");
+                commandRejected = true;
+                return;
+            }
+            calendar.addGroup(groupName);
+            System.out.println("Group " + groupName + " was created.");
             return;
         }
-        
-        if(hasAlreadyBeenInvited(inviteeName, eventName)) {
+
+        if (!line[1].equals("add") || line.length < 4) {
+            printUnknownCommand(line);
             return;
         }
 
-        // If the invitation concerns a staff user and a high priority event then 2 cases exist
-        if(calendar.isStaffAccount(inviteeName) && calendar.isPromoterHighEvent(promoterName, eventName)) {
-            
-            if(calendar.hasInviteeAccountHighEventOnDate(inviteeName, promoterName, eventName)) {
-                System.out.println("Account " + inviteeName + " already attending another event.");
-                return;
-            }
-            
-            System.out.println(inviteeName + " accepted the invitation.");
-            Iterator<Event> itEvent = calendar.getInviteeConflictEvents(inviteeName, promoterName, eventName).iterator();
-            while(itEvent.hasNext()) {
-                Event event = itEvent.next();
-                if(event.isPromoter(inviteeName)) {
-                    System.out.println(event.getName() + " promoted by " + inviteeName + " was removed.");
-                    calendar.promoterRemoveEvent(inviteeName, event);
-                } else {
-                    System.out.println(event.getName() + " promoted by " + event.getPromoterName() + " was rejected.");
-                    event.addRejectedAccount(inviteeName);
-                }
-            }
-            
-            calendar.inviteeAcceptEvent(promoterName, inviteeName, eventName);
-            return;
-            
-        } else if(calendar.hasInviteeAccountEventOnDate(inviteeName, promoterName, eventName)) {
-            System.out.println("Account " + inviteeName + " already attending another event.");
+        if (!doesGroupExist(groupName)) {
             return;
         }
 
-        calendar.inviteUpdateEvent(inviteeName, promoterName, eventName);
-        System.out.println(inviteeName + " was invited.");
+        int added = 0;
+        int unknown = 0;
+        for (int i = 3; i < line.length; i++) {
+            if (!calendar.accountAlreadyExists(line[i])) {
+                unknown++;
+            } else if (calendar.addGroupMember(groupName, line[i])) {
+                added++;
+            }
+        }
+        if (added == 0) {
+            commandRejected = true;
+        }
+        System.out.println(added + " accounts added to " + groupName + ", " + unknown + " unknown, "
+                + calendar.getGroupSize(groupName) + " members.");
     }
 
     /**
-     * This method executes the command "response".
+     * This method executes the command "invite-group", which invites every member of a group to an event
+     * in one batch and prints a summary of the outcomes instead of one line per member.
      * @param sn The reference to the scanner.
      * @param line The command line already separated in a Vector.
      */
-    private static void response(Scanner sn, String[] line) {
-        String inviteeName = line[1];
+    private static void inviteGroup(Scanner sn, String[] line) {
+        String groupName = line[1];
 
         // read promoter invitation Line
         String[] pInvitationLine = sn.nextLine().split(" ");
         String promoterName = pInvitationLine[0];
         String eventName = String.join(" ", Arrays.copyOfRange(pInvitationLine, 1, pInvitationLine.length));
 
-        // read the invite response
-        String response = sn.nextLine();
+        if(!doesGroupExist(groupName)) {
+            return;
+        }
 
         if(!doesAccountExist(promoterName)) {
             return;
         }
 
-        if(!doesAccountExist(inviteeName)) {
+        if(!doesEventExistInAccount(eventName, promoterName)) {
             return;
         }
 
-        if(!responseTypeInvalid(response)) {
-            return;
+        int[] counts = new int[InviteOutcome.values().length];
+        int conflicts = 0;
+        Iterator<InviteResult> itResults = calendar.inviteGroup(promoterName, eventName, groupName).iterator();
+        while(itResults.hasNext()) {
+            InviteResult result = itResults.next();
+            counts[result.getOutcome().ordinal()]++;
+            conflicts += result.getConflictCount();
+        }
+        if (counts[InviteOutcome.INVITED.ordinal()] + counts[InviteOutcome.ACCEPTED.ordinal()] == 0) {
+            commandRejected = true;
         }
 
-        if (!doesEventExistInAccount(eventName, promoterName)) {
-            return;
+        StringBuilder summary = new StringBuilder("Group " + groupName + " invited to " + eventName + ":");
+        String separator = " ";
+        for (InviteOutcome outcome : InviteOutcome.values()) {
+            if (counts[outcome.ordinal()] > 0) {
+                summary.append(separator).append(counts[outcome.ordinal()]).append(" ").append(formatOutcome(outcome));
+                separator = ", ";
+            }
+        }
+        if (separator.equals(" ")) {
+            summary.append(" no members");
         }
+        System.out.println(summary + ".");
+        if (conflicts > 0) {
+            System.out.println(conflicts + " conflicting events were removed or rejected.");
+        }
+    }
 
-        if(!isOnInvitationList(inviteeName, eventName)) {
-            return;
+    /**
+     * This method formats the outcome of an invitation for the summary of a group invitation.
+     * @param outcome The outcome.
+     * @return the outcome in words.
+     */
+    private static String formatOutcome(InviteOutcome outcome) {
+        switch (outcome) {
+            case INVITED:
+                return "invited";
+            case ACCEPTED:
+                return "accepted";
+            case ALREADY_INVITED:
+                return "already invited";
+            case ALREADY_ATTENDING:
+                return "already attending another event";
+            default:
+                return "unknown";
         }
+    }
 
-        if(hasAlreadyResponded(inviteeName, eventName)) {
-            return;
+    /**
+     * This method prints the outcome of an invitation.
+     * @param result The result of the invitation.
+     * @param promoterName The name of the account that promotes the event.
+     * @param eventName The name of the event.
+     */
+    private static void printInviteResult(InviteResult result, String promoterName, String eventName) {
+        String inviteeName = result.getInviteeName();
+        switch (result.getOutcome()) {
+            case UNKNOWN_PROMOTER:
+                System.out.println("Account " + promoterName + " does not exist.");
+                break;
+            case UNKNOWN_INVITEE:
+                System.out.println("Account " + inviteeName + " does not exist.");
+                break;
+            case UNKNOWN_EVENT:
+                System.out.println(eventName + " does not exist in account " + promoterName + ".");
+                break;
+            case ALREADY_INVITED:
+                System.out.println("Account " + inviteeName + " was already invited.");
+                break;
+            case ALREADY_ATTENDING:
+                System.out.println("Account " + inviteeName + " already attending another event.");
+                break;
+            case ACCEPTED:
+                System.out.println(inviteeName + " accepted the invitation.");
+                for (int i = 0; i < result.getConflictCount(); i++) {
+                    String conflictName = result.getConflictEvent(i).getName();
+                    if (result.isConflictRemoved(i)) {
+                        System.out.println(conflictName + " promoted by " + inviteeName + " was removed.");
+                    } else {
+                        System.out.println(conflictName + " promoted by " + result.getConflictPromoter(i) + " was rejected.");
+                    }
+                }
+                break;
+            case INVITED:
+                System.out.println(inviteeName + " was invited.");
+                break;
         }
+    }
 
-        if(calendar.responseIsAccepted(response)) {
-            System.out.println("Account " + inviteeName + " has replied " + response + " to the invitation.");
-            Iterator<Event> itEvent = calendar.getInviteeInvitedConflictEvents(inviteeName, promoterName, eventName).iterator();
-            while(itEvent.hasNext()) {
-                Event event = itEvent.next();
-                System.out.println(event.getName() + " promoted by " + event.getPromoterName() + " was rejected.");
-                event.addRejectedAccount(inviteeName);
-            }
-            calendar.inviteeAcceptEvent(promoterName, inviteeName, eventName);
-            return;
-        } else {
-            calendar.inviteeRejectEvent(promoterName, inviteeName, eventName);
-            System.out.println("Account " + inviteeName + " has replied " + response + " to the invitation.");
+    /**
+     * This method executes the command "response".
+     * @param sn The reference to the scanner.
+     * @param line The command line already separated in a Vector.
+     */
+    private static void response(Scanner sn, String[] line) {
+        String inviteeName = line[1];
+
+        // read promoter invitation Line
+        String[] pInvitationLine = sn.nextLine().split(" ");
+        String promoterName = pInvitationLine[0];
+        String eventName = String.join(" ", Arrays.copyOfRange(pInvitationLine, 1, pInvitationLine.length));
+
+        // read the invite response
+        String response = sn.nextLine();
+
+        ResponseResult result = calendar.respond(inviteeName, promoterName, eventName, response);
+        commandRejected = !result.getOutcome().isSuccess();
+        switch (result.getOutcome()) {
+            case UNKNOWN_PROMOTER:
+                System.out.println("Account " + promoterName + " does not exist.");
+                break;
+            case UNKNOWN_INVITEE:
+                System.out.println("Account " + inviteeName + " does not exist.");
+                break;
+            case UNKNOWN_RESPONSE:
+                System.out.println("Unknown event response.");
+                break;
+            case UNKNOWN_EVENT:
+                System.out.println(eventName + " does not exist in account " + promoterName + ".");
+                break;
+            case NOT_INVITED:
+                System.out.println("Account " + inviteeName + " is not on the invitation list.");
+                break;
+            case ALREADY_RESPONDED:
+                System.out.println("Account " + inviteeName + " has already responded.");
+                break;
+            case ACCEPTED:
+                System.out.println("Account " + inviteeName + " has replied " + response + " to the invitation.");
+                Iterator<Event> itEvent = result.getRejectedEvents().iterator();
+                while(itEvent.hasNext()) {
+                    Event event = itEvent.next();
+                    System.out.println(event.getName() + " promoted by " + event.getPromoterName() + " was rejected.");
+                }
+                break;
+            case REJECTED:
+                System.out.println("Account " + inviteeName + " has replied " + response + " to the invitation.");
+                break;
         }
     }
 
@@ -354,6 +581,17 @@ public class Main {
                 calendar.getEventYear(eventName, promoterName) + " " + 
                 calendar.getEventHour(eventName, promoterName) + "h:");
 
+        Event event = calendar.getEventByName(promoterName, eventName);
+        if (event.getHours() > 1) {
+            System.out.println("Lasts " + event.getHours() + " hours.");
+        }
+
+        Recurrence recurrence = event.getRecurrence();
+        if (recurrence != null) {
+            System.out.println("Repeats " + recurrence.getType() + ", " + recurrence.getCount() + " occurrences, "
+                    + recurrence.getSkippedCount() + " skipped.");
+        }
+
         Iterator<String> inviteeNames = calendar.getInvitedNamesList(promoterName, eventName).iterator();
         while(inviteeNames.hasNext()) {
             String name = inviteeNames.next();
@@ -369,6 +607,57 @@ public class Main {
     }
 
 
+    /**
+     * This method executes the command "skip", which frees one occurrence of a recurring event.
+     * The date of the occurrence is read from the next line, as year, month, day and hour.
+     * @param sn The reference to the scanner.
+     * @param line The command line already separated in a Vector.
+     */
+    private static void skip(Scanner sn, String[] line) {
+        String promoterName = line[1];
+        String eventName = String.join(" ", Arrays.copyOfRange(line, 2, line.length));
+
+        String[] dateLine = sn.nextLine().split(" ");
+        LocalDateTime ldt = LocalDateTime.of(Integer.parseInt(dateLine[0]), Integer.parseInt(dateLine[1]),
+                Integer.parseInt(dateLine[2]), Integer.parseInt(dateLine[3]), 0);
+
+        if(!doesAccountExist(promoterName)) {
+            return;
+        }
+
+        if(!doesEventExistInAccount(eventName, promoterName)) {
+            return;
+        }
+
+        if(!calendar.skipOccurrence(promoterName, eventName, ldt)) {
+            System.out.println(eventName + " does not occur on that date.");
+            commandRejected = true;
+            return;
+        }
+        System.out.println("Occurrence of " + eventName + " skipped.");
+    }
+
+    /**
+     * This method executes the command "cancel", which removes an event from its promoter and its invitees.
+     * The number of accounts whose events were updated is printed as the cost of the cancellation.
+     * @param line The command line already separated in a Vector.
+     */
+    private static void cancel(String[] line) {
+        String promoterName = line[1];
+        String eventName = String.join(" ", Arrays.copyOfRange(line, 2, line.length));
+
+        if(!doesAccountExist(promoterName)) {
+            return;
+        }
+
+        if(!doesEventExistInAccount(eventName, promoterName)) {
+            return;
+        }
+
+        int accounts = calendar.cancelEvent(promoterName, eventName);
+        System.out.println(eventName + " was cancelled, " + accounts + " accounts updated.");
+    }
+
     /**
      * This method executes the command "topics".
      * @param line The command line already separated in a Vector.
@@ -395,6 +684,141 @@ public class Main {
         }
     }
 
+    /**
+     * This method executes the command "load".
+     * Prints a summary of the rejected rows instead of one message per row.
+     * @param line The command line already separated in a Vector.
+     */
+    private static void load(String[] line) {
+        BulkLoadType type = BulkLoadType.getEnum(line[1]);
+        if (type == null) {
+            System.out.println("Unknown load type.");
+            commandRejected = true;
+            return;
+        }
+
+        Path file = Paths.get(String.join(" ", Arrays.copyOfRange(line, 2, line.length)));
+        BulkLoadReport report;
+        try {
+            report = new BulkLoader(calendar).load(type, file);
+        } catch (IOException e) {
+            System.out.println("Cannot read file " + file + ".");
+            commandRejected = true;
+            return;
+        }
+
+        System.out.println("Loaded " + report.getLoaded() + " of " + report.getRows() + " rows from " + file + ".");
+        for (Map.Entry<String, Integer> rejection : report.getRejectionsByReason().entrySet()) {
+            ArrayList<Integer> sampleLines = report.getSampleLines(rejection.getKey());
+            String lines = sampleLines.toString().replace("[", "").replace("]", "");
+            if (rejection.getValue() > sampleLines.size()) {
+                lines += ", ...";
+            }
+            System.out.println(rejection.getValue() + " rejected: " + rejection.getKey() + " (lines " + lines + ").");
+        }
+    }
+
+    /**
+     * This method executes the command "export".
+     * @param line The command line already separated in a Vector.
+     */
+    private static void export(String[] line) {
+        Path dir = Paths.get(String.join(" ", Arrays.copyOfRange(line, 1, line.length)));
+        ColumnarExporter exporter = new ColumnarExporter(calendar);
+        try {
+            exporter.export(dir);
+        } catch (IOException e) {
+            System.out.println("Cannot write to " + dir + ".");
+            commandRejected = true;
+            return;
+        }
+        System.out.println("Exported " + exporter.getEventRows() + " events and " + exporter.getRsvpRows() + " invitations to " + dir + ".");
+    }
+
+    /**
+     * This method executes the command "stats".
+     * Prints the latencies and counters of each executed command, or writes them as CSV to the given file.
+     * @param line The command line already separated in a Vector.
+     */
+    private static void stats(String[] line) {
+        if (line.length > 1) {
+            Path file = Paths.get(String.join(" ", Arrays.copyOfRange(line, 1, line.length)));
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                stats.writeCsv(out);
+                if (out.checkError()) {
+                    throw new IOException();
+                }
+            } catch (IOException e) {
+                System.out.println("Cannot write to " + file + ".");
+                commandRejected = true;
+                return;
+            }
+            System.out.println("Statistics written to " + file + ".");
+            return;
+        }
+
+        ArrayList<CommandType> commands = new ArrayList<>(Arrays.asList(CommandType.values()));
+        commands.add(null);
+        boolean executed = false;
+        for (CommandType command : commands) {
+            long count = stats.getCount(command);
+            if (count == 0) {
+                continue;
+            }
+            if (!executed) {
+                System.out.println("Command statistics:");
+                executed = true;
+            }
+            LatencyHistogram latency = stats.getLatency(command);
+            String name = command == null ? CommandStats.UNKNOWN : command.toString();
+            System.out.println(name + " [count " + count + "] [rejected " + stats.getRejected(command) + "] "
+                    + String.format(Locale.ROOT, "[p50 %.1fus] [p99 %.1fus] [p99.9 %.1fus] [max %.1fus]",
+                    latency.getPercentile(50) / 1000.0, latency.getPercentile(99) / 1000.0,
+                    latency.getPercentile(99.9) / 1000.0, latency.getMax() / 1000.0));
+        }
+        if (!executed) {
+            System.out.println("No commands executed.");
+        }
+    }
+
+    /**
+     * This method executes the command "memory".
+     * Prints the estimated heap used by each structure, and the heaviest accounts and events.
+     * @param line The command line already separated in a Vector.
+     */
+    private static void memory(String[] line) {
+        int top = line.length > 1 ? Integer.parseInt(line[1]) : DEFAULT_MEMORY_TOP;
+        if (top < 0) {
+            printUnknownCommand(line);
+            return;
+        }
+
+        MemoryReport report = calendar.estimateMemory(top);
+        System.out.println("Estimated heap: " + report.getTotalBytes() + " bytes for " + report.getAccountCount()
+                + " accounts and " + report.getEventCount() + " events.");
+        System.out.println("accounts map: " + report.getAccountsMapBytes() + " bytes");
+        System.out.println("accounts: " + report.getAccountBytes() + " bytes");
+        System.out.println("event collections: " + report.getCollectionBytes() + " bytes");
+        System.out.println("events: " + report.getEventBytes() + " bytes");
+        System.out.println("topics: " + report.getTopicBytes() + " bytes");
+        System.out.println("invitation lists: " + report.getRsvpBytes() + " bytes");
+        System.out.println("duplicated names: " + report.getDuplicateNameBytes() + " bytes in "
+                + report.getDuplicateNameCount() + " strings");
+
+        if (report.getTopAccounts().size() > 0) {
+            System.out.println("Heaviest accounts:");
+            for (MemoryReport.Entry entry : report.getTopAccounts()) {
+                System.out.println(entry.getName() + " " + entry.getBytes() + " bytes");
+            }
+        }
+        if (report.getTopEvents().size() > 0) {
+            System.out.println("Heaviest events:");
+            for (MemoryReport.Entry entry : report.getTopEvents()) {
+                System.out.println(entry.getName() + " promoted by " + entry.getPromoterName() + " " + entry.getBytes() + " bytes");
+            }
+        }
+    }
+
     /**
      * This method executes the command "help".
      * Informs the user about the available commands.
@@ -409,6 +833,15 @@ public class Main {
         System.out.println("response - response to an invitation");
         System.out.println("event - shows detailed information of an event");        
         System.out.println("topics - shows all events that cover a list of topics");
+        System.out.println("load - loads accounts, events or invitations from a CSV file");
+        System.out.println("export - exports events and invitation responses into a columnar layout");
+        System.out.println("stats - shows the latency and counters of each command, or writes them to a CSV file");
+        System.out.println("memory - shows the estimated memory used by accounts and events, and the heaviest ones");
+        System.out.println("skip - skips one occurrence of a recurring event");
+        System.out.println("cancel - cancels an event for its promoter and all its invitees");
+        System.out.println("unregister - removes an account with its events and invitations");
+        System.out.println("group - creates a group of accounts or adds accounts to it");
+        System.out.println("invite-group - invites every member of a group to an event");
         System.out.println("help - shows the available commands");  
         System.out.println("exit - terminates the execution of the program");  
     }
@@ -426,6 +859,7 @@ public class Main {
      * @param line The command line already separated in a Vector.
      */
     private static void printUnknownCommand(String[] line) {
+        commandRejected = true;
         if(line.length == 1) {
             System.out.println(MSG_UNKNOWN_COMMAND + line[0].toUpperCase() + MSG_TYPE_HELP);
             return;
@@ -444,11 +878,26 @@ public class Main {
     private static boolean accountNameAlreadyExists(String accName) {
         if(calendar.accountAlreadyExists(accName)) {
             System.out.println("Account " + accName + " already exists.");
+            commandRejected = true;
             return true;
         } 
         return false;
     }
 
+    /**
+     * This method checks if there is a group with the given name.
+     * @param groupName The name of the group.
+     * @return true if the group exists, false otherwise.
+     */
+    private static boolean doesGroupExist(String groupName) {
+        if(calendar.groupAlreadyExists(groupName)) {
+            return true;
+        }
+        System.out.println("Group " + groupName + " does not exist.");
+        commandRejected = true;
+        return false;
+    }
+
     /**
      * This method checks if there is an account with the given name.
      * @param accName The name of the account.
@@ -459,6 +908,7 @@ public class Main {
             return true;
         } 
         System.out.println("Account " + accName + " does not exist.");
+        commandRejected = true;
         return false;
     }
 
@@ -472,6 +922,7 @@ public class Main {
             return true;
         }
         System.out.println("Unknown account type.");
+        commandRejected = true;
         return false;
     }
 
@@ -486,61 +937,7 @@ public class Main {
             return true;
         }
         System.out.println(eventName + " does not exist in account " + promoterName + ".");
-        return false;
-    }
-
-    /**
-     * This method checks if an account has already been invited to an event.
-     * @param inviteeName The name of the account that was invited.
-     * @param eventName The name of the event.
-     * @return true if the account has already been invited, false otherwise.
-     */
-    private static boolean hasAlreadyBeenInvited(String inviteeName, String eventName) {
-        if(calendar.hasAlreadyBeenInvited(inviteeName, eventName)) {
-            System.out.println("Account " + inviteeName + " was already invited.");
-            return true;
-        }
-        return false;
-    }
-
-    /**
-     * This method checks if the response to the invitation is valid.
-     * @param response The given response.
-     * @return true if the response is valid, false otherwise.
-     */
-    private static boolean responseTypeInvalid(String response) {
-        if(calendar.isResponseValid(response)) {
-            return true;
-        }
-        System.out.println("Unknown event response.");
-        return false;
-    }
-
-    /**
-     * This method checks if the account is in the invitation list of an event.
-     * @param inviteeName The name of account to check.
-     * @param eventName The name of the event.
-     * @return true if the account is on the invitation list, false otherwise.
-     */
-    private static boolean isOnInvitationList(String inviteeName, String eventName) {
-        if(calendar.isOnInvitationList(inviteeName, eventName)) {
-            return true;
-        }
-        System.out.println("Account " + inviteeName + " is not on the invitation list.");
-        return false;
-    }
-
-    /**
-     * This method checks if an account has already responded to an invitation.
-     * @param inviteeName The name of the invited account.
-     * @param eventName The name of the event.
-     * @return true if the invited account has already responded, false otherwise.
-     */
-    private static boolean hasAlreadyResponded(String inviteeName, String eventName) {
-        if(calendar.hasAlreadyResponded(inviteeName, eventName)) {
-            System.out.println("Account " + inviteeName + " has already responded.");
-            return true;
-        }
+        commandRejected = true;
         return false;
     }
 
@@ -554,6 +951,7 @@ public class Main {
             return true;
         }
         System.out.println("Unknown priority type.");
+        commandRejected = true;
         return false;
     }
 
@@ -565,6 +963,7 @@ public class Main {
     private static boolean isGuestAccount(String accName) {
         if(calendar.isGuestAccount(accName)) {
             System.out.println("Guest account " + accName + " cannot create events.");
+            commandRejected = true;
             return true;
         }
         return false;
@@ -579,6 +978,7 @@ public class Main {
     private static boolean isStaffAccountAndHighType(String accName, String pType) {
         if(calendar.isStaffAccount(accName) && EventType.isHigh(pType)) {
             System.out.println("Account " + accName + " cannot create high priority events.");
+            commandRejected = true;
             return true;
         }
         return false;
@@ -593,6 +993,7 @@ public class Main {
     private static boolean eventAlreadyExists(String accName, String eventName) {
         if(calendar.eventAlreadyExists(accName, eventName)) {
             System.out.println(eventName + " already exists in account " + accName + ".");
+            commandRejected = true;
             return true;
         }
         return false;
@@ -607,6 +1008,67 @@ public class Main {
     private static boolean hasEventOnDate(String accName, LocalDateTime ldt) {
         if(calendar.hasEventOnDate(accName, ldt)) {
             System.out.println("Account " + accName + " is busy.");
+            commandRejected = true;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * This method checks if every option after the date of an event, a recurrence or a duration, has its value.
+     * @param eventDateLine The line of the date of the event, split on spaces.
+     * @return true if the options come in pairs, false otherwise.
+     */
+    private static boolean areEventOptionsComplete(String[] eventDateLine) {
+        if((eventDateLine.length - 5) % 2 == 0) {
+            return true;
+        }
+        System.out.println("Unknown recurrence.");
+        commandRejected = true;
+        return false;
+    }
+
+    /**
+     * This method checks if a recurrence is valid.
+     * @param recurrenceType How often the event repeats.
+     * @param count The number of occurrences.
+     * @return true if the recurrence type is known and the count is within bounds, false otherwise.
+     */
+    private static boolean isRecurrenceValid(String recurrenceType, int count) {
+        if(RecurrenceType.getEnum(recurrenceType) != null && count >= 1 && count <= Recurrence.MAX_COUNT) {
+            return true;
+        }
+        System.out.println("Unknown recurrence.");
+        commandRejected = true;
+        return false;
+    }
+
+    /**
+     * This method checks if a duration is valid.
+     * @param hours The number of hours the event takes.
+     * @return true if the duration is within bounds, false otherwise.
+     */
+    private static boolean isDurationValid(int hours) {
+        if(hours >= 1 && hours <= Event.MAX_HOURS) {
+            return true;
+        }
+        System.out.println("Unknown duration.");
+        commandRejected = true;
+        return false;
+    }
+
+    /**
+     * This method checks if an account already has an event during the hours of a new event, on any of its occurrences.
+     * @param accName The name of the account.
+     * @param ldt The date of the event, or of its first occurrence.
+     * @param hours The number of hours the event takes.
+     * @param recurrence The recurrence, or null if the event occurs once.
+     * @return true if the account already has an event during one of the occurrences, false otherwise.
+     */
+    private static boolean hasEventDuring(String accName, LocalDateTime ldt, int hours, Recurrence recurrence) {
+        if(calendar.hasEventDuring(accName, ldt, hours, recurrence)) {
+            System.out.println("Account " + accName + " is busy.");
+            commandRejected = true;
             return true;
         }
         return false;
@@ -61,6 +61,15 @@ public abstract class Account implements AccountInterface{
         this.accEvents.removeEvent(eventName);
     }
 
+    /**
+     * Removes an event, compared by identity.
+     * @param event The event to be removed.
+     * @return true if the account held the event, false otherwise.
+     */
+    public boolean removeEvent(Event event) {
+        return this.accEvents.removeEvent(event);
+    }
+
     /**
      * Adds an event where the account is invited.
      * @param event The event to be added.
@@ -87,6 +96,25 @@ public abstract class Account implements AccountInterface{
         return this.accEvents.hasEventOnDate(ldt, this.getName());
     }
 
+    /**
+     * Checks if the account has another event on a date of an event, including every occurrence of a recurring event.
+     * @param event The event to check.
+     * @return true if the account has another event on a date of the event, false otherwise.
+     */
+    public boolean hasEventOverlapping(Event event) {
+        return this.accEvents.hasEventOverlapping(event, this.getName());
+    }
+
+    /**
+     * Checks if the account has an event that takes an hour of a period.
+     * @param start The start of the period, included.
+     * @param end The end of the period, excluded.
+     * @return true if the account has an event during the period, false otherwise.
+     */
+    public boolean hasEventDuring(LocalDateTime start, LocalDateTime end) {
+        return this.accEvents.hasEventDuring(start, end, this.getName());
+    }
+
     /**
      * Gets all events associated with the account.
      * @return a list of all events associated with the account.
@@ -95,6 +123,19 @@ public abstract class Account implements AccountInterface{
         return this.accEvents.getEvents();
     }
 
+    /**
+     * Estimates the heap used by the collection of events of the account, without the events.
+     * @return the size in bytes.
+     */
+    long estimateCollectionSize() {
+        return this.accEvents.estimateCollectionSize();
+    }
+
+    @Override
+    public ArrayList<String> getAllEventStatusLines() {
+        return this.accEvents.getStatusLines();
+    }
+
     /**
      * Gets the account's events.
      * @return the account's events.
@@ -137,8 +178,7 @@ public abstract class Account implements AccountInterface{
      * @return a list of invited events by date.
      */
     public ArrayList<Event> getInviteeEventsListByDate(Event event){
-        Events inviteeEvents = this.accEvents.getInviteeEvents(this.getName());
-        return inviteeEvents.getEventsListByDate(event, this.getName());
+        return this.accEvents.getInvitedEventsListByDate(event, this.getName());
     }
 
     /**
@@ -156,8 +196,7 @@ public abstract class Account implements AccountInterface{
      * @return true if the account is on the invitation list, false otherwise.
      */
     public boolean isOnInvitationList(String eventName) {
-        Events inviteeEvents = this.accEvents.getInviteeEvents(this.getName());
-        return inviteeEvents.isOnInvitationList(this.getName(), eventName);
+        return this.accEvents.getLastInvitedEvent(this.getName(), eventName) != null;
     }
 
     /**
@@ -166,8 +205,8 @@ public abstract class Account implements AccountInterface{
      * @return true if the account has already responded, false otherwise.
      */
     public boolean hasAlreadyResponded(String eventName) {
-        Events inviteeEvents = this.accEvents.getInviteeEvents(this.getName());
-        return inviteeEvents.hasAlreadyResponded(this.getName(), eventName);
+        Event event = this.accEvents.getLastInvitedEvent(this.getName(), eventName);
+        return event != null && (event.isEventAccepted(this.getName()) || event.isEventRejected(this.getName()));
     }
 
     /**
@@ -0,0 +1,111 @@
+package calendarsystem;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+
+/**
+ * Named groups of accounts, used to invite many accounts to an event at once.
+ * Each account that joins a group gets a small int id, and a group is a bitmap of the ids of
+ * its members, so a group of 10k accounts takes about 1.25 KB and adding a member is one bit.
+ * Ids are never reused, so an account that is registered again after being unregistered gets
+ * a new id and is not a member of its former groups. The groups are guarded by their monitor.
+ */
+public class AccountGroups {
+
+    // The name of the account with each id.
+    private ArrayList<String> names;
+
+    // The id of each account that joined a group.
+    private HashMap<String, Integer> ids;
+
+    // The members of each group, by id.
+    private HashMap<String, BitSet> groups;
+
+    /**
+     * Initializes an empty collection of groups.
+     */
+    public AccountGroups() {
+        this.names = new ArrayList<>();
+        this.ids = new HashMap<>();
+        this.groups = new HashMap<>();
+    }
+
+    /**
+     * Checks if a group exists.
+     * @param groupName The name of the group.
+     * @return true if the group exists, false otherwise.
+     */
+    public synchronized boolean groupExists(String groupName) {
+        return this.groups.containsKey(groupName);
+    }
+
+    /**
+     * Creates an empty group.
+     * @param groupName The name of the group.
+     * @return true if the group was created, false if it already exists.
+     */
+    public synchronized boolean addGroup(String groupName) {
+        return this.groups.putIfAbsent(groupName, new BitSet()) == null;
+    }
+
+    /**
+     * Adds an account to a group, giving it an id if it has none yet.
+     * @param groupName The name of the group, which must exist.
+     * @param accName The name of the account.
+     * @return true if the account was added, false if it was already a member.
+     */
+    public synchronized boolean addMember(String groupName, String accName) {
+        BitSet members = this.groups.get(groupName);
+        Integer id = this.ids.get(accName);
+        if (id == null) {
+            id = this.names.size();
+            this.names.add(accName);
+            this.ids.put(accName, id);
+        }
+        if (members.get(id)) {
+            return false;
+        }
+        members.set(id);
+        return true;
+    }
+
+    /**
+     * Removes an account from every group, and forgets its id.
+     * @param accName The name of the account.
+     */
+    public synchronized void removeAccount(String accName) {
+        Integer id = this.ids.remove(accName);
+        if (id == null) {
+            return;
+        }
+        this.names.set(id, null);
+        for (BitSet members : this.groups.values()) {
+            members.clear(id);
+        }
+    }
+
+    /**
+     * Gets the number of members of a group.
+     * @param groupName The name of the group, which must exist.
+     * @return the number of members.
+     */
+    public synchronized int getMemberCount(String groupName) {
+        return this.groups.get(groupName).cardinality();
+    }
+
+    /**
+     * Gets the names of the members of a group, in the order they first joined any group.
+     * @param groupName The name of the group, which must exist.
+     * @return the names of the members.
+     */
+    public synchronized String[] getMemberNames(String groupName) {
+        BitSet members = this.groups.get(groupName);
+        String[] memberNames = new String[members.cardinality()];
+        int i = 0;
+        for (int id = members.nextSetBit(0); id >= 0; id = members.nextSetBit(id + 1)) {
+            memberNames[i++] = this.names.get(id);
+        }
+        return memberNames;
+    }
+}
@@ -28,6 +28,14 @@ public interface AccountInterface {
      * @param eventName The name of the event to be removed.
      */
     void removeEvent(String eventName);
+
+    /**
+     * This method removes the event itself from the account, whether the account promotes it or was invited to it,
+     * leaving any other event with the same name.
+     * @param event The event to be removed.
+     * @return true if the account held the event.
+     */
+    boolean removeEvent(Event event);
     
     /**
      * This method add the event to the list of events of the account.
@@ -49,11 +57,32 @@ public interface AccountInterface {
      */
     boolean hasEventOnDate(LocalDateTime ldt);
 
+    /**
+     * This method checks if the account already has an event on a date of the given event, every occurrence
+     * of a recurring event being checked.
+     * @param event The event to be checked.
+     * @return true if the account has another event on a date of the event.
+     */
+    boolean hasEventOverlapping(Event event);
+
+    /**
+     * This method checks if the account has at least one event that takes an hour of the given period.
+     * @param start The start of the period, included.
+     * @param end The end of the period, excluded.
+     * @return true if the account has at least one event during the period.
+     */
+    boolean hasEventDuring(LocalDateTime start, LocalDateTime end);
+
     /**This method get all the events that exist in that account.
      * @return a list of all the events that exist in that account.
      */
     ArrayList<Event> getAllAccountEvents();
 
+    /**This method gets the status lines of all the events that exist in that account.
+     * @return a list of the status lines, in the same order as the events.
+     */
+    ArrayList<String> getAllEventStatusLines();
+
     /**
      * This method get the event with the given name that was promoted by the account.
      * @param eventName The name of the event.
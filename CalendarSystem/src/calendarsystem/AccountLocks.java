@@ -0,0 +1,141 @@
+package calendarsystem;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A fixed set of lock stripes shared by the accounts of the calendar system.
+ * An account name maps to one stripe by its hash, and the stripes of an operation are
+ * always acquired in ascending order, so two operations can never wait on each other in a cycle.
+ */
+public class AccountLocks {
+
+    // The lock stripes.
+    private ReentrantLock[] stripes;
+
+    /**
+     * Initializes the lock stripes.
+     * @param stripeCount The number of stripes.
+     */
+    public AccountLocks(int stripeCount) {
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Gets the number of stripes.
+     * @return the number of stripes.
+     */
+    public int getStripeCount() {
+        return this.stripes.length;
+    }
+
+    /**
+     * Gets the stripe of an account.
+     * @param accName The name of the account.
+     * @return the index of the stripe that guards the account.
+     */
+    public int stripeOf(String accName) {
+        int hash = accName.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), this.stripes.length);
+    }
+
+    /**
+     * Locks the stripes of the given accounts, in ascending stripe order.
+     * A thread that already holds some stripes may only lock a subset of them again.
+     * @param accNames The names of the accounts, null names are ignored.
+     * @return a guard that unlocks the stripes when closed.
+     */
+    public Guard lock(String... accNames) {
+        int[] indexes = this.stripesOf(accNames);
+        for (int i = 0; i < indexes.length; i++) {
+            this.stripes[indexes[i]].lock();
+        }
+        return new Guard(indexes);
+    }
+
+    /**
+     * Locks the stripes of the given accounts only if none of them is held by another thread.
+     * It never waits, so the stripes may be requested in any order, even while holding others.
+     * @param accNames The names of the accounts, null names are ignored.
+     * @return a guard that unlocks the stripes when closed, or null if a stripe was busy.
+     */
+    public Guard tryLock(String... accNames) {
+        int[] indexes = this.stripesOf(accNames);
+        for (int i = 0; i < indexes.length; i++) {
+            if (!this.stripes[indexes[i]].tryLock()) {
+                for (int j = i - 1; j >= 0; j--) {
+                    this.stripes[indexes[j]].unlock();
+                }
+                return null;
+            }
+        }
+        return new Guard(indexes);
+    }
+
+    /**
+     * Locks every stripe, in ascending order.
+     * @return a guard that unlocks the stripes when closed.
+     */
+    public Guard lockAll() {
+        int[] indexes = new int[this.stripes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = i;
+            this.stripes[i].lock();
+        }
+        return new Guard(indexes);
+    }
+
+    /**
+     * Gets the sorted and distinct stripes of the given accounts.
+     * @param accNames The names of the accounts, null names are ignored.
+     * @return the indexes of the stripes in ascending order.
+     */
+    private int[] stripesOf(String... accNames) {
+        int[] indexes = new int[accNames.length];
+        int count = 0;
+        for (int i = 0; i < accNames.length; i++) {
+            if (accNames[i] != null) {
+                indexes[count++] = this.stripeOf(accNames[i]);
+            }
+        }
+        Arrays.sort(indexes, 0, count);
+
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || indexes[distinct - 1] != indexes[i]) {
+                indexes[distinct++] = indexes[i];
+            }
+        }
+        return Arrays.copyOf(indexes, distinct);
+    }
+
+    /**
+     * The stripes held by an operation, released in reverse order when closed.
+     */
+    public class Guard implements AutoCloseable {
+
+        // The indexes of the held stripes, in the order they were locked.
+        private int[] indexes;
+
+        /**
+         * Initializes a guard.
+         * @param indexes The indexes of the held stripes, in the order they were locked.
+         */
+        private Guard(int[] indexes) {
+            this.indexes = indexes;
+        }
+
+        /**
+         * Unlocks the held stripes.
+         */
+        @Override
+        public void close() {
+            for (int i = this.indexes.length - 1; i >= 0; i--) {
+                AccountLocks.this.stripes[this.indexes[i]].unlock();
+            }
+        }
+    }
+}
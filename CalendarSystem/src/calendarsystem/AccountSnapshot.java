@@ -0,0 +1,64 @@
+package calendarsystem;
+
+import java.util.ArrayList;
+
+/**
+ * An immutable copy of an account: its name, its type and the events it holds, in order.
+ * The events are kept as keys, and their state is read from the {@link CalendarSnapshot} that holds
+ * this account, so a change of an event does not require copying every account that holds it.
+ */
+public class AccountSnapshot {
+
+    // The name of the account.
+    private String name;
+
+    // The type of the account.
+    private AccountType type;
+
+    // The events of the account, in order.
+    private Event[] events;
+
+    /**
+     * Copies an account. The caller must hold the lock of the account.
+     * @param acc The account to copy.
+     */
+    AccountSnapshot(AccountInterface acc) {
+        this.name = acc.getName();
+        this.type = acc.getType();
+        ArrayList<Event> accEvents = acc.getAllAccountEvents();
+        this.events = accEvents.toArray(new Event[accEvents.size()]);
+    }
+
+    /**
+     * Gets the name of the account.
+     * @return the account's name.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Gets the type of the account.
+     * @return the account's type.
+     */
+    public AccountType getType() {
+        return this.type;
+    }
+
+    /**
+     * Gets the number of events of the account.
+     * @return the number of events.
+     */
+    public int getEventCount() {
+        return this.events.length;
+    }
+
+    /**
+     * Gets the key of an event of the account.
+     * @param index The position of the event.
+     * @return the live event used as key.
+     */
+    Event getEventKey(int index) {
+        return this.events[index];
+    }
+}
@@ -7,20 +7,43 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Class representing a collection of accounts in the calendar system.
  */
 public class Accounts {
 
+    // The number of accounts from which topic searches run in parallel.
+    private static final int PARALLEL_THRESHOLD = 4096;
+
+    // The smallest number of accounts searched by one fork-join task.
+    private static final int MIN_PARTITION_SIZE = 512;
+
     // A map storing accounts with their names as keys.
-    private HashMap<String, AccountInterface> accList;
+    private Map<String, AccountInterface> accList;
 
     /**
      * Initializes the Accounts class.
      */
     public Accounts() {
-        this.accList = new HashMap<>();
+        this(new HashMap<>());
+    }
+
+    /**
+     * Initializes the Accounts class over the given map, such as a concurrent one.
+     * @param accList The empty map that will store the accounts.
+     */
+    Accounts(Map<String, AccountInterface> accList) {
+        this.accList = accList;
+    }
+
+    /**
+     * Gets the number of accounts.
+     * @return the number of accounts.
+     */
+    public int getAccountCount() {
+        return this.accList.size();
     }
 
     /**
@@ -55,6 +78,14 @@ public class Accounts {
         this.accList.put(accName, account);
     }
 
+    /**
+     * Removes an account, without touching the events that refer to it.
+     * @param accName The name of the account.
+     */
+    public void removeAccount(String accName) {
+        this.accList.remove(accName);
+    }
+
     /**
      * Retrieves an account given its name.
      * @param accName The name of the account.
@@ -100,16 +131,21 @@ public class Accounts {
     }
 
     /**
-     * Removes an event from all invitees.
+     * Removes an event only from the given accounts, instead of scanning every account.
+     * The event is compared by identity, so an account keeps any other event with the same name.
      * @param event The event to be removed.
+     * @param accNames The names of the accounts that may hold the event.
+     * @return the number of accounts that held the event.
      */
-    public void removeEventFromInvitees(Event event) {
-        for (Map.Entry<String, AccountInterface> accountEntry : this.accList.entrySet()) {
-            AccountInterface acc = accountEntry.getValue();
-            if (acc.hasAlreadyBeenInvited(event.getName())) {
-                acc.removeEvent(event.getName());
+    public int removeEventFromAccounts(Event event, ArrayList<String> accNames) {
+        int removed = 0;
+        for (int i = 0; i < accNames.size(); i++) {
+            AccountInterface acc = this.getAcountByName(accNames.get(i));
+            if (acc != null && acc.removeEvent(event)) {
+                removed++;
             }
         }
+        return removed;
     }
 
     /**
@@ -129,10 +165,17 @@ public class Accounts {
 
     /**
      * Gets a list of events with the specified topics.
+     * Large collections are split into partitions searched in parallel on the common fork-join pool.
      * @param topics The list of topics to filter events by.
      * @return an ArrayList of events with the given topics.
      */
     public ArrayList<Event> getEventsWithTopics(ArrayList<String> topics) {
+        if (this.accList.size() >= PARALLEL_THRESHOLD) {
+            AccountInterface[] accArray = this.accList.values().toArray(new AccountInterface[0]);
+            int partitionSize = Math.max(MIN_PARTITION_SIZE, accArray.length / (ForkJoinPool.getCommonPoolParallelism() * 4));
+            return ForkJoinPool.commonPool().invoke(new TopicSearchTask(accArray, 0, accArray.length, partitionSize, topics));
+        }
+
         Set<Event> eventsList = new HashSet<>();
 
         for (Map.Entry<String, AccountInterface> accountEntry : this.accList.entrySet()) {
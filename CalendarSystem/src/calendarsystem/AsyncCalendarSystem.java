@@ -0,0 +1,679 @@
+package calendarsystem;
+
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * An asynchronous facade over a calendar system. Every method of {@link CalendarSystemInterface} runs on
+ * an executor and returns a {@link CompletableFuture}, so a caller can start many independent operations
+ * without blocking a thread on each one. The default executor starts one virtual thread per call when the
+ * runtime supports them, and falls back to a pool of daemon platform threads otherwise.
+ * A call that throws completes its future exceptionally with the exception it threw.
+ * Calls run concurrently, so the wrapped system must be thread-safe, such as a {@link ConcurrentCalendarSystem}.
+ */
+public class AsyncCalendarSystem implements AutoCloseable {
+
+    // The wrapped calendar system.
+    private CalendarSystemInterface calendar;
+
+    // The executor that runs the calls.
+    private Executor executor;
+
+    // The executor created by this facade, or null if the executor was given.
+    private ExecutorService ownExecutor;
+
+    /**
+     * Initializes the facade over a new concurrent calendar system with the default executor.
+     */
+    public AsyncCalendarSystem() {
+        this(new ConcurrentCalendarSystem());
+    }
+
+    /**
+     * Initializes the facade with the default executor.
+     * @param calendar The thread-safe calendar system to wrap.
+     */
+    public AsyncCalendarSystem(CalendarSystemInterface calendar) {
+        this.calendar = calendar;
+        this.ownExecutor = newDefaultExecutor();
+        this.executor = this.ownExecutor;
+    }
+
+    /**
+     * Initializes the facade.
+     * @param calendar The thread-safe calendar system to wrap.
+     * @param executor The executor that runs the calls.
+     */
+    public AsyncCalendarSystem(CalendarSystemInterface calendar, Executor executor) {
+        this.calendar = calendar;
+        this.executor = executor;
+        this.ownExecutor = null;
+    }
+
+    /**
+     * This method gets the wrapped calendar system.
+     * @return the calendar system.
+     */
+    public CalendarSystemInterface getCalendar() {
+        return this.calendar;
+    }
+
+    /**
+     * This method checks if the calls run on virtual threads.
+     * @return true if the default executor uses virtual threads, false otherwise.
+     */
+    public boolean usesVirtualThreads() {
+        return this.ownExecutor != null && !(this.ownExecutor instanceof DaemonPool);
+    }
+
+    /**
+     * This method checks if an account already exists with the given name.
+     * @param accName The account name.
+     * @return a future completed with true if the account already exists and false otherwise.
+     */
+    public CompletableFuture<Boolean> accountAlreadyExists(String accName) {
+        return this.supply(() -> this.calendar.accountAlreadyExists(accName));
+    }
+
+    /**
+     * This method adds an account to the system.
+     * @param accName The name of the account.
+     * @param accType The type of the account.
+     * @return a future completed when the account is added.
+     */
+    public CompletableFuture<Void> addAccount(String accName, String accType) {
+        return this.run(() -> this.calendar.addAccount(accName, accType));
+    }
+
+    /**
+     * This method removes an account from the system, cascading over its own events only.
+     * @param accName The name of the account.
+     * @return a future completed with what the cascade changed.
+     */
+    public CompletableFuture<UnregisterResult> unregisterAccount(String accName) {
+        return this.supply(() -> this.calendar.unregisterAccount(accName));
+    }
+
+    /**
+     * This method checks if a group already exists.
+     * @param groupName The name of the group.
+     * @return a future completed with true if the group already exists and false otherwise.
+     */
+    public CompletableFuture<Boolean> groupAlreadyExists(String groupName) {
+        return this.supply(() -> this.calendar.groupAlreadyExists(groupName));
+    }
+
+    /**
+     * This method adds an empty group to the system.
+     * @param groupName The name of the group.
+     * @return a future completed when the group is added.
+     */
+    public CompletableFuture<Void> addGroup(String groupName) {
+        return this.run(() -> this.calendar.addGroup(groupName));
+    }
+
+    /**
+     * This method adds an account to a group.
+     * @param groupName The name of the group.
+     * @param accName The name of the account.
+     * @return a future completed with true if the account was added, false if it was already a member.
+     */
+    public CompletableFuture<Boolean> addGroupMember(String groupName, String accName) {
+        return this.supply(() -> this.calendar.addGroupMember(groupName, accName));
+    }
+
+    /**
+     * This method gets the number of members of a group.
+     * @param groupName The name of the group.
+     * @return a future completed with the number of members.
+     */
+    public CompletableFuture<Integer> getGroupSize(String groupName) {
+        return this.supply(() -> this.calendar.getGroupSize(groupName));
+    }
+
+    /**
+     * This method invites every member of a group to an event, as one batch of {@link #inviteMany}.
+     * @param promoterName The name of the account that promotes the event.
+     * @param eventName The name of the event.
+     * @param groupName The name of the group.
+     * @return a future completed with the outcome of each invitation, in the order the members first joined a group.
+     */
+    public CompletableFuture<ArrayList<InviteResult>> inviteGroup(String promoterName, String eventName, String groupName) {
+        return this.supply(() -> this.calendar.inviteGroup(promoterName, eventName, groupName));
+    }
+
+    /**
+     * This method gets a list of the accounts sorted by alphabetical order.
+     * @return a future completed with a sorted list of the accounts by alphabetical order.
+     */
+    public CompletableFuture<ArrayList<AccountInterface>> getSortedList() {
+        return this.supply(() -> this.calendar.getSortedList());
+    }
+
+    /**
+     * This method gets the account with the given name.
+     * @param accName The name of the account.
+     * @return a future completed with the account with the given name.
+     */
+    public CompletableFuture<AccountInterface> getAccountByName(String accName) {
+        return this.supply(() -> this.calendar.getAccountByName(accName));
+    }
+
+    /**
+     * This method adds an event to the system.
+     * @param accName The name of the account that promotes the event.
+     * @param pType The priority type of the event.
+     * @param eventName The name of the event.
+     * @param ldt The date of the event.
+     * @param topics The topics of the event.
+     * @return a future completed when the event is added.
+     */
+    public CompletableFuture<Void> addEvent(String accName, String pType, String eventName, LocalDateTime ldt, String[] topics) {
+        return this.run(() -> this.calendar.addEvent(accName, pType, eventName, ldt, topics));
+    }
+
+    /**
+     * This method adds an event that may take several hours and repeat from its date to the system.
+     * @param accName The name of the account that promotes the event.
+     * @param pType The priority type of the event.
+     * @param eventName The name of the event.
+     * @param ldt The date of the first occurrence.
+     * @param hours The number of hours the event takes.
+     * @param topics The topics of the event.
+     * @param recurrence The rule that repeats the event, or null if it occurs once.
+     * @return a future completed when the event is added.
+     */
+    public CompletableFuture<Void> addRecurringEvent(String accName, String pType, String eventName, LocalDateTime ldt, int hours, String[] topics, Recurrence recurrence) {
+        return this.run(() -> this.calendar.addRecurringEvent(accName, pType, eventName, ldt, hours, topics, recurrence));
+    }
+
+    /**
+     * This method checks if the event with the given name already exists in that account.
+     * @param accName The name of the account.
+     * @param eventName The name of the event to be checked.
+     * @return a future completed with true if the event already exists and false otherwise.
+     */
+    public CompletableFuture<Boolean> eventAlreadyExists(String accName, String eventName) {
+        return this.supply(() -> this.calendar.eventAlreadyExists(accName, eventName));
+    }
+
+    /**
+     * This method checks if the account is a guest.
+     * @param accName The name of the account to be checked.
+     * @return a future completed with true if the account is a guest and false otherwise.
+     */
+    public CompletableFuture<Boolean> isGuestAccount(String accName) {
+        return this.supply(() -> this.calendar.isGuestAccount(accName));
+    }
+
+    /**
+     * This method checks if the account is a staff.
+     * @param accName The name of the account to be checked.
+     * @return a future completed with true if the account is a staff and false otherwise.
+     */
+    public CompletableFuture<Boolean> isStaffAccount(String accName) {
+        return this.supply(() -> this.calendar.isStaffAccount(accName));
+    }
+
+    /**
+     * This method checks if the account already has an event on the given date.
+     * @param accName The name of the account.
+     * @param ldt The date that will be checked.
+     * @return a future completed with true if the account already has an event on that date and false otherwise.
+     */
+    public CompletableFuture<Boolean> hasEventOnDate(String accName, LocalDateTime ldt) {
+        return this.supply(() -> this.calendar.hasEventOnDate(accName, ldt));
+    }
+
+    /**
+     * This method checks if the account has an event during the hours an event would take,
+     * on any occurrence of its rule.
+     * @param accName The name of the account.
+     * @param ldt The date of the event, or of its first occurrence.
+     * @param hours The number of hours the event would take.
+     * @param recurrence The rule that would repeat the event, or null if it would occur once.
+     * @return a future completed with true if the account has an event during one of the occurrences and false otherwise.
+     */
+    public CompletableFuture<Boolean> hasEventDuring(String accName, LocalDateTime ldt, int hours, Recurrence recurrence) {
+        return this.supply(() -> this.calendar.hasEventDuring(accName, ldt, hours, recurrence));
+    }
+
+    /**
+     * This method gets all the events that exist in that account.
+     * @param accName The name of the account.
+     * @return a future completed with a list of all the events that exist in that account.
+     */
+    public CompletableFuture<ArrayList<Event>> getAccountEvents(String accName) {
+        return this.supply(() -> this.calendar.getAccountEvents(accName));
+    }
+
+    /**
+     * This method gets the status lines of all the events that exist in that account.
+     * @param accName The name of the account.
+     * @return a future completed with a list of the status lines, in the same order as {@link #getAccountEvents(String)}.
+     */
+    public CompletableFuture<ArrayList<String>> getAccountStatusLines(String accName) {
+        return this.supply(() -> this.calendar.getAccountStatusLines(accName));
+    }
+
+    /**
+     * This method gets the event with the given name.
+     * @param promoterName The promoter of the event.
+     * @param eventName The name of the event.
+     * @return a future completed with the event with the given name.
+     */
+    public CompletableFuture<Event> getEventByName(String promoterName, String eventName) {
+        return this.supply(() -> this.calendar.getEventByName(promoterName, eventName));
+    }
+
+    /**
+     * This method checks if there is an event with the given name in the account.
+     * @param promoterName The name of the account to be checked.
+     * @param eventName The name of the event.
+     * @return a future completed with true if the account promotes the event and false otherwise.
+     */
+    public CompletableFuture<Boolean> isValidEvent(String promoterName, String eventName) {
+        return this.supply(() -> this.calendar.isValidEvent(promoterName, eventName));
+    }
+
+    /**
+     * This method checks if the event priority of the promoter is high.
+     * @param promoterName The name of the promoter.
+     * @param eventName The name of the event to be checked.
+     * @return a future completed with true if the event has a high priority and false otherwise.
+     */
+    public CompletableFuture<Boolean> isPromoterHighEvent(String promoterName, String eventName) {
+        return this.supply(() -> this.calendar.isPromoterHighEvent(promoterName, eventName));
+    }
+
+    /**
+     * This method accepts the invitation of the event.
+     * @param promoterName The name of the account that promotes the event.
+     * @param inviteeName The name of the account that was invited to the event.
+     * @param eventName The name of the event.
+     * @return a future completed when the invitation is accepted.
+     */
+    public CompletableFuture<Void> inviteeAcceptEvent(String promoterName, String inviteeName, String eventName) {
+        return this.run(() -> this.calendar.inviteeAcceptEvent(promoterName, inviteeName, eventName));
+    }
+
+    /**
+     * This method rejects the invitation of the event.
+     * @param promoterName The name of the account that promote the event.
+     * @param inviteeName The name of the account that was invited to the event.
+     * @param eventName The name of the event.
+     * @return a future completed when the invitation is rejected.
+     */
+    public CompletableFuture<Void> inviteeRejectEvent(String promoterName, String inviteeName, String eventName) {
+        return this.run(() -> this.calendar.inviteeRejectEvent(promoterName, inviteeName, eventName));
+    }
+
+    /**
+     * This method removes the event from the promoter's account.
+     * @param promoterName The name of the account that promotes the event.
+     * @param event The event to be removed.
+     * @return a future completed when the event is removed.
+     */
+    public CompletableFuture<Void> promoterRemoveEvent(String promoterName, Event event) {
+        return this.run(() -> this.calendar.promoterRemoveEvent(promoterName, event));
+    }
+
+    /**
+     * This method cancels an event, removing it from the promoter's account and from the accounts of its invitees.
+     * @param promoterName The name of the account that promotes the event.
+     * @param eventName The name of the event.
+     * @return a future completed with the number of accounts the event was removed from, the promoter included, or 0 if there is no such event.
+     */
+    public CompletableFuture<Integer> cancelEvent(String promoterName, String eventName) {
+        return this.supply(() -> this.calendar.cancelEvent(promoterName, eventName));
+    }
+
+    /**
+     * This method skips an occurrence of a recurring event, which frees that date for the promoter and the invitees.
+     * @param promoterName The name of the account that promotes the event.
+     * @param eventName The name of the event.
+     * @param ldt The date of the occurrence.
+     * @return a future completed with true if the occurrence was skipped, false if the event does not repeat or does not occur on that date.
+     */
+    public CompletableFuture<Boolean> skipOccurrence(String promoterName, String eventName, LocalDateTime ldt) {
+        return this.supply(() -> this.calendar.skipOccurrence(promoterName, eventName, ldt));
+    }
+
+    /**
+     * This method checks if an account has already been invited to the event.
+     * @param inviteeName The name of the account that was invited.
+     * @param eventName The name of the event.
+     * @return a future completed with true if the account was already invited and false otherwise.
+     */
+    public CompletableFuture<Boolean> hasAlreadyBeenInvited(String inviteeName, String eventName) {
+        return this.supply(() -> this.calendar.hasAlreadyBeenInvited(inviteeName, eventName));
+    }
+
+    /**
+     * This method checks if the invited account has already an event on that date.
+     * @param inviteeName The name of the account that was invited.
+     * @param promoterName The name of the account that promoted the event.
+     * @param eventName The name of the event.
+     * @return a future completed with true if the invited account already has an event on that date and false otherwise.
+     */
+    public CompletableFuture<Boolean> hasInviteeAccountEventOnDate(String inviteeName, String promoterName, String eventName) {
+        return this.supply(() -> this.calendar.hasInviteeAccountEventOnDate(inviteeName, promoterName, eventName));
+    }
+
+    /**
+     * This method gets a list that contains all the invited account events that are on the given date.
+     * @param inviteeName The name of the account that was invited.
+     * @param promoterName The name of the account that promoted the event.
+     * @param eventName The name of the event.
+     * @return a future completed with a list that contains all the invited account events that are on the given date.
+     */
+    public CompletableFuture<ArrayList<Event>> getInviteeConflictEvents(String inviteeName, String promoterName, String eventName) {
+        return this.supply(() -> this.calendar.getInviteeConflictEvents(inviteeName, promoterName, eventName));
+    }
+
+    /**
+     * This method updates the invited list of the event and also adds the event to the list of invited events
+     * in the invited account.
+     * @param inviteeName The name of the account that was invited.
+     * @param promoterName The name of the account that promoted the event.
+     * @param eventName The name of the event.
+     * @return a future completed when the invitation is recorded.
+     */
+    public CompletableFuture<Void> inviteUpdateEvent(String inviteeName, String promoterName, String eventName) {
+        return this.run(() -> this.calendar.inviteUpdateEvent(inviteeName, promoterName, eventName));
+    }
+
+    /**
+     * This method checks if the response to the invitation is valid.
+     * @param response The response to the invitation.
+     * @return a future completed with true if the response is valid and false otherwise.
+     */
+    public CompletableFuture<Boolean> isResponseValid(String response) {
+        return this.supply(() -> this.calendar.isResponseValid(response));
+    }
+
+    /**
+     * This method gets a list that contains the invited account events which were invited on the given date.
+     * @param inviteeName The name of the account that was invited.
+     * @param promoterName The name of the account that promoted the event.
+     * @param eventName The name of the event.
+     * @return a future completed with a list that contains the invited account events which were invited on the given date.
+     */
+    public CompletableFuture<ArrayList<Event>> getInviteeInvitedConflictEvents(String inviteeName, String promoterName, String eventName) {
+        return this.supply(() -> this.calendar.getInviteeInvitedConflictEvents(inviteeName, promoterName, eventName));
+    }
+
+    /**
+     * This method checks if the response is "accept".
+     * @param response The response to the invitation.
+     * @return a future completed with true if the response is "accept".
+     */
+    public CompletableFuture<Boolean> responseIsAccepted(String response) {
+        return this.supply(() -> this.calendar.responseIsAccepted(response));
+    }
+
+    /**
+     * This method checks if the response is "reject".
+     * @param response The response to the invitation.
+     * @return a future completed with true if the response is "reject".
+     */
+    public CompletableFuture<Boolean> respondeIsRejected(String response) {
+        return this.supply(() -> this.calendar.respondeIsRejected(response));
+    }
+
+    /**
+     * This method checks if the account is on the invitation list of the event.
+     * @param inviteeName The name of account to be checked.
+     * @param eventName The name of the event.
+     * @return a future completed with true if the account is on the invitation list and false otherwise.
+     */
+    public CompletableFuture<Boolean> isOnInvitationList(String inviteeName, String eventName) {
+        return this.supply(() -> this.calendar.isOnInvitationList(inviteeName, eventName));
+    }
+
+    /**
+     * This method checks if the account has already responded to the invitation.
+     * @param inviteeName The name of the invited account.
+     * @param eventName The name of the event.
+     * @return a future completed with true if the invited account has already responded and false otherwise.
+     */
+    public CompletableFuture<Boolean> hasAlreadyResponded(String inviteeName, String eventName) {
+        return this.supply(() -> this.calendar.hasAlreadyResponded(inviteeName, eventName));
+    }
+
+    /**
+     * This method gets the day of the event.
+     * @param eventName The name of the event.
+     * @param promoterName The name of the account that promoted the event.
+     * @return a future completed with the day of the event.
+     */
+    public CompletableFuture<Integer> getEventDay(String eventName, String promoterName) {
+        return this.supply(() -> this.calendar.getEventDay(eventName, promoterName));
+    }
+
+    /**
+     * This method gets the month of the event.
+     * @param eventName The name of the event.
+     * @param promoterName The name of the account that promoted the event.
+     * @return a future completed with the month of the event.
+     */
+    public CompletableFuture<Integer> getEventMonth(String eventName, String promoterName) {
+        return this.supply(() -> this.calendar.getEventMonth(eventName, promoterName));
+    }
+
+    /**
+     * This method gets the year of the event.
+     * @param eventName The name of the event.
+     * @param promoterName The name of the account that promoted the event.
+     * @return a future completed with the year of the event.
+     */
+    public CompletableFuture<Integer> getEventYear(String eventName, String promoterName) {
+        return this.supply(() -> this.calendar.getEventYear(eventName, promoterName));
+    }
+
+    /**
+     * This method gets the hour of the event.
+     * @param eventName The name of the event.
+     * @param promoterName The name of the account that promoted the event.
+     * @return a future completed with the hour of the event.
+     */
+    public CompletableFuture<Integer> getEventHour(String eventName, String promoterName) {
+        return this.supply(() -> this.calendar.getEventHour(eventName, promoterName));
+    }
+
+    /**
+     * This method gets a list that contains the names of the accounts that were invited to the event.
+     * @param promoterName The name of the account that promoted the event.
+     * @param eventName The name of the event.
+     * @return a future completed with a list that contains the names of the accounts that were invited to the event.
+     */
+    public CompletableFuture<ArrayList<String>> getInvitedNamesList(String promoterName, String eventName) {
+        return this.supply(() -> this.calendar.getInvitedNamesList(promoterName, eventName));
+    }
+
+    /**
+     * This method checks if the invited account has accepted the event.
+     * @param inviteeName The name of the account that was invited.
+     * @param eventName The name of the event.
+     * @param promoterName The name of the account that promoted the event.
+     * @return a future completed with true if the invited account has accepted the event and false otherwise.
+     */
+    public CompletableFuture<Boolean> isEventAccepted(String inviteeName, String eventName, String promoterName) {
+        return this.supply(() -> this.calendar.isEventAccepted(inviteeName, eventName, promoterName));
+    }
+
+    /**
+     * This method checks if the invited account has rejected the event.
+     * @param inviteeName The name of the account that was invited.
+     * @param eventName The name of the event.
+     * @param promoterName The name of the account that promoted the event.
+     * @return a future completed with true if the invited account has rejected the event and false otherwise.
+     */
+    public CompletableFuture<Boolean> isEventRejected(String inviteeName, String eventName, String promoterName) {
+        return this.supply(() -> this.calendar.isEventRejected(inviteeName, eventName, promoterName));
+    }
+
+    /**
+     * This method checks if any event has at least one of the topics that were given.
+     * @param topics A list of topics to be checked.
+     * @return a future completed with true if at least one event has at least one of the given topics.
+     */
+    public CompletableFuture<Boolean> hasEventsWithTopic(ArrayList<String> topics) {
+        return this.supply(() -> this.calendar.hasEventsWithTopic(topics));
+    }
+
+    /**
+     * This method gets a list that contains all the events that have at least one of the given topics.
+     * @param topics A list of topics to be checked.
+     * @return a future completed with a list that contains all the events that have at least one of the given topics.
+     */
+    public CompletableFuture<ArrayList<Event>> getEventsWithTopics(ArrayList<String> topics) {
+        return this.supply(() -> this.calendar.getEventsWithTopics(topics));
+    }
+
+    /**
+     * This method estimates the heap retained by the accounts and the events, by structure.
+     * @param top The number of heaviest accounts and events to report.
+     * @return a future completed with the report of the estimated sizes.
+     */
+    public CompletableFuture<MemoryReport> estimateMemory(int top) {
+        return this.supply(() -> this.calendar.estimateMemory(top));
+    }
+
+    /**
+     * This method gets a list that contains all the events that the account has been invited to on a specific date.
+     * @param accName The name of the account.
+     * @param eventName The name of the event.
+     * @return a future completed with a list that contains all the events that the account has been invited to on a specific date.
+     */
+    public CompletableFuture<ArrayList<Event>> getInvitedAccountEventsOnDate(String accName, String eventName) {
+        return this.supply(() -> this.calendar.getInvitedAccountEventsOnDate(accName, eventName));
+    }
+
+    /**
+     * This method checks if the invited account already has a high priority event on the date of the event.
+     * @param inviteeName The name of the account that was invited.
+     * @param promoterName The name of the account that was promoted.
+     * @param eventName The name of the event.
+     * @return a future completed with true if the invited account already has one and false otherwise.
+     */
+    public CompletableFuture<Boolean> hasInviteeAccountHighEventOnDate(String inviteeName, String promoterName, String eventName) {
+        return this.supply(() -> this.calendar.hasInviteeAccountHighEventOnDate(inviteeName, promoterName, eventName));
+    }
+
+    /**
+     * This method invites an account to an event and applies the whole cascade as one transaction,
+     * rolled back if any step fails.
+     * @param inviteeName The name of the account that is invited.
+     * @param promoterName The name of the account that promotes the event.
+     * @param eventName The name of the event.
+     * @return a future completed with the outcome of the invitation, with the conflicting events in the order they were handled.
+     */
+    public CompletableFuture<InviteResult> invite(String inviteeName, String promoterName, String eventName) {
+        return this.supply(() -> this.calendar.invite(inviteeName, promoterName, eventName));
+    }
+
+    /**
+     * This method invites several accounts to the same event, with the same outcome for each of them as
+     * inviting them one by one in the given order.
+     * @param promoterName The name of the account that promotes the event.
+     * @param eventName The name of the event.
+     * @param inviteeNames The names of the accounts that are invited.
+     * @return a future completed with the outcome of each invitation, in the order of the invitees.
+     */
+    public CompletableFuture<ArrayList<InviteResult>> inviteMany(String promoterName, String eventName, String... inviteeNames) {
+        return this.supply(() -> this.calendar.inviteMany(promoterName, eventName, inviteeNames));
+    }
+
+    /**
+     * This method answers an invitation, with the same checks and cascade as the command "response".
+     * @param inviteeName The name of the invited account.
+     * @param promoterName The name of the account that promotes the event.
+     * @param eventName The name of the event.
+     * @param response The response, accept or reject.
+     * @return a future completed with the outcome of the response, with the invitations it rejected.
+     */
+    public CompletableFuture<ResponseResult> respond(String inviteeName, String promoterName, String eventName, String response) {
+        return this.supply(() -> this.calendar.respond(inviteeName, promoterName, eventName, response));
+    }
+
+    /**
+     * This method answers many invitations in one pass, with the same outcome for each of them as
+     * answering them one by one in the given order.
+     * @param requests The responses, in order.
+     * @return a future completed with the outcome of each response, in the same order.
+     */
+    public CompletableFuture<ArrayList<ResponseResult>> respondAll(List<ResponseRequest> requests) {
+        return this.supply(() -> this.calendar.respondAll(requests));
+    }
+
+    /**
+     * This method stops the executor created by the facade, if any. Running calls are completed.
+     */
+    @Override
+    public void close() {
+        if (this.ownExecutor != null) {
+            this.ownExecutor.shutdown();
+        }
+    }
+
+    /**
+     * This method runs a call that returns a value on the executor.
+     * @param call The call.
+     * @return a future completed with the result of the call.
+     */
+    private <T> CompletableFuture<T> supply(Supplier<T> call) {
+        return CompletableFuture.supplyAsync(call, this.executor);
+    }
+
+    /**
+     * This method runs a call that returns nothing on the executor.
+     * @param call The call.
+     * @return a future completed when the call ends.
+     */
+    private CompletableFuture<Void> run(Runnable call) {
+        return CompletableFuture.runAsync(call, this.executor);
+    }
+
+    /**
+     * This method creates the default executor: one virtual thread per call if the runtime has them,
+     * looked up by reflection so the code still runs on older runtimes, or a pool of daemon threads.
+     * @return the executor.
+     */
+    private static ExecutorService newDefaultExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return new DaemonPool();
+        }
+    }
+
+    /**
+     * A cached pool of daemon platform threads, used when virtual threads are not available.
+     */
+    private static class DaemonPool extends ThreadPoolExecutor {
+
+        /**
+         * Initializes the pool.
+         */
+        private DaemonPool() {
+            super(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS,
+                    new SynchronousQueue<>(), task -> {
+                        Thread thread = new Thread(task, "calendar-async");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package calendarsystem;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Summary of a bulk load: how many rows were committed and why the others were rejected.
+ */
+public class BulkLoadReport {
+
+    // The maximum number of line numbers kept as samples for each rejection reason.
+    private static final int MAX_SAMPLE_LINES = 5;
+
+    // The number of rows read from the file.
+    private int rows;
+
+    // The number of rows committed into the calendar.
+    private int loaded;
+
+    // The number of rejected rows for each reason, in the order the reasons first appeared.
+    private LinkedHashMap<String, Integer> rejections;
+
+    // The first line numbers rejected for each reason.
+    private LinkedHashMap<String, ArrayList<Integer>> sampleLines;
+
+    /**
+     * Initializes an empty report.
+     */
+    public BulkLoadReport() {
+        this.rows = 0;
+        this.loaded = 0;
+        this.rejections = new LinkedHashMap<>();
+        this.sampleLines = new LinkedHashMap<>();
+    }
+
+    /**
+     * Records a row that was committed into the calendar.
+     */
+    void addLoaded() {
+        this.rows++;
+        this.loaded++;
+    }
+
+    /**
+     * Records a row that was rejected.
+     * @param lineNumber The line number of the row in the file.
+     * @param reason The reason why the row was rejected.
+     */
+    void addRejected(int lineNumber, String reason) {
+        this.rows++;
+        this.rejections.merge(reason, 1, Integer::sum);
+        ArrayList<Integer> lines = this.sampleLines.computeIfAbsent(reason, r -> new ArrayList<>());
+        if (lines.size() < MAX_SAMPLE_LINES) {
+            lines.add(lineNumber);
+        }
+    }
+
+    /**
+     * Gets the number of rows read from the file.
+     * @return the number of rows read.
+     */
+    public int getRows() {
+        return this.rows;
+    }
+
+    /**
+     * Gets the number of rows committed into the calendar.
+     * @return the number of rows loaded.
+     */
+    public int getLoaded() {
+        return this.loaded;
+    }
+
+    /**
+     * Gets the number of rejected rows.
+     * @return the number of rows rejected.
+     */
+    public int getRejected() {
+        return this.rows - this.loaded;
+    }
+
+    /**
+     * Gets the number of rejected rows for each reason.
+     * @return a map from the rejection reason to the number of rows rejected for it.
+     */
+    public Map<String, Integer> getRejectionsByReason() {
+        return new LinkedHashMap<>(this.rejections);
+    }
+
+    /**
+     * Gets the first line numbers that were rejected for a reason.
+     * @param reason The rejection reason.
+     * @return a list with up to five line numbers rejected for that reason.
+     */
+    public ArrayList<Integer> getSampleLines(String reason) {
+        ArrayList<Integer> lines = this.sampleLines.get(reason);
+        return lines == null ? new ArrayList<>() : new ArrayList<>(lines);
+    }
+}
@@ -0,0 +1,54 @@
+package calendarsystem;
+
+/**
+ * Enumeration representing the kinds of CSV files accepted by the bulk loader.
+ */
+public enum BulkLoadType {
+
+    /** accounts - Rows with the columns name,type. */
+    ACCOUNTS("accounts"),
+
+    /** events - Rows with the columns promoter,priority,year,month,day,hour,name,topics. */
+    EVENTS("events"),
+
+    /** invitations - Rows with the columns invitee,promoter,event. */
+    INVITATIONS("invitations");
+
+    // The string representation of the load type.
+    private String loadType;
+
+    /**
+     * Constructor for BulkLoadType.
+     * @param loadType The string representation of the load type.
+     */
+    BulkLoadType(String loadType) {
+        this.loadType = loadType;
+    }
+
+    /**
+     * Returns the string representation of the load type.
+     * @return the string representation of the load type.
+     */
+    @Override
+    public String toString() {
+        return this.loadType;
+    }
+
+    /**
+     * Gets the enum constant of the specified load type.
+     * @param loadType The string representation of the load type.
+     * @return the BulkLoadType constant, or null if no matching constant is found.
+     */
+    public static BulkLoadType getEnum(String loadType) {
+        if (ACCOUNTS.toString().equals(loadType)) {
+            return ACCOUNTS;
+        }
+        if (EVENTS.toString().equals(loadType)) {
+            return EVENTS;
+        }
+        if (INVITATIONS.toString().equals(loadType)) {
+            return INVITATIONS;
+        }
+        return null;
+    }
+}
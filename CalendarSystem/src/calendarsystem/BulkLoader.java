@@ -0,0 +1,404 @@
+package calendarsystem;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Loads accounts, events and invitations from CSV files into the calendar system.
+ * Chunks of lines are parsed in parallel, while the validated rows are committed
+ * one chunk at a time in file order, so the same rules of the interactive commands apply.
+ * Consecutive invitations to the same event are committed together, in one call to
+ * {@link CalendarSystemInterface#inviteMany}.
+ */
+public class BulkLoader {
+
+    // The default number of lines parsed by each parallel task.
+    private static final int DEFAULT_CHUNK_SIZE = 4096;
+
+    // Rejection reasons, worded as the messages of the interactive commands.
+    private static final String ERR_MALFORMED_ROW = "malformed row";
+    private static final String ERR_INVALID_DATE = "invalid date";
+    private static final String ERR_ACCOUNT_EXISTS = "account already exists";
+    private static final String ERR_UNKNOWN_ACCOUNT_TYPE = "unknown account type";
+    private static final String ERR_UNKNOWN_ACCOUNT = "account does not exist";
+    private static final String ERR_UNKNOWN_PRIORITY = "unknown priority type";
+    private static final String ERR_GUEST_CREATE = "guest account cannot create events";
+    private static final String ERR_STAFF_HIGH = "account cannot create high priority events";
+    private static final String ERR_EVENT_EXISTS = "event already exists in account";
+    private static final String ERR_BUSY = "account is busy";
+    private static final String ERR_UNKNOWN_EVENT = "event does not exist in account";
+    private static final String ERR_ALREADY_INVITED = "account was already invited";
+    private static final String ERR_ALREADY_ATTENDING = "account already attending another event";
+
+    // The calendar system where the rows are committed.
+    private CalendarSystemInterface calendar;
+
+    // The executor that parses the chunks.
+    private Executor executor;
+
+    // The number of lines parsed by each parallel task.
+    private int chunkSize;
+
+    /**
+     * Initializes a loader that parses on the common fork-join pool.
+     * @param calendar The calendar system where the rows are committed.
+     */
+    public BulkLoader(CalendarSystemInterface calendar) {
+        this(calendar, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Initializes a loader.
+     * @param calendar The calendar system where the rows are committed.
+     * @param executor The executor that parses the chunks.
+     * @param chunkSize The number of lines parsed by each parallel task.
+     */
+    public BulkLoader(CalendarSystemInterface calendar, Executor executor, int chunkSize) {
+        this.calendar = calendar;
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Loads a CSV file into the calendar system.
+     * Blank lines are ignored and every other line is either committed or reported as rejected.
+     * @param type The kind of rows in the file.
+     * @param file The path of the file.
+     * @return a report with the number of loaded rows and the rejected rows grouped by reason.
+     * @throws IOException if the file cannot be read.
+     */
+    public BulkLoadReport load(BulkLoadType type, Path file) throws IOException {
+        BulkLoadReport report = new BulkLoadReport();
+        int window = 2 * Runtime.getRuntime().availableProcessors();
+        ArrayDeque<CompletableFuture<ArrayList<BulkRow>>> pending = new ArrayDeque<>();
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            ArrayList<String> chunk = new ArrayList<>();
+            int firstLine = 1;
+            int lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                chunk.add(line);
+                if (chunk.size() == this.chunkSize) {
+                    pending.add(this.parseChunk(type, chunk, firstLine));
+                    chunk = new ArrayList<>();
+                    firstLine = lineNumber + 1;
+                }
+                // Keep a bounded number of chunks in flight while the oldest one is committed.
+                while (pending.size() > window) {
+                    this.commitChunk(type, pending.poll().join(), report);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                pending.add(this.parseChunk(type, chunk, firstLine));
+            }
+        }
+
+        while (!pending.isEmpty()) {
+            this.commitChunk(type, pending.poll().join(), report);
+        }
+        return report;
+    }
+
+    /**
+     * Parses a chunk of lines on the executor.
+     * @param type The kind of rows in the chunk.
+     * @param lines The lines of the chunk.
+     * @param firstLine The line number of the first line of the chunk.
+     * @return a future with the parsed rows, blank lines excluded.
+     */
+    private CompletableFuture<ArrayList<BulkRow>> parseChunk(BulkLoadType type, ArrayList<String> lines, int firstLine) {
+        return CompletableFuture.supplyAsync(() -> {
+            ArrayList<BulkRow> rows = new ArrayList<>(lines.size());
+            for (int i = 0; i < lines.size(); i++) {
+                String line = lines.get(i);
+                if (!line.isBlank()) {
+                    rows.add(BulkLoader.parseRow(type, line, firstLine + i));
+                }
+            }
+            return rows;
+        }, this.executor);
+    }
+
+    /**
+     * Parses a single row and performs the checks that do not depend on the calendar state.
+     * @param type The kind of the row.
+     * @param line The line to parse.
+     * @param lineNumber The line number in the file.
+     * @return the parsed row, with an error if it cannot be loaded.
+     */
+    private static BulkRow parseRow(BulkLoadType type, String line, int lineNumber) {
+        BulkRow row = new BulkRow(lineNumber, BulkLoader.splitCsv(line));
+        String[] fields = row.fields;
+
+        switch (type) {
+            case ACCOUNTS:
+                if (fields.length != 2) {
+                    row.error = ERR_MALFORMED_ROW;
+                } else if (!AccountType.isTypeValid(fields[1])) {
+                    row.error = ERR_UNKNOWN_ACCOUNT_TYPE;
+                }
+                break;
+            case EVENTS:
+                if (fields.length != 8) {
+                    row.error = ERR_MALFORMED_ROW;
+                    break;
+                }
+                try {
+                    row.ldt = LocalDateTime.of(Integer.parseInt(fields[2]), Integer.parseInt(fields[3]),
+                            Integer.parseInt(fields[4]), Integer.parseInt(fields[5]), 0);
+                } catch (NumberFormatException e) {
+                    row.error = ERR_MALFORMED_ROW;
+                    break;
+                } catch (DateTimeException e) {
+                    row.error = ERR_INVALID_DATE;
+                    break;
+                }
+                row.topics = fields[7].split(" ");
+                break;
+            case INVITATIONS:
+                if (fields.length != 3) {
+                    row.error = ERR_MALFORMED_ROW;
+                }
+                break;
+            default:
+                row.error = ERR_MALFORMED_ROW;
+                break;
+        }
+        return row;
+    }
+
+    /**
+     * Commits a chunk of parsed rows, in order.
+     * @param type The kind of rows in the chunk.
+     * @param rows The parsed rows.
+     * @param report The report where the outcome of each row is recorded.
+     */
+    private void commitChunk(BulkLoadType type, ArrayList<BulkRow> rows, BulkLoadReport report) {
+        if (type == BulkLoadType.INVITATIONS) {
+            this.commitInvitations(rows, report);
+            return;
+        }
+
+        Iterator<BulkRow> itRows = rows.iterator();
+        while (itRows.hasNext()) {
+            BulkRow row = itRows.next();
+            String error = row.error;
+            if (error == null) {
+                switch (type) {
+                    case ACCOUNTS:
+                        error = this.commitAccount(row);
+                        break;
+                    case EVENTS:
+                        error = this.commitEvent(row);
+                        break;
+                    default:
+                        error = ERR_MALFORMED_ROW;
+                        break;
+                }
+            }
+            BulkLoader.record(report, row, error);
+        }
+    }
+
+    /**
+     * Records the outcome of a row.
+     * @param report The report of the load.
+     * @param row The row.
+     * @param error The rejection reason, or null if the row was committed.
+     */
+    private static void record(BulkLoadReport report, BulkRow row, String error) {
+        if (error == null) {
+            report.addLoaded();
+        } else {
+            report.addRejected(row.lineNumber, error);
+        }
+    }
+
+    /**
+     * Registers the account of a row.
+     * @param row The row with the columns name,type.
+     * @return the rejection reason, or null if the account was registered.
+     */
+    private String commitAccount(BulkRow row) {
+        String accName = row.fields[0];
+        if (this.calendar.accountAlreadyExists(accName)) {
+            return ERR_ACCOUNT_EXISTS;
+        }
+        this.calendar.addAccount(accName, row.fields[1]);
+        return null;
+    }
+
+    /**
+     * Creates the event of a row, with the same checks of the command "create".
+     * @param row The row with the columns promoter,priority,year,month,day,hour,name,topics.
+     * @return the rejection reason, or null if the event was created.
+     */
+    private String commitEvent(BulkRow row) {
+        String accName = row.fields[0];
+        String pType = row.fields[1];
+        String eventName = row.fields[6];
+
+        if (!this.calendar.accountAlreadyExists(accName)) {
+            return ERR_UNKNOWN_ACCOUNT;
+        }
+        if (!EventType.isPriorityTypeValid(pType)) {
+            return ERR_UNKNOWN_PRIORITY;
+        }
+        if (this.calendar.isGuestAccount(accName)) {
+            return ERR_GUEST_CREATE;
+        }
+        if (this.calendar.isStaffAccount(accName) && EventType.isHigh(pType)) {
+            return ERR_STAFF_HIGH;
+        }
+        if (this.calendar.eventAlreadyExists(accName, eventName)) {
+            return ERR_EVENT_EXISTS;
+        }
+        if (this.calendar.hasEventOnDate(accName, row.ldt)) {
+            return ERR_BUSY;
+        }
+
+        this.calendar.addEvent(accName, pType, eventName, row.ldt, row.topics);
+        Iterator<Event> itEvents = this.calendar.getInvitedAccountEventsOnDate(accName, eventName).iterator();
+        while (itEvents.hasNext()) {
+            itEvents.next().addRejectedAccount(accName);
+        }
+        return null;
+    }
+
+    /**
+     * Commits a chunk of invitation rows, in order, with the same checks and cascade of the command "invite".
+     * Each run of consecutive rows that invite accounts to the same event is committed with one call to
+     * {@link CalendarSystemInterface#inviteMany}, which gives every row the outcome it would have alone.
+     * @param rows The parsed rows, with the columns invitee,promoter,event.
+     * @param report The report where the outcome of each row is recorded.
+     */
+    private void commitInvitations(ArrayList<BulkRow> rows, BulkLoadReport report) {
+        int start = 0;
+        while (start < rows.size()) {
+            BulkRow first = rows.get(start);
+            if (first.error != null) {
+                BulkLoader.record(report, first, first.error);
+                start++;
+                continue;
+            }
+
+            String promoterName = first.fields[1];
+            String eventName = first.fields[2];
+            int end = start + 1;
+            while (end < rows.size() && rows.get(end).error == null
+                    && rows.get(end).fields[1].equals(promoterName) && rows.get(end).fields[2].equals(eventName)) {
+                end++;
+            }
+
+            String[] inviteeNames = new String[end - start];
+            for (int i = start; i < end; i++) {
+                inviteeNames[i - start] = rows.get(i).fields[0];
+            }
+            ArrayList<InviteResult> results = this.calendar.inviteMany(promoterName, eventName, inviteeNames);
+            for (int i = start; i < end; i++) {
+                BulkLoader.record(report, rows.get(i), invitationError(results.get(i - start).getOutcome()));
+            }
+            start = end;
+        }
+    }
+
+    /**
+     * Gets the rejection reason of an invitation.
+     * @param outcome The outcome of the invitation.
+     * @return the rejection reason, or null if the account was invited.
+     */
+    private static String invitationError(InviteOutcome outcome) {
+        switch (outcome) {
+            case UNKNOWN_PROMOTER:
+            case UNKNOWN_INVITEE:
+                return ERR_UNKNOWN_ACCOUNT;
+            case UNKNOWN_EVENT:
+                return ERR_UNKNOWN_EVENT;
+            case ALREADY_INVITED:
+                return ERR_ALREADY_INVITED;
+            case ALREADY_ATTENDING:
+                return ERR_ALREADY_ATTENDING;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Splits a CSV line into its fields.
+     * Fields may be enclosed in double quotes, and a doubled quote inside them stands for a quote.
+     * @param line The line to split.
+     * @return the fields of the line.
+     */
+    static String[] splitCsv(String line) {
+        ArrayList<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields.toArray(new String[0]);
+    }
+
+    /**
+     * A row of a CSV file, with the values parsed before it is committed.
+     */
+    private static class BulkRow {
+
+        // The line number of the row in the file.
+        private int lineNumber;
+
+        // The fields of the row.
+        private String[] fields;
+
+        // The date of the event, for event rows.
+        private LocalDateTime ldt;
+
+        // The topics of the event, for event rows.
+        private String[] topics;
+
+        // The reason why the row cannot be loaded, or null if it passed parsing.
+        private String error;
+
+        /**
+         * Initializes a row.
+         * @param lineNumber The line number of the row in the file.
+         * @param fields The fields of the row.
+         */
+        private BulkRow(int lineNumber, String[] fields) {
+            this.lineNumber = lineNumber;
+            this.fields = fields;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package calendarsystem;
+
+/**
+ * An operation on the calendar system, run as one unit by a {@link CommandPipeline}.
+ * @param <T> The type of the result of the operation.
+ */
+@FunctionalInterface
+public interface CalendarOperation<T> {
+
+    /**
+     * Runs the operation.
+     * @param calendar The calendar system.
+     * @return the result of the operation.
+     */
+    T apply(CalendarSystemInterface calendar);
+}
@@ -0,0 +1,245 @@
+package calendarsystem;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+
+/**
+ * An immutable version of the accounts and events of the calendar system.
+ * Readers get a snapshot without locking and every query on it sees the same version.
+ * Writers publish a new version that shares everything but the buckets they changed,
+ * so a publication copies a small fraction of the calendar instead of all of it.
+ */
+public class CalendarSnapshot {
+
+    // The number of buckets of accounts and of events.
+    private static final int BUCKETS = 256;
+
+    // The version number, incremented by each publication.
+    private long version;
+
+    // The accounts, spread across buckets by the hash of their names.
+    private HashMap<String, AccountSnapshot>[] accountBuckets;
+
+    // The events, keyed by the live event and spread across buckets by its identity hash.
+    private IdentityHashMap<Event, EventSnapshot>[] eventBuckets;
+
+    /**
+     * Initializes an empty snapshot.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    CalendarSnapshot() {
+        this.version = 0;
+        this.accountBuckets = new HashMap[BUCKETS];
+        this.eventBuckets = new IdentityHashMap[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            this.accountBuckets[i] = new HashMap<>();
+            this.eventBuckets[i] = new IdentityHashMap<>();
+        }
+    }
+
+    /**
+     * Initializes a snapshot with the given buckets.
+     * @param version The version number.
+     * @param accountBuckets The buckets of accounts.
+     * @param eventBuckets The buckets of events.
+     */
+    private CalendarSnapshot(long version, HashMap<String, AccountSnapshot>[] accountBuckets,
+            IdentityHashMap<Event, EventSnapshot>[] eventBuckets) {
+        this.version = version;
+        this.accountBuckets = accountBuckets;
+        this.eventBuckets = eventBuckets;
+    }
+
+    /**
+     * Creates the next version with the given changes, leaving this one untouched.
+     * An event snapshot older than the one already published, or taken from a removed event, is ignored,
+     * and so is the removal of an event that a rolled back transaction gave back to its promoter.
+     * @param accounts The accounts to add or replace.
+     * @param removedAccounts The names of the accounts to remove.
+     * @param events The events to add or replace.
+     * @param removedEvents The events to remove.
+     * @return the new snapshot.
+     */
+    CalendarSnapshot publish(ArrayList<AccountSnapshot> accounts, ArrayList<String> removedAccounts, ArrayList<EventSnapshot> events, ArrayList<Event> removedEvents) {
+        HashMap<String, AccountSnapshot>[] newAccountBuckets = this.accountBuckets.clone();
+        IdentityHashMap<Event, EventSnapshot>[] newEventBuckets = this.eventBuckets.clone();
+        boolean[] copiedAccounts = new boolean[BUCKETS];
+        boolean[] copiedEvents = new boolean[BUCKETS];
+
+        for (int i = 0; i < accounts.size(); i++) {
+            AccountSnapshot acc = accounts.get(i);
+            int bucket = accountBucketOf(acc.getName());
+            if (!copiedAccounts[bucket]) {
+                newAccountBuckets[bucket] = new HashMap<>(newAccountBuckets[bucket]);
+                copiedAccounts[bucket] = true;
+            }
+            newAccountBuckets[bucket].put(acc.getName(), acc);
+        }
+
+        for (int i = 0; i < removedAccounts.size(); i++) {
+            String accName = removedAccounts.get(i);
+            int bucket = accountBucketOf(accName);
+            if (!copiedAccounts[bucket]) {
+                newAccountBuckets[bucket] = new HashMap<>(newAccountBuckets[bucket]);
+                copiedAccounts[bucket] = true;
+            }
+            newAccountBuckets[bucket].remove(accName);
+        }
+
+        for (int i = 0; i < events.size(); i++) {
+            EventSnapshot event = events.get(i);
+            Event source = event.getSource();
+            int bucket = eventBucketOf(source);
+            EventSnapshot published = newEventBuckets[bucket].get(source);
+            if (source.getPromoterName() == null || (published != null && published.getVersion() >= event.getVersion())) {
+                continue;
+            }
+            if (!copiedEvents[bucket]) {
+                newEventBuckets[bucket] = new IdentityHashMap<>(newEventBuckets[bucket]);
+                copiedEvents[bucket] = true;
+            }
+            newEventBuckets[bucket].put(source, event);
+        }
+
+        for (int i = 0; i < removedEvents.size(); i++) {
+            Event source = removedEvents.get(i);
+            if (source.getPromoterName() != null) {
+                continue;
+            }
+            int bucket = eventBucketOf(source);
+            if (!copiedEvents[bucket]) {
+                newEventBuckets[bucket] = new IdentityHashMap<>(newEventBuckets[bucket]);
+                copiedEvents[bucket] = true;
+            }
+            newEventBuckets[bucket].remove(source);
+        }
+
+        return new CalendarSnapshot(this.version + 1, newAccountBuckets, newEventBuckets);
+    }
+
+    /**
+     * Gets the version number of the snapshot.
+     * @return the version number.
+     */
+    public long getVersion() {
+        return this.version;
+    }
+
+    /**
+     * Checks if an account exists in this version.
+     * @param accName The name of the account.
+     * @return true if the account exists, false otherwise.
+     */
+    public boolean accountAlreadyExists(String accName) {
+        return this.getAccount(accName) != null;
+    }
+
+    /**
+     * Gets an account.
+     * @param accName The name of the account.
+     * @return the account, or null if it does not exist in this version.
+     */
+    public AccountSnapshot getAccount(String accName) {
+        return this.accountBuckets[accountBucketOf(accName)].get(accName);
+    }
+
+    /**
+     * Gets the accounts sorted by alphabetical order.
+     * @return a sorted list of the accounts.
+     */
+    public ArrayList<AccountSnapshot> getSortedAccounts() {
+        ArrayList<AccountSnapshot> sortedList = new ArrayList<>();
+        for (int i = 0; i < BUCKETS; i++) {
+            sortedList.addAll(this.accountBuckets[i].values());
+        }
+        sortedList.sort(Comparator.comparing(AccountSnapshot::getName));
+        return sortedList;
+    }
+
+    /**
+     * Gets the events of an account, in the account's order.
+     * @param accName The name of the account.
+     * @return the events of the account, empty if the account does not exist.
+     */
+    public ArrayList<EventSnapshot> getAccountEvents(String accName) {
+        ArrayList<EventSnapshot> eventsList = new ArrayList<>();
+        AccountSnapshot acc = this.getAccount(accName);
+        if (acc == null) {
+            return eventsList;
+        }
+        for (int i = 0; i < acc.getEventCount(); i++) {
+            EventSnapshot event = this.getEvent(acc.getEventKey(i));
+            if (event != null) {
+                eventsList.add(event);
+            }
+        }
+        return eventsList;
+    }
+
+    /**
+     * Gets an event promoted by an account.
+     * @param promoterName The name of the promoter.
+     * @param eventName The name of the event.
+     * @return the event, or null if the promoter has no such event in this version.
+     */
+    public EventSnapshot getEventByName(String promoterName, String eventName) {
+        AccountSnapshot acc = this.getAccount(promoterName);
+        if (acc == null) {
+            return null;
+        }
+        for (int i = 0; i < acc.getEventCount(); i++) {
+            EventSnapshot event = this.getEvent(acc.getEventKey(i));
+            if (event != null && event.getName().equals(eventName) && event.isPromoter(promoterName)) {
+                return event;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the events that have at least one of the given topics, sorted by {@link EventComparator}.
+     * @param topics The list of topics.
+     * @return the sorted list of events.
+     */
+    public ArrayList<EventSnapshot> getEventsWithTopics(ArrayList<String> topics) {
+        ArrayList<EventSnapshot> eventsList = new ArrayList<>();
+        for (int i = 0; i < BUCKETS; i++) {
+            for (EventSnapshot event : this.eventBuckets[i].values()) {
+                if (event.getPromoterName() != null && event.countMatchingTopics(topics) > 0) {
+                    eventsList.add(event);
+                }
+            }
+        }
+        eventsList.sort(new EventComparator(topics));
+        return eventsList;
+    }
+
+    /**
+     * Gets the state of an event in this version.
+     * @param source The live event.
+     * @return the snapshot of the event, or null if it is not published.
+     */
+    private EventSnapshot getEvent(Event source) {
+        return this.eventBuckets[eventBucketOf(source)].get(source);
+    }
+
+    /**
+     * Gets the bucket of an account.
+     * @param accName The name of the account.
+     * @return the index of the bucket.
+     */
+    private static int accountBucketOf(String accName) {
+        return Math.floorMod(accName.hashCode(), BUCKETS);
+    }
+
+    /**
+     * Gets the bucket of an event.
+     * @param source The live event.
+     * @return the index of the bucket.
+     */
+    private static int eventBucketOf(Event source) {
+        return Math.floorMod(System.identityHashCode(source), BUCKETS);
+    }
+}
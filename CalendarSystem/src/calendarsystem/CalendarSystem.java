@@ -2,17 +2,39 @@ package calendarsystem;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 
 public class CalendarSystem implements CalendarSystemInterface {
 
+    // The number of topic queries kept in the cache.
+    private static final int TOPIC_CACHE_SIZE = 64;
+
     // The accounts that exist in the system.
     Accounts accounts;
 
+    // The cached results of the topic queries.
+    protected TopicQueryCache topicCache;
+
+    // The named groups of accounts.
+    protected AccountGroups groups;
+
     /**
      * Initializes the constructor with new accounts.
      */
     public CalendarSystem() {
-        this.accounts = new Accounts();
+        this(new Accounts());
+    }
+
+    /**
+     * Initializes the constructor with the given accounts.
+     * @param accounts The empty collection of accounts.
+     */
+    protected CalendarSystem(Accounts accounts) {
+        this.accounts = accounts;
+        this.topicCache = new TopicQueryCache(TOPIC_CACHE_SIZE);
+        this.groups = new AccountGroups();
     }
 
     /**
@@ -33,6 +55,85 @@ public class CalendarSystem implements CalendarSystemInterface {
         accounts.addAccount(accName, accType);
     }
 
+    /**
+     * This method removes an account from the system, cascading over its own events only.
+     * The events of the account are its reverse index: the events it promotes are cancelled for their invitees,
+     * and the events it was invited to drop it from their invitation lists. No other account is visited,
+     * so the cost follows the number of events of the account and the size of their invitation lists.
+     * @param accName The name of the account.
+     * @return what the cascade changed.
+     */
+    public UnregisterResult unregisterAccount(String accName) {
+        AccountInterface acc = this.getAccountByName(accName);
+        UnregisterResult result = new UnregisterResult(accName);
+        Iterator<Event> itEvents = acc.getAllAccountEvents().iterator();
+        while (itEvents.hasNext()) {
+            Event event = itEvents.next();
+            if (event.isPromoter(accName)) {
+                this.promoterRemoveEvent(accName, event);
+                ArrayList<String> inviteeNames = event.getAllInvitedNames();
+                inviteeNames.remove(accName);
+                result.addCancelled(inviteeNames.size());
+            } else {
+                event.removeInvitedAccount(accName);
+                result.addLeft();
+            }
+        }
+        this.accounts.removeAccount(accName);
+        this.groups.removeAccount(accName);
+        return result;
+    }
+
+    /**
+     * This method checks if a group already exists.
+     * @param groupName The name of the group.
+     * @return true if the group already exists, false otherwise.
+     */
+    public boolean groupAlreadyExists(String groupName) {
+        return this.groups.groupExists(groupName);
+    }
+
+    /**
+     * This method adds an empty group to the system.
+     * @param groupName The name of the group.
+     */
+    public void addGroup(String groupName) {
+        this.groups.addGroup(groupName);
+    }
+
+    /**
+     * This method adds an account to a group.
+     * @param groupName The name of the group.
+     * @param accName The name of the account.
+     * @return true if the account was added, false if it was already a member.
+     */
+    public boolean addGroupMember(String groupName, String accName) {
+        return this.groups.addMember(groupName, accName);
+    }
+
+    /**
+     * This method gets the number of members of a group.
+     * @param groupName The name of the group.
+     * @return the number of members.
+     */
+    public int getGroupSize(String groupName) {
+        return this.groups.getMemberCount(groupName);
+    }
+
+    /**
+     * This method invites every member of a group to an event, as one batch of {@link #inviteMany}:
+     * the promoter, the event and its priority are looked up once, and each member is checked
+     * against the hours taken by its events. Whether a member is already invited is a lookup by
+     * name in its events and in the hashed lists of the event, so the batch grows linearly with the group.
+     * @param promoterName The name of the account that promotes the event.
+     * @param eventName The name of the event.
+     * @param groupName The name of the group.
+     * @return the outcome of each invitation, in the order the members first joined a group.
+     */
+    public ArrayList<InviteResult> inviteGroup(String promoterName, String eventName, String groupName) {
+        return this.inviteMany(promoterName, eventName, this.groups.getMemberNames(groupName));
+    }
+
     /**
      * This method gets a list of the accounts sorted by alphabetical order.
      * @return a sorted list of the accounts by alphabetical order.
@@ -59,9 +160,28 @@ public class CalendarSystem implements CalendarSystemInterface {
      * @param topics The topics of the event.
      */
     public void addEvent(String accName, String pType, String eventName, LocalDateTime ldt, String[] topics) {
+        this.addRecurringEvent(accName, pType, eventName, ldt, 1, topics, null);
+    }
+
+    /**
+     * This method adds an event that may take several hours and repeat from its date to the system.
+     * The event is stored once, with one invitation list for all its occurrences.
+     * @param accName The name of the account that promotes the event.
+     * @param pType The priority type of the event.
+     * @param eventName The name of the event.
+     * @param ldt The date of the first occurrence.
+     * @param hours The number of hours the event takes.
+     * @param topics The topics of the event.
+     * @param recurrence The rule that repeats the event, or null if it occurs once.
+     */
+    public void addRecurringEvent(String accName, String pType, String eventName, LocalDateTime ldt, int hours, String[] topics, Recurrence recurrence) {
+        JfrAddEvent record = new JfrAddEvent();
+        record.begin();
         AccountInterface acc = this.getAccountByName(accName);
-        Event event = new Event(eventName, pType, ldt, topics);
+        Event event = new Event(eventName, pType, ldt, hours, topics, recurrence);
         acc.addPromoteEvent(event);
+        this.topicCache.invalidate(event.getTopics());
+        record.finish(acc, event);
     }
 
     /**
@@ -106,6 +226,27 @@ public class CalendarSystem implements CalendarSystemInterface {
         return acc.hasEventOnDate(ldt);
     }
 
+    /**
+     * This method checks if the account has an event during the hours an event would take,
+     * on any occurrence of its rule, one occurrence at a time.
+     * @param accName The name of the account.
+     * @param ldt The date of the event, or of its first occurrence.
+     * @param hours The number of hours the event would take.
+     * @param recurrence The rule that would repeat the event, or null if it would occur once.
+     * @return true if the account has an event during one of the occurrences, false otherwise.
+     */
+    public boolean hasEventDuring(String accName, LocalDateTime ldt, int hours, Recurrence recurrence) {
+        AccountInterface acc = this.getAccountByName(accName);
+        int count = recurrence == null ? 1 : recurrence.getCount();
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = recurrence == null ? ldt : recurrence.getOccurrence(ldt, i);
+            if (acc.hasEventDuring(start, start.plusHours(hours))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * This method gets all the events that exist in that account.
      * @param accName The name of the account.
@@ -116,6 +257,17 @@ public class CalendarSystem implements CalendarSystemInterface {
         return acc.getAllAccountEvents();
     }
 
+    /**
+     * This method gets the status lines of all the events that exist in that account.
+     * The lines are kept by the events and only built again after a change.
+     * @param accName The name of the account.
+     * @return a list of the status lines, in the same order as {@link #getAccountEvents(String)}.
+     */
+    public ArrayList<String> getAccountStatusLines(String accName) {
+        AccountInterface acc = this.getAccountByName(accName);
+        return acc.getAllEventStatusLines();
+    }
+
     /**
      * This method gets the event with the given name.
      * @param promoterName The promoter of the event.
@@ -185,10 +337,43 @@ public class CalendarSystem implements CalendarSystemInterface {
      * @param event The event to be removed.
      */
     public void promoterRemoveEvent(String promoterName, Event event) {
-        this.accounts.removeEventFromInvitees(event);
+        JfrRemoveEvent record = new JfrRemoveEvent();
+        record.begin();
+        ArrayList<String> inviteeNames = event.getAllInvitedNames();
+        this.accounts.removeEventFromAccounts(event, inviteeNames);
         event.setPromoterName(null);
         AccountInterface accPromoter = this.getAccountByName(promoterName);
-        accPromoter.removeEvent(event.getName());
+        accPromoter.removeEvent(event);
+        this.topicCache.invalidate(event.getTopics());
+        record.finish(promoterName, event, inviteeNames);
+    }
+
+    /**
+     * This method cancels an event, removing it from the promoter's account and from the accounts of its invitees.
+     * Only the invitees of the event are visited, whatever the number of accounts in the system.
+     * @param promoterName The name of the account that promotes the event.
+     * @param eventName The name of the event.
+     * @return the number of accounts the event was removed from, the promoter included, or 0 if there is no such event.
+     */
+    public int cancelEvent(String promoterName, String eventName) {
+        Event event = this.getEventByName(promoterName, eventName);
+        if (event == null) {
+            return 0;
+        }
+        this.promoterRemoveEvent(promoterName, event);
+        return event.getAllInvitedNames().size();
+    }
+
+    /**
+     * This method skips an occurrence of a recurring event, which frees that date for the promoter and the invitees.
+     * @param promoterName The name of the account that promotes the event.
+     * @param eventName The name of the event.
+     * @param ldt The date of the occurrence.
+     * @return true if the occurrence was skipped, false if the event does not repeat or does not occur on that date.
+     */
+    public boolean skipOccurrence(String promoterName, String eventName, LocalDateTime ldt) {
+        Event event = this.getEventByName(promoterName, eventName);
+        return event.skipOccurrence(ldt);
     }
 
     /**
@@ -211,7 +396,8 @@ public class CalendarSystem implements CalendarSystemInterface {
      */
     public boolean hasInviteeAccountEventOnDate(String inviteeName, String promoterName, String eventName) {
         Event event = this.getEventByName(promoterName, eventName);
-        return this.hasEventOnDate(inviteeName, event.getDate());
+        AccountInterface acc = this.getAccountByName(inviteeName);
+        return acc.hasEventOverlapping(event);
     }
 
     /**
@@ -394,16 +580,48 @@ public class CalendarSystem implements CalendarSystemInterface {
      * @return true if at least one event has at least one of the given topics.
      */
     public boolean hasEventsWithTopic(ArrayList<String> topics) {
+        int cachedSize = this.topicCache.peekSize(topics);
+        if (cachedSize >= 0) {
+            return cachedSize > 0;
+        }
         return this.accounts.hasEventWithTopic(topics);
     }
 
     /**
      * This method gets a list that contains all the events that have at least one of the given topics.
      * @param topics A list of topics to be checked.
+     * The result is served from the topic query cache when the same topics were queried before.
      * @return a list that contains all the events that have at least one of the given topics.
      */
     public ArrayList<Event> getEventsWithTopics(ArrayList<String> topics) {
-        return this.accounts.getEventsWithTopics(topics);
+        JfrTopicQuery record = new JfrTopicQuery();
+        record.begin();
+        ArrayList<Event> eventsList = this.topicCache.get(topics);
+        if (eventsList != null) {
+            record.finish(topics, true, 0, eventsList);
+            return eventsList;
+        }
+        eventsList = this.accounts.getEventsWithTopics(topics);
+        this.topicCache.put(topics, eventsList);
+        record.finish(topics, false, this.accounts.getAccountCount(), eventsList);
+        return eventsList;
+    }
+
+    /**
+     * This method estimates the heap retained by the accounts and the events, by structure.
+     * @param top The number of heaviest accounts and events to report.
+     * @return the report of the estimated sizes.
+     */
+    public MemoryReport estimateMemory(int top) {
+        return new MemoryEstimator(this).estimate(top);
+    }
+
+    /**
+     * This method gets the cache of the topic queries, with its hit, miss and eviction counters.
+     * @return the topic query cache.
+     */
+    public TopicQueryCache getTopicCache() {
+        return this.topicCache;
     }
 
     /**
@@ -430,5 +648,302 @@ public class CalendarSystem implements CalendarSystemInterface {
         AccountInterface acc = this.getAccountByName(inviteeName);
         return acc.hasHighEventOnDate(event);
     }
-}
 
+    /**
+     * This method invites an account to an event and applies the whole cascade as one transaction.
+     * A staff account invited to a high priority event accepts it at once: the conflicting events it
+     * promotes are removed and the other conflicting events are rejected. If any step fails, every
+     * change already made is rolled back before the exception is thrown.
+     * @param inviteeName The name of the account that is invited.
+     * @param promoterName The name of the account that promotes the event.
+     * @param eventName The name of the event.
+     * @return the outcome of the invitation, with the conflicting events in the order they were handled.
+     */
+    public InviteResult invite(String inviteeName, String promoterName, String eventName) {
+        InviteOutcome outcome = this.checkInvite(inviteeName, promoterName, eventName);
+        InviteResult result = new InviteResult(inviteeName, outcome);
+        if (outcome.isSuccess()) {
+            Event event = this.getAccountByName(promoterName).getPromoteEventByName(eventName);
+            this.applyInvite(result, this.getAccountByName(inviteeName), event);
+        }
+        return result;
+    }
+
+    /**
+     * This method invites several accounts to the same event, with the same outcome for each of them as
+     * inviting them one by one in the given order. The promoter, the event and its date are looked up once,
+     * and then every invitee is checked and invited in one pass. The work for each invitee depends on its
+     * own events, not on the number of accounts already invited. Each invitation is its own transaction:
+     * if one fails, its changes are rolled back and the exception is thrown, keeping the earlier ones.
+     * @param promoterName The name of the account that promotes the event.
+     * @param eventName The name of the event.
+     * @param inviteeNames The names of the accounts that are invited.
+     * @return the outcome of each invitation, in the order of the invitees.
+     */
+    public ArrayList<InviteResult> inviteMany(String promoterName, String eventName, String... inviteeNames) {
+        ArrayList<InviteResult> results = new ArrayList<>(inviteeNames.length);
+        AccountInterface accPromoter = this.getAccountByName(promoterName);
+        Event event = accPromoter == null ? null : accPromoter.getPromoteEventByName(eventName);
+        boolean highEvent = event != null && event.isHighEvent();
+
+        for (int i = 0; i < inviteeNames.length; i++) {
+            String inviteeName = inviteeNames[i];
+            AccountInterface accInvitee = accPromoter == null ? null : this.getAccountByName(inviteeName);
+            InviteOutcome outcome;
+            if (accPromoter == null) {
+                outcome = InviteOutcome.UNKNOWN_PROMOTER;
+            } else if (accInvitee == null) {
+                outcome = InviteOutcome.UNKNOWN_INVITEE;
+            } else if (event == null) {
+                outcome = InviteOutcome.UNKNOWN_EVENT;
+            } else if (accInvitee.hasAlreadyBeenInvited(eventName)) {
+                outcome = InviteOutcome.ALREADY_INVITED;
+            } else if (highEvent && AccountType.isStaff(accInvitee.getType())) {
+                outcome = accInvitee.hasHighEventOnDate(event) ? InviteOutcome.ALREADY_ATTENDING : InviteOutcome.ACCEPTED;
+            } else {
+                outcome = accInvitee.hasEventOverlapping(event) ? InviteOutcome.ALREADY_ATTENDING : InviteOutcome.INVITED;
+            }
+
+            InviteResult result = new InviteResult(inviteeName, outcome);
+            if (outcome.isSuccess()) {
+                this.applyInvite(result, accInvitee, event);
+            }
+            results.add(result);
+        }
+        return results;
+    }
+
+    /**
+     * This method applies a checked invitation as one transaction. An accepted invitation first removes
+     * the conflicting events promoted by the invitee and rejects the other conflicting events.
+     * If any step fails, every change already made is rolled back before the exception is thrown.
+     * @param result The result of the invitation, that receives the conflicting events.
+     * @param accInvitee The account that is invited.
+     * @param event The event.
+     */
+    private void applyInvite(InviteResult result, AccountInterface accInvitee, Event event) {
+        JfrInvite record = new JfrInvite();
+        record.begin();
+        String inviteeName = accInvitee.getName();
+        CalendarTransaction transaction = new CalendarTransaction();
+        try {
+            if (result.getOutcome() == InviteOutcome.ACCEPTED) {
+                Iterator<Event> itEvents = accInvitee.getConflictEventsListByDate(event).iterator();
+                while (itEvents.hasNext()) {
+                    Event conflict = itEvents.next();
+                    result.addConflict(conflict, conflict.getPromoterName());
+                    if (conflict.isPromoter(inviteeName)) {
+                        ArrayList<AccountInterface> holders = new ArrayList<>();
+                        holders.add(accInvitee);
+                        Iterator<String> itNames = conflict.getAllInvitedNames().iterator();
+                        while (itNames.hasNext()) {
+                            holders.add(this.getAccountByName(itNames.next()));
+                        }
+                        transaction.removingEvent(conflict, holders);
+                        this.promoterRemoveEvent(inviteeName, conflict);
+                    } else {
+                        transaction.addRejectedAccount(conflict, inviteeName);
+                    }
+                }
+            }
+
+            transaction.addInvitedAccount(event, inviteeName);
+            if (result.getOutcome() == InviteOutcome.ACCEPTED) {
+                transaction.addAcceptedAccount(event, inviteeName);
+            }
+            transaction.addInviteeEvent(accInvitee, event);
+        } catch (RuntimeException e) {
+            transaction.rollback();
+            throw e;
+        }
+        record.finish(result, accInvitee, event);
+    }
+
+    /**
+     * This method answers an invitation, with the same checks and cascade as the command "response".
+     * @param inviteeName The name of the invited account.
+     * @param promoterName The name of the account that promotes the event.
+     * @param eventName The name of the event.
+     * @param response The response, accept or reject.
+     * @return the outcome of the response, with the invitations it rejected.
+     */
+    public ResponseResult respond(String inviteeName, String promoterName, String eventName, String response) {
+        ArrayList<ResponseRequest> requests = new ArrayList<>();
+        requests.add(new ResponseRequest(inviteeName, promoterName, eventName, response));
+        return this.respondAll(requests).get(0);
+    }
+
+    /**
+     * This method answers many invitations in one pass, with the same outcome for each of them as
+     * answering them one by one in the given order. Each account and each event is looked up once for
+     * the whole batch, however many responses refer to it. The invitation of each response is found once
+     * by its name in the events of its invitee, and whether it is answered is read from the hashed lists of
+     * that event, so the work for each response depends neither on the number of events of its invitee nor
+     * on the number of invitees. Accepting an invitation
+     * rejects the other invitations of the account on the same date, so a later response of that account
+     * to one of them is already answered and never runs the cascade again. Each response is its own
+     * transaction: if one fails, its changes are rolled back and the exception is thrown, keeping the
+     * earlier ones.
+     * @param requests The responses, in order.
+     * @return the outcome of each response, in the same order.
+     */
+    public ArrayList<ResponseResult> respondAll(List<ResponseRequest> requests) {
+        ArrayList<ResponseResult> results = new ArrayList<>(requests.size());
+        HashMap<String, AccountInterface> accountsByName = new HashMap<>();
+        HashMap<String, HashMap<String, Event>> eventsByPromoter = new HashMap<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            ResponseRequest request = requests.get(i);
+            String inviteeName = request.getInviteeName();
+            String eventName = request.getEventName();
+            AccountInterface accPromoter = accountsByName.computeIfAbsent(request.getPromoterName(), this::getAccountByName);
+            AccountInterface accInvitee = accountsByName.computeIfAbsent(inviteeName, this::getAccountByName);
+            Event event = null;
+            if (accPromoter != null) {
+                event = eventsByPromoter.computeIfAbsent(accPromoter.getName(), name -> new HashMap<>())
+                        .computeIfAbsent(eventName, accPromoter::getPromoteEventByName);
+            }
+            Event invitation = null;
+            if (accInvitee != null && event != null) {
+                invitation = accInvitee.getAccountEvents().getLastInvitedEvent(inviteeName, eventName);
+            }
+
+            ResponseOutcome outcome;
+            if (accPromoter == null) {
+                outcome = ResponseOutcome.UNKNOWN_PROMOTER;
+            } else if (accInvitee == null) {
+                outcome = ResponseOutcome.UNKNOWN_INVITEE;
+            } else if (!EventResponse.isResponseValid(request.getResponse())) {
+                outcome = ResponseOutcome.UNKNOWN_RESPONSE;
+            } else if (event == null) {
+                outcome = ResponseOutcome.UNKNOWN_EVENT;
+            } else if (invitation == null) {
+                outcome = ResponseOutcome.NOT_INVITED;
+            } else if (invitation.isEventAccepted(inviteeName) || invitation.isEventRejected(inviteeName)) {
+                outcome = ResponseOutcome.ALREADY_RESPONDED;
+            } else if (this.responseIsAccepted(request.getResponse())) {
+                outcome = ResponseOutcome.ACCEPTED;
+            } else {
+                outcome = ResponseOutcome.REJECTED;
+            }
+
+            ResponseResult result = new ResponseResult(request, outcome);
+            if (outcome.isSuccess()) {
+                this.applyResponse(result, accInvitee, event);
+            }
+            results.add(result);
+        }
+        return results;
+    }
+
+    /**
+     * This method applies a checked response as one transaction. An accepted invitation first rejects
+     * the other invitations of the account on the same date.
+     * @param result The result of the response, that receives the rejected invitations.
+     * @param accInvitee The invited account.
+     * @param event The event.
+     */
+    private void applyResponse(ResponseResult result, AccountInterface accInvitee, Event event) {
+        String inviteeName = accInvitee.getName();
+        CalendarTransaction transaction = new CalendarTransaction();
+        try {
+            transaction.addInvitedAccount(event, inviteeName);
+            if (result.getOutcome() == ResponseOutcome.ACCEPTED) {
+                Iterator<Event> itEvents = accInvitee.getInviteeEventsListByDate(event).iterator();
+                while (itEvents.hasNext()) {
+                    Event conflict = itEvents.next();
+                    transaction.addRejectedAccount(conflict, inviteeName);
+                    result.addRejectedEvent(conflict);
+                }
+                transaction.addAcceptedAccount(event, inviteeName);
+            } else {
+                transaction.addRejectedAccount(event, inviteeName);
+            }
+            transaction.addInviteeEvent(accInvitee, event);
+        } catch (RuntimeException e) {
+            transaction.rollback();
+            throw e;
+        }
+    }
+
+    /**
+     * This method checks an invitation without changing the calendar.
+     * @param inviteeName The name of the account that is invited.
+     * @param promoterName The name of the account that promotes the event.
+     * @param eventName The name of the event.
+     * @return the outcome the invitation would have.
+     */
+    protected InviteOutcome checkInvite(String inviteeName, String promoterName, String eventName) {
+        if (!this.accountAlreadyExists(promoterName)) {
+            return InviteOutcome.UNKNOWN_PROMOTER;
+        }
+        if (!this.accountAlreadyExists(inviteeName)) {
+            return InviteOutcome.UNKNOWN_INVITEE;
+        }
+        if (!this.isValidEvent(promoterName, eventName)) {
+            return InviteOutcome.UNKNOWN_EVENT;
+        }
+        if (this.hasAlreadyBeenInvited(inviteeName, eventName)) {
+            return InviteOutcome.ALREADY_INVITED;
+        }
+        if (this.isStaffAccount(inviteeName) && this.isPromoterHighEvent(promoterName, eventName)) {
+            if (this.hasInviteeAccountHighEventOnDate(inviteeName, promoterName, eventName)) {
+                return InviteOutcome.ALREADY_ATTENDING;
+            }
+            return InviteOutcome.ACCEPTED;
+        }
+        if (this.hasInviteeAccountEventOnDate(inviteeName, promoterName, eventName)) {
+            return InviteOutcome.ALREADY_ATTENDING;
+        }
+        return InviteOutcome.INVITED;
+    }
+
+    /**
+     * This method gets the accounts that invitations to an event may change: the promoter, the invitees
+     * and the invitees of the conflicting events promoted by each invitee, which are removed if it accepts.
+     * Earlier invitations of the same batch can only shrink the footprint of the later ones.
+     * @param promoterName The name of the account that promotes the event.
+     * @param eventName The name of the event.
+     * @param inviteeNames The names of the accounts that are invited.
+     * @return the names of the accounts, possibly with duplicates.
+     */
+    protected String[] getInviteFootprint(String promoterName, String eventName, String... inviteeNames) {
+        ArrayList<String> accNames = new ArrayList<>();
+        accNames.add(promoterName);
+        for (int i = 0; i < inviteeNames.length; i++) {
+            String inviteeName = inviteeNames[i];
+            accNames.add(inviteeName);
+            if (this.checkInvite(inviteeName, promoterName, eventName) == InviteOutcome.ACCEPTED) {
+                Iterator<Event> itEvents = this.getInviteeConflictEvents(inviteeName, promoterName, eventName).iterator();
+                while (itEvents.hasNext()) {
+                    Event conflict = itEvents.next();
+                    if (conflict.isPromoter(inviteeName)) {
+                        accNames.addAll(conflict.getAllInvitedNames());
+                    }
+                }
+            }
+        }
+        return accNames.toArray(new String[accNames.size()]);
+    }
+
+    /**
+     * This method gets the accounts that unregistering an account changes: the account, the invitees
+     * of the events it promotes and the promoters of the events it was invited to.
+     * @param accName The name of the account.
+     * @return the names of the accounts, possibly with duplicates.
+     */
+    protected String[] getUnregisterFootprint(String accName) {
+        ArrayList<String> accNames = new ArrayList<>();
+        accNames.add(accName);
+        Iterator<Event> itEvents = this.getAccountByName(accName).getAllAccountEvents().iterator();
+        while (itEvents.hasNext()) {
+            Event event = itEvents.next();
+            if (event.isPromoter(accName)) {
+                accNames.addAll(event.getAllInvitedNames());
+            } else {
+                accNames.add(event.getPromoterName());
+            }
+        }
+        return accNames.toArray(new String[accNames.size()]);
+    }
+}
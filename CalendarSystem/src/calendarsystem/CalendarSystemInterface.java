@@ -2,24 +2,36 @@ package calendarsystem;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
 
 public interface CalendarSystemInterface {
     boolean accountAlreadyExists(String accName);
     void addAccount(String accName, String accType);
+    UnregisterResult unregisterAccount(String accName);
+    boolean groupAlreadyExists(String groupName);
+    void addGroup(String groupName);
+    boolean addGroupMember(String groupName, String accName);
+    int getGroupSize(String groupName);
+    ArrayList<InviteResult> inviteGroup(String promoterName, String eventName, String groupName);
     ArrayList<AccountInterface> getSortedList();
     AccountInterface getAccountByName(String accName);
     void addEvent(String accName, String pType, String eventName, LocalDateTime ldt, String[] topics);
+    void addRecurringEvent(String accName, String pType, String eventName, LocalDateTime ldt, int hours, String[] topics, Recurrence recurrence);
     boolean eventAlreadyExists(String accName, String eventName);
     boolean isGuestAccount(String accName);
     boolean isStaffAccount(String accName);
     boolean hasEventOnDate(String accName, LocalDateTime ldt);
+    boolean hasEventDuring(String accName, LocalDateTime ldt, int hours, Recurrence recurrence);
     ArrayList<Event> getAccountEvents(String accName);
+    ArrayList<String> getAccountStatusLines(String accName);
     Event getEventByName(String promoterName, String eventName);
     boolean isValidEvent(String promoterName, String eventName);
     boolean isPromoterHighEvent(String promoterName, String eventName);
     void inviteeAcceptEvent(String promoterName, String inviteeName, String eventName);
     void inviteeRejectEvent(String promoterName, String inviteeName, String eventName);
     void promoterRemoveEvent(String promoterName, Event event);
+    int cancelEvent(String promoterName, String eventName);
+    boolean skipOccurrence(String promoterName, String eventName, LocalDateTime ldt);
     boolean hasAlreadyBeenInvited(String inviteeName, String eventName);
     boolean hasInviteeAccountEventOnDate(String inviteeName, String promoterName, String eventName);
     ArrayList<Event> getInviteeConflictEvents(String inviteeName, String promoterName, String eventName);
@@ -39,6 +51,11 @@ public interface CalendarSystemInterface {
     boolean isEventRejected(String inviteeName, String eventName, String promoterName);
     boolean hasEventsWithTopic(ArrayList<String> topics);
     ArrayList<Event> getEventsWithTopics(ArrayList<String> topics);
+    MemoryReport estimateMemory(int top);
     ArrayList<Event> getInvitedAccountEventsOnDate(String accName, String eventName);
     boolean hasInviteeAccountHighEventOnDate(String inviteeName, String promoterName, String eventName);
+    InviteResult invite(String inviteeName, String promoterName, String eventName);
+    ArrayList<InviteResult> inviteMany(String promoterName, String eventName, String... inviteeNames);
+    ResponseResult respond(String inviteeName, String promoterName, String eventName, String response);
+    ArrayList<ResponseResult> respondAll(List<ResponseRequest> requests);
 }
@@ -0,0 +1,124 @@
+package calendarsystem;
+
+import java.util.ArrayList;
+
+/**
+ * An undo log for a group of changes that must be applied all together or not at all.
+ * Each change is made through the transaction, which logs the change that takes it back, so the
+ * log grows with the number of changes and not with the size of the accounts and events they touch.
+ * A rollback takes every change back in reverse order. It restores the promoters, the invitation
+ * lists and the events held by each account, but an answer or an event that is given back goes
+ * to the end of its list.
+ */
+class CalendarTransaction {
+
+    // The actions that take the changes back, in the order the changes were made.
+    private ArrayList<Runnable> undo;
+
+    /**
+     * Initializes an empty transaction.
+     */
+    CalendarTransaction() {
+        this.undo = new ArrayList<>();
+    }
+
+    /**
+     * Adds an account to the invited list of an event.
+     * @param event The event.
+     * @param accName The name of the account.
+     */
+    void addInvitedAccount(Event event, String accName) {
+        if (!event.isAccountInvited(accName)) {
+            this.undo.add(() -> event.removeInvitedAccount(accName));
+        }
+        event.addInvitedAccount(accName);
+    }
+
+    /**
+     * Adds an account to the accepted list of an event.
+     * @param event The event.
+     * @param accName The name of the account.
+     */
+    void addAcceptedAccount(Event event, String accName) {
+        if (!event.isEventAccepted(accName)) {
+            this.logAnswer(event, accName);
+        }
+        event.addAcceptedAccount(accName);
+    }
+
+    /**
+     * Adds an account to the rejected list of an event.
+     * @param event The event.
+     * @param accName The name of the account.
+     */
+    void addRejectedAccount(Event event, String accName) {
+        if (!event.isEventRejected(accName)) {
+            this.logAnswer(event, accName);
+        }
+        event.addRejectedAccount(accName);
+    }
+
+    /**
+     * Adds an event where an account is invited to the events of the account.
+     * @param acc The account.
+     * @param event The event.
+     */
+    void addInviteeEvent(AccountInterface acc, Event event) {
+        Events accEvents = acc.getAccountEvents();
+        boolean held = accEvents.holdsEvent(event);
+        Event mapped = accEvents.getEventByName(event.getName());
+        acc.addInviteeEvent(event);
+        if (!held || mapped != event) {
+            this.undo.add(() -> {
+                if (!held) {
+                    accEvents.removeEvent(event);
+                }
+                accEvents.mapEvent(event.getName(), mapped);
+            });
+        }
+    }
+
+    /**
+     * Logs how to give an event back to its promoter and to the accounts that hold it,
+     * before the event is removed from them.
+     * @param event The event that is about to be removed.
+     * @param accounts The accounts the event is removed from, with null for the ones that do not exist.
+     */
+    void removingEvent(Event event, ArrayList<AccountInterface> accounts) {
+        for (int i = 0; i < accounts.size(); i++) {
+            AccountInterface acc = accounts.get(i);
+            if (acc != null && acc.getAccountEvents().holdsEvent(event)) {
+                Events accEvents = acc.getAccountEvents();
+                boolean mapped = accEvents.isInMap(event);
+                this.undo.add(() -> accEvents.restoreEvent(event, mapped));
+            }
+        }
+        String promoterName = event.getPromoterName();
+        this.undo.add(() -> event.setPromoterName(promoterName));
+    }
+
+    /**
+     * Takes every change back, in reverse order.
+     */
+    void rollback() {
+        for (int i = this.undo.size() - 1; i >= 0; i--) {
+            this.undo.get(i).run();
+        }
+        this.undo.clear();
+    }
+
+    /**
+     * Logs how to give back the current answer of an account to an event, before it changes.
+     * @param event The event.
+     * @param accName The name of the account.
+     */
+    private void logAnswer(Event event, String accName) {
+        if (event.isEventAccepted(accName)) {
+            this.undo.add(() -> event.addAcceptedAccount(accName));
+        } else if (event.isEventRejected(accName)) {
+            this.undo.add(() -> event.addRejectedAccount(accName));
+        } else {
+            this.undo.add(() -> event.clearAnswer(accName));
+        }
+    }
+}
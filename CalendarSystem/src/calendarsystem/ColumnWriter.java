@@ -0,0 +1,120 @@
+package calendarsystem;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Base class of the writers of a single column file of a columnar export.
+ * A column file starts with a magic string and the encoding, followed by the encoded data block,
+ * an optional dictionary block and a footer with the dictionary offset and the number of rows.
+ */
+public abstract class ColumnWriter implements Closeable {
+
+    // The magic string written at the start of every column file.
+    private static final String MAGIC = "CSCOL1";
+
+    // The encoding identifier of dictionary-encoded columns.
+    protected static final int DICTIONARY_ENCODING = 1;
+
+    // The encoding identifier of run-length-encoded columns.
+    protected static final int RUN_LENGTH_ENCODING = 2;
+
+    // The stream of the column file.
+    private DataOutputStream out;
+
+    // The number of bytes written to the column file.
+    private long written;
+
+    // The number of rows written to the column.
+    private long rows;
+
+    /**
+     * Opens a column file and writes its header.
+     * @param file The path of the column file.
+     * @param encoding The encoding identifier of the column.
+     * @throws IOException if the file cannot be written.
+     */
+    protected ColumnWriter(Path file, int encoding) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+        this.written = 0;
+        this.rows = 0;
+        for (int i = 0; i < MAGIC.length(); i++) {
+            this.writeByte(MAGIC.charAt(i));
+        }
+        this.writeByte(encoding);
+    }
+
+    /**
+     * Counts a row written to the column.
+     */
+    protected void addRow() {
+        this.rows++;
+    }
+
+    /**
+     * Gets the number of rows written to the column.
+     * @return the number of rows.
+     */
+    public long getRows() {
+        return this.rows;
+    }
+
+    /**
+     * Gets the number of bytes written to the column file so far.
+     * @return the number of bytes written.
+     */
+    protected long getWritten() {
+        return this.written;
+    }
+
+    /**
+     * Writes a single byte.
+     * @param b The byte to write.
+     * @throws IOException if the file cannot be written.
+     */
+    protected void writeByte(int b) throws IOException {
+        this.out.write(b);
+        this.written++;
+    }
+
+    /**
+     * Writes a non-negative number as a variable-length integer, 7 bits per byte.
+     * @param value The value to write.
+     * @throws IOException if the file cannot be written.
+     */
+    protected void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            this.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        this.writeByte((int) value);
+    }
+
+    /**
+     * Writes a string as its UTF-8 length followed by its UTF-8 bytes.
+     * @param value The string to write.
+     * @throws IOException if the file cannot be written.
+     */
+    protected void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        this.writeVarLong(bytes.length);
+        this.out.write(bytes);
+        this.written += bytes.length;
+    }
+
+    /**
+     * Writes the footer and closes the column file.
+     * @param dictionaryOffset The offset of the dictionary block, or -1 if the column has none.
+     * @throws IOException if the file cannot be written.
+     */
+    protected void finish(long dictionaryOffset) throws IOException {
+        this.out.writeLong(dictionaryOffset);
+        this.out.writeLong(this.rows);
+        this.out.close();
+    }
+}
@@ -0,0 +1,175 @@
+package calendarsystem;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Iterator;
+
+/**
+ * Exports the events and the invitation responses of the calendar system into a columnar layout.
+ * The directory gets an "events" table with one row per event and a "rsvps" table with one row
+ * per invited account of each event, and every column is a separate file written by a
+ * {@link DictionaryColumnWriter} or a {@link RunLengthColumnWriter}.
+ * The accounts are visited one at a time and each event is written as soon as it is found,
+ * so the export never holds more than the dictionaries of distinct values in memory.
+ */
+public class ColumnarExporter {
+
+    // The state of an invited account that accepted the invitation.
+    public static final String STATE_ACCEPTED = "accepted";
+
+    // The state of an invited account that rejected the invitation.
+    public static final String STATE_REJECTED = "rejected";
+
+    // The state of an invited account that did not answer yet.
+    public static final String STATE_UNANSWERED = "unanswered";
+
+    // The extension of the column files.
+    private static final String COLUMN_EXTENSION = ".col";
+
+    // The calendar system to export.
+    private CalendarSystemInterface calendar;
+
+    // The number of rows written to the events table by the last export.
+    private long eventRows;
+
+    // The number of rows written to the rsvps table by the last export.
+    private long rsvpRows;
+
+    /**
+     * Initializes an exporter.
+     * @param calendar The calendar system to export.
+     */
+    public ColumnarExporter(CalendarSystemInterface calendar) {
+        this.calendar = calendar;
+        this.eventRows = 0;
+        this.rsvpRows = 0;
+    }
+
+    /**
+     * Exports the calendar system into a directory, replacing the column files of a previous export.
+     * @param dir The directory where the tables are written.
+     * @throws IOException if the files cannot be written.
+     */
+    public void export(Path dir) throws IOException {
+        Path eventsDir = Files.createDirectories(dir.resolve("events"));
+        Path rsvpsDir = Files.createDirectories(dir.resolve("rsvps"));
+        ArrayList<ColumnWriter> columns = new ArrayList<>();
+
+        try {
+            DictionaryColumnWriter evPromoter = open(columns, new DictionaryColumnWriter(column(eventsDir, "promoter")));
+            DictionaryColumnWriter evName = open(columns, new DictionaryColumnWriter(column(eventsDir, "name")));
+            DictionaryColumnWriter evPriority = open(columns, new DictionaryColumnWriter(column(eventsDir, "priority")));
+            RunLengthColumnWriter evHour = open(columns, new RunLengthColumnWriter(column(eventsDir, "hour")));
+            DictionaryColumnWriter evTopics = open(columns, new DictionaryColumnWriter(column(eventsDir, "topics")));
+            RunLengthColumnWriter evInvited = open(columns, new RunLengthColumnWriter(column(eventsDir, "invited")));
+            RunLengthColumnWriter evAccepted = open(columns, new RunLengthColumnWriter(column(eventsDir, "accepted")));
+            RunLengthColumnWriter evRejected = open(columns, new RunLengthColumnWriter(column(eventsDir, "rejected")));
+            RunLengthColumnWriter evUnanswered = open(columns, new RunLengthColumnWriter(column(eventsDir, "unanswered")));
+            DictionaryColumnWriter rsPromoter = open(columns, new DictionaryColumnWriter(column(rsvpsDir, "promoter")));
+            DictionaryColumnWriter rsEvent = open(columns, new DictionaryColumnWriter(column(rsvpsDir, "event")));
+            DictionaryColumnWriter rsInvitee = open(columns, new DictionaryColumnWriter(column(rsvpsDir, "invitee")));
+            DictionaryColumnWriter rsState = open(columns, new DictionaryColumnWriter(column(rsvpsDir, "state")));
+
+            Iterator<AccountInterface> itAccounts = this.calendar.getSortedList().iterator();
+            while (itAccounts.hasNext()) {
+                AccountInterface acc = itAccounts.next();
+                Iterator<Event> itEvents = acc.getAllAccountEvents().iterator();
+                while (itEvents.hasNext()) {
+                    Event event = itEvents.next();
+                    // Each event is exported once, from the account that promotes it.
+                    if (!event.isPromoter(acc.getName())) {
+                        continue;
+                    }
+                    evPromoter.write(acc.getName());
+                    evName.write(event.getName());
+                    evPriority.write(event.getType());
+                    evHour.write(event.getDate().toEpochSecond(ZoneOffset.UTC) / 3600);
+                    evTopics.write(String.join(" ", event.getTopics()));
+                    evInvited.write(event.getInviteStatus());
+                    evAccepted.write(event.getAcceptedStatus());
+                    evRejected.write(event.getRejectedStatus());
+                    evUnanswered.write(event.getUnansweredStatus());
+
+                    Iterator<String> itInvitees = event.getAllInvitedNames().iterator();
+                    while (itInvitees.hasNext()) {
+                        String inviteeName = itInvitees.next();
+                        rsPromoter.write(acc.getName());
+                        rsEvent.write(event.getName());
+                        rsInvitee.write(inviteeName);
+                        rsState.write(getState(event, inviteeName));
+                    }
+                }
+            }
+            this.eventRows = evPromoter.getRows();
+            this.rsvpRows = rsPromoter.getRows();
+        } finally {
+            IOException failure = null;
+            for (int i = 0; i < columns.size(); i++) {
+                try {
+                    columns.get(i).close();
+                } catch (IOException e) {
+                    failure = failure == null ? e : failure;
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of rows written to the events table by the last export.
+     * @return the number of exported events.
+     */
+    public long getEventRows() {
+        return this.eventRows;
+    }
+
+    /**
+     * Gets the number of rows written to the rsvps table by the last export.
+     * @return the number of exported invitation responses.
+     */
+    public long getRsvpRows() {
+        return this.rsvpRows;
+    }
+
+    /**
+     * Gets the response state of an invited account.
+     * @param event The event.
+     * @param inviteeName The name of the invited account.
+     * @return the state of the invitation.
+     */
+    private static String getState(Event event, String inviteeName) {
+        if (event.isEventAccepted(inviteeName)) {
+            return STATE_ACCEPTED;
+        }
+        if (event.isEventRejected(inviteeName)) {
+            return STATE_REJECTED;
+        }
+        return STATE_UNANSWERED;
+    }
+
+    /**
+     * Gets the path of a column file.
+     * @param tableDir The directory of the table.
+     * @param name The name of the column.
+     * @return the path of the column file.
+     */
+    private static Path column(Path tableDir, String name) {
+        return tableDir.resolve(name + COLUMN_EXTENSION);
+    }
+
+    /**
+     * Registers an opened column so that it is closed at the end of the export.
+     * @param columns The opened columns.
+     * @param column The column that was opened.
+     * @return the column.
+     */
+    private static <T extends ColumnWriter> T open(ArrayList<ColumnWriter> columns, T column) {
+        columns.add(column);
+        return column;
+    }
+}
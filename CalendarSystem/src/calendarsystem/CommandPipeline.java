@@ -0,0 +1,240 @@
+package calendarsystem;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * An execution engine that applies every operation on the calendar system from one writer thread.
+ * Callers publish their operations into a preallocated ring of slots, and the writer runs them one at
+ * a time in the order of their sequence numbers and stores each result in the same slot, where the
+ * caller collects it. Operations never run concurrently, so a plain {@link CalendarSystem} can be used
+ * without locks, and the checks and cascade of a command such as "invite" always see the effects of
+ * every earlier command.
+ *
+ * Each slot goes through three phases for each sequence number s, recorded in its turn counter:
+ * free for s (3s), published (3s + 1) and done (3s + 2). Collecting the result frees the slot for
+ * s plus the capacity of the ring.
+ */
+public class CommandPipeline implements AutoCloseable {
+
+    // The phases of a slot.
+    private static final int FREE = 0;
+    private static final int PUBLISHED = 1;
+    private static final int DONE = 2;
+
+    // The number of busy checks of a wait before it starts yielding and then parking.
+    private static final int SPINS = 128;
+    private static final int YIELDS = 256;
+
+    // The calendar system changed by the writer.
+    private CalendarSystemInterface calendar;
+
+    // The preallocated slots.
+    private Slot[] slots;
+
+    // The mask that maps a sequence number to its slot.
+    private int mask;
+
+    // The next sequence number to claim.
+    private AtomicLong claimed;
+
+    // The writer thread.
+    private Thread writer;
+
+    // Whether the pipeline accepts operations.
+    private volatile boolean running;
+
+    /**
+     * Initializes the pipeline and starts its writer thread.
+     * @param calendar The calendar system changed by the writer.
+     * @param capacity The number of slots, rounded up to a power of two.
+     */
+    public CommandPipeline(CalendarSystemInterface calendar, int capacity) {
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.calendar = calendar;
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            this.slots[i] = new Slot(i);
+        }
+        this.mask = size - 1;
+        this.claimed = new AtomicLong();
+        this.running = true;
+        this.writer = new Thread(this::runWriter, "calendar-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Gets the number of slots of the ring.
+     * @return the capacity.
+     */
+    public int getCapacity() {
+        return this.slots.length;
+    }
+
+    /**
+     * Runs an operation on the writer thread and waits for its result.
+     * @param operation The operation to run.
+     * @param <T> The type of the result.
+     * @return the result of the operation.
+     * @throws IllegalStateException if the pipeline was closed.
+     * @throws RuntimeException any exception thrown by the operation, or a {@link CompletionException}
+     * wrapping a checked exception thrown by it.
+     * @throws Error any error thrown by the operation, such as an {@link AssertionError}.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(CalendarOperation<T> operation) {
+        if (!this.running) {
+            throw new IllegalStateException("The command pipeline is closed.");
+        }
+        long sequence = this.claimed.getAndIncrement();
+        Slot slot = this.slots[(int) sequence & this.mask];
+
+        this.await(slot, turnOf(sequence, FREE));
+        slot.operation = operation;
+        slot.turn = turnOf(sequence, PUBLISHED);
+        if (slot.waitingWriter) {
+            LockSupport.unpark(this.writer);
+        }
+
+        slot.waiter = Thread.currentThread();
+        this.await(slot, turnOf(sequence, DONE));
+        Object result = slot.result;
+        Throwable error = slot.error;
+        slot.result = null;
+        slot.error = null;
+        slot.waiter = null;
+        slot.turn = turnOf(sequence + this.slots.length, FREE);
+
+        if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        }
+        if (error instanceof Error) {
+            throw (Error) error;
+        }
+        if (error != null) {
+            throw new CompletionException(error);
+        }
+        return (T) result;
+    }
+
+    /**
+     * Stops accepting operations and waits for the writer to finish the published ones.
+     * Callers must have stopped executing operations before the pipeline is closed.
+     */
+    @Override
+    public void close() {
+        this.running = false;
+        LockSupport.unpark(this.writer);
+        try {
+            this.writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Runs the published operations in order until the pipeline is closed and drained.
+     * Anything an operation throws, errors included, is handed to its caller, so the writer
+     * keeps running and no caller is left waiting for a slot that never completes.
+     */
+    private void runWriter() {
+        for (long sequence = 0; ; sequence++) {
+            Slot slot = this.slots[(int) sequence & this.mask];
+            long published = turnOf(sequence, PUBLISHED);
+            int idle = 0;
+            while (slot.turn != published) {
+                if (!this.running && this.claimed.get() <= sequence) {
+                    return;
+                }
+                idle = this.idle(slot, idle);
+            }
+            slot.waitingWriter = false;
+
+            try {
+                slot.result = slot.operation.apply(this.calendar);
+            } catch (Throwable e) {
+                slot.error = e;
+            }
+            slot.operation = null;
+            slot.turn = turnOf(sequence, DONE);
+            Thread waiter = slot.waiter;
+            if (waiter != null) {
+                LockSupport.unpark(waiter);
+            }
+        }
+    }
+
+    /**
+     * Waits until a slot reaches the given turn.
+     * @param slot The slot.
+     * @param turn The expected turn.
+     */
+    private void await(Slot slot, long turn) {
+        int idle = 0;
+        while (slot.turn != turn) {
+            idle = this.idle(null, idle);
+        }
+    }
+
+    /**
+     * Spins, then yields, then parks for a short time, as a wait goes on.
+     * @param writerSlot The slot the writer is waiting on, or null for a caller.
+     * @param idle The number of checks made so far.
+     * @return the number of checks, including this one.
+     */
+    private int idle(Slot writerSlot, int idle) {
+        if (idle < SPINS) {
+            Thread.onSpinWait();
+        } else if (idle < SPINS + YIELDS) {
+            Thread.yield();
+        } else {
+            if (writerSlot != null) {
+                writerSlot.waitingWriter = true;
+            }
+            LockSupport.parkNanos(50_000L);
+        }
+        return idle + 1;
+    }
+
+    /**
+     * Gets the turn of a slot for a sequence number and a phase.
+     * @param sequence The sequence number.
+     * @param phase The phase.
+     * @return the turn.
+     */
+    private static long turnOf(long sequence, int phase) {
+        return sequence * 3 + phase;
+    }
+
+    /**
+     * A slot of the ring, reused for every sequence number that maps to it.
+     */
+    private static final class Slot {
+
+        // The sequence number and phase of the slot.
+        private volatile long turn;
+
+        // Whether the writer parked waiting for this slot.
+        private volatile boolean waitingWriter;
+
+        // The thread waiting for the result, if any.
+        private volatile Thread waiter;
+
+        // The operation, set by the caller before the slot is published.
+        private CalendarOperation<?> operation;
+
+        // The result and the exception of the operation, set by the writer before the slot is done.
+        private Object result;
+        private Throwable error;
+
+        /**
+         * Initializes a slot, free for its first sequence number.
+         * @param index The index of the slot.
+         */
+        private Slot(int index) {
+            this.turn = turnOf(index, FREE);
+        }
+    }
+}
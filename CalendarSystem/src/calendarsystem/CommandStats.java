@@ -0,0 +1,131 @@
+package calendarsystem;
+
+import java.io.PrintStream;
+import java.util.Locale;
+
+/**
+ * The latencies and counters of the commands executed by a front end, by {@link CommandType}, with one more
+ * entry for the unknown commands. A command is counted as rejected when it was refused by a validation,
+ * such as an account that does not exist, and it is measured either way.
+ * Every histogram and counter is allocated up front, so recording never allocates. The methods are
+ * synchronized, so several threads of a front end can record into the same statistics.
+ */
+public class CommandStats {
+
+    // The name given to the unknown commands.
+    public static final String UNKNOWN = "unknown";
+
+    // The header of the machine-readable dump.
+    private static final String CSV_HEADER = "command,count,rejected,mean_us,p50_us,p99_us,p999_us,max_us";
+
+    // The index of the unknown commands, after the command types.
+    private static final int UNKNOWN_INDEX = CommandType.values().length;
+
+    // The latencies of each command type, by ordinal, the last one being the unknown commands.
+    private LatencyHistogram[] latencies;
+
+    // The number of rejected commands of each command type, by ordinal.
+    private long[] rejected;
+
+    /**
+     * Initializes empty statistics.
+     */
+    public CommandStats() {
+        int size = UNKNOWN_INDEX + 1;
+        this.latencies = new LatencyHistogram[size];
+        this.rejected = new long[size];
+        for (int i = 0; i < size; i++) {
+            this.latencies[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Records the execution of a command.
+     * @param command The type of the command, or null if it is unknown.
+     * @param nanos The latency of the command, in nanoseconds.
+     * @param wasRejected True if a validation refused the command.
+     */
+    public synchronized void record(CommandType command, long nanos, boolean wasRejected) {
+        int index = indexOf(command);
+        this.latencies[index].record(nanos);
+        if (wasRejected) {
+            this.rejected[index]++;
+        }
+    }
+
+    /**
+     * Gets the number of executions of a command type.
+     * @param command The type of the command, or null for the unknown commands.
+     * @return the number of executions.
+     */
+    public synchronized long getCount(CommandType command) {
+        return this.latencies[indexOf(command)].getCount();
+    }
+
+    /**
+     * Gets the number of rejected executions of a command type.
+     * @param command The type of the command, or null for the unknown commands.
+     * @return the number of rejected executions.
+     */
+    public synchronized long getRejected(CommandType command) {
+        return this.rejected[indexOf(command)];
+    }
+
+    /**
+     * Gets the latencies of a command type.
+     * @param command The type of the command, or null for the unknown commands.
+     * @return a copy of the histogram of the latencies.
+     */
+    public synchronized LatencyHistogram getLatency(CommandType command) {
+        LatencyHistogram latency = new LatencyHistogram();
+        latency.add(this.latencies[indexOf(command)]);
+        return latency;
+    }
+
+    /**
+     * Clears every histogram and counter.
+     */
+    public synchronized void reset() {
+        for (int i = 0; i < this.latencies.length; i++) {
+            this.latencies[i].reset();
+            this.rejected[i] = 0;
+        }
+    }
+
+    /**
+     * Writes the statistics as CSV, with a header and one row per command type that was executed,
+     * the latencies being in microseconds.
+     * @param out The stream that receives the rows.
+     */
+    public synchronized void writeCsv(PrintStream out) {
+        out.println(CSV_HEADER);
+        for (int i = 0; i < this.latencies.length; i++) {
+            LatencyHistogram latency = this.latencies[i];
+            if (latency.getCount() == 0) {
+                continue;
+            }
+            out.println(String.format(Locale.ROOT, "%s,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f",
+                    nameOf(i), latency.getCount(), this.rejected[i], latency.getMean() / 1000.0,
+                    latency.getPercentile(50) / 1000.0, latency.getPercentile(99) / 1000.0,
+                    latency.getPercentile(99.9) / 1000.0, latency.getMax() / 1000.0));
+        }
+    }
+
+    /**
+     * Gets the index of a command type.
+     * @param command The type of the command, or null for the unknown commands.
+     * @return the index of its histogram and counter.
+     */
+    private static int indexOf(CommandType command) {
+        return command == null ? UNKNOWN_INDEX : command.ordinal();
+    }
+
+    /**
+     * Gets the name of the command type of an index.
+     * @param index The index of a histogram.
+     * @return the name of the command type.
+     */
+    private static String nameOf(int index) {
+        return index < UNKNOWN_INDEX ? CommandType.values()[index].toString() : UNKNOWN;
+    }
+}
@@ -33,7 +33,34 @@ public enum CommandType {
     CMD_EVENT("event"),
 
     /** topics - Shows all events that cover a list of topics. */
-    CMD_TOPICS("topics");
+    CMD_TOPICS("topics"),
+
+    /** load - Loads accounts, events or invitations from a CSV file. */
+    CMD_LOAD("load"),
+
+    /** export - Exports events and invitation responses into a columnar layout. */
+    CMD_EXPORT("export"),
+
+    /** stats - Shows the latencies and counters of each command. */
+    CMD_STATS("stats"),
+
+    /** memory - Shows the estimated heap used by the accounts and events. */
+    CMD_MEMORY("memory"),
+
+    /** skip - Skips one occurrence of a recurring event. */
+    CMD_SKIP("skip"),
+
+    /** cancel - Cancels an event for its promoter and all its invitees. */
+    CMD_CANCEL("cancel"),
+
+    /** unregister - Removes an account, its events and its invitations. */
+    CMD_UNREGISTER("unregister"),
+
+    /** group - Creates a group of accounts or adds accounts to it. */
+    CMD_GROUP("group"),
+
+    /** invite-group - Invites every member of a group to an event. */
+    CMD_INVITE_GROUP("invite-group");
 
     /***/
     private String command;
@@ -89,6 +116,33 @@ public enum CommandType {
         if(CMD_TOPICS.toString().equals(command)) {
             return CMD_TOPICS;
         }
+        if(CMD_LOAD.toString().equals(command)) {
+            return CMD_LOAD;
+        }
+        if(CMD_EXPORT.toString().equals(command)) {
+            return CMD_EXPORT;
+        }
+        if(CMD_STATS.toString().equals(command)) {
+            return CMD_STATS;
+        }
+        if(CMD_MEMORY.toString().equals(command)) {
+            return CMD_MEMORY;
+        }
+        if(CMD_SKIP.toString().equals(command)) {
+            return CMD_SKIP;
+        }
+        if(CMD_CANCEL.toString().equals(command)) {
+            return CMD_CANCEL;
+        }
+        if(CMD_UNREGISTER.toString().equals(command)) {
+            return CMD_UNREGISTER;
+        }
+        if(CMD_GROUP.toString().equals(command)) {
+            return CMD_GROUP;
+        }
+        if(CMD_INVITE_GROUP.toString().equals(command)) {
+            return CMD_INVITE_GROUP;
+        }
         return null;
     }
 }
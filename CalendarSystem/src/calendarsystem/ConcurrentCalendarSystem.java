@@ -0,0 +1,531 @@
+package calendarsystem;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * A calendar system that can be used by several threads at once.
+ * Each operation locks only the stripes of the accounts it touches, in a fixed order, so operations
+ * on unrelated accounts run in parallel. Queries over every account lock all the stripes.
+ * Callers that chain several operations can hold the stripes of the involved accounts for the whole
+ * chain with {@link #lockAccounts(String...)}; the invite cascade does so itself in {@link #invite}.
+ */
+// The guards of the try-with-resources blocks are only there to release their stripes when the block ends.
+@SuppressWarnings("try")
+public class ConcurrentCalendarSystem extends CalendarSystem {
+
+    // The default number of lock stripes.
+    private static final int DEFAULT_STRIPES = 256;
+
+    // The lock stripes of the accounts.
+    protected AccountLocks locks;
+
+    /**
+     * Initializes the calendar system with the default number of lock stripes.
+     */
+    public ConcurrentCalendarSystem() {
+        this(DEFAULT_STRIPES);
+    }
+
+    /**
+     * Initializes the calendar system.
+     * @param stripeCount The number of lock stripes.
+     */
+    public ConcurrentCalendarSystem(int stripeCount) {
+        this(new Accounts(new ConcurrentHashMap<>()), new AccountLocks(stripeCount));
+    }
+
+    /**
+     * Initializes the calendar system with the given accounts and locks.
+     * @param accounts The empty collection of accounts.
+     * @param locks The lock stripes of the accounts.
+     */
+    protected ConcurrentCalendarSystem(Accounts accounts, AccountLocks locks) {
+        super(accounts);
+        this.locks = locks;
+    }
+
+    /**
+     * This method locks the given accounts until the returned guard is closed.
+     * @param accNames The names of the accounts.
+     * @return a guard that unlocks the accounts when closed.
+     */
+    public AccountLocks.Guard lockAccounts(String... accNames) {
+        return this.locks.lock(accNames);
+    }
+
+    @Override
+    public void addAccount(String accName, String accType) {
+        try (AccountLocks.Guard guard = this.locks.lock(accName)) {
+            super.addAccount(accName, accType);
+        }
+    }
+
+    @Override
+    public boolean addGroupMember(String groupName, String accName) {
+        try (AccountLocks.Guard guard = this.locks.lock(accName)) {
+            return super.addGroupMember(groupName, accName);
+        }
+    }
+
+    @Override
+    public void addRecurringEvent(String accName, String pType, String eventName, LocalDateTime ldt, int hours, String[] topics, Recurrence recurrence) {
+        try (AccountLocks.Guard guard = this.locks.lock(accName)) {
+            super.addRecurringEvent(accName, pType, eventName, ldt, hours, topics, recurrence);
+        }
+    }
+
+    @Override
+    public boolean eventAlreadyExists(String accName, String eventName) {
+        try (AccountLocks.Guard guard = this.locks.lock(accName)) {
+            return super.eventAlreadyExists(accName, eventName);
+        }
+    }
+
+    @Override
+    public boolean hasEventOnDate(String accName, LocalDateTime ldt) {
+        try (AccountLocks.Guard guard = this.locks.lock(accName)) {
+            return super.hasEventOnDate(accName, ldt);
+        }
+    }
+
+    @Override
+    public boolean hasEventDuring(String accName, LocalDateTime ldt, int hours, Recurrence recurrence) {
+        try (AccountLocks.Guard guard = this.locks.lock(accName)) {
+            return super.hasEventDuring(accName, ldt, hours, recurrence);
+        }
+    }
+
+    @Override
+    public boolean skipOccurrence(String promoterName, String eventName, LocalDateTime ldt) {
+        try (AccountLocks.Guard guard = this.locks.lock(promoterName)) {
+            return super.skipOccurrence(promoterName, eventName, ldt);
+        }
+    }
+
+    @Override
+    public ArrayList<Event> getAccountEvents(String accName) {
+        try (AccountLocks.Guard guard = this.locks.lock(accName)) {
+            return super.getAccountEvents(accName);
+        }
+    }
+
+    @Override
+    public ArrayList<String> getAccountStatusLines(String accName) {
+        try (AccountLocks.Guard guard = this.locks.lock(accName)) {
+            return super.getAccountStatusLines(accName);
+        }
+    }
+
+    @Override
+    public Event getEventByName(String promoterName, String eventName) {
+        try (AccountLocks.Guard guard = this.locks.lock(promoterName)) {
+            return super.getEventByName(promoterName, eventName);
+        }
+    }
+
+    @Override
+    public boolean isValidEvent(String promoterName, String eventName) {
+        try (AccountLocks.Guard guard = this.locks.lock(promoterName)) {
+            return super.isValidEvent(promoterName, eventName);
+        }
+    }
+
+    @Override
+    public boolean isPromoterHighEvent(String promoterName, String eventName) {
+        try (AccountLocks.Guard guard = this.locks.lock(promoterName)) {
+            return super.isPromoterHighEvent(promoterName, eventName);
+        }
+    }
+
+    @Override
+    public void inviteeAcceptEvent(String promoterName, String inviteeName, String eventName) {
+        try (AccountLocks.Guard guard = this.locks.lock(promoterName, inviteeName)) {
+            super.inviteeAcceptEvent(promoterName, inviteeName, eventName);
+        }
+    }
+
+    @Override
+    public void inviteeRejectEvent(String promoterName, String inviteeName, String eventName) {
+        try (AccountLocks.Guard guard = this.locks.lock(promoterName, inviteeName)) {
+            super.inviteeRejectEvent(promoterName, inviteeName, eventName);
+        }
+    }
+
+    /**
+     * This method removes the event from the promoter's account and from its invitees.
+     * Only the promoter and the invitees are locked. New invitations need the promoter's stripe,
+     * so once it is held the list of invitees can only shrink; if it grew while the stripes were
+     * being acquired, the stripes are released and acquired again with the new list.
+     * @param promoterName The name of the account that promotes the event.
+     * @param event The event to be removed.
+     */
+    @Override
+    public void promoterRemoveEvent(String promoterName, Event event) {
+        JfrRemoveEvent record = new JfrRemoveEvent();
+        record.begin();
+        while (true) {
+            ArrayList<String> inviteeNames = event.getAllInvitedNames();
+            String[] accNames = inviteeNames.toArray(new String[inviteeNames.size() + 1]);
+            accNames[inviteeNames.size()] = promoterName;
+
+            try (AccountLocks.Guard guard = this.locks.lock(accNames)) {
+                ArrayList<String> lockedNames = event.getAllInvitedNames();
+                if (inviteeNames.containsAll(lockedNames)) {
+                    this.removeEventLocked(promoterName, event, lockedNames);
+                    record.finish(promoterName, event, lockedNames);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * This method removes the event while the promoter and the invitees are locked.
+     * @param promoterName The name of the account that promotes the event.
+     * @param event The event to be removed.
+     * @param inviteeNames The names of the invitees of the event.
+     */
+    protected void removeEventLocked(String promoterName, Event event, ArrayList<String> inviteeNames) {
+        this.accounts.removeEventFromAccounts(event, inviteeNames);
+        event.setPromoterName(null);
+        AccountInterface accPromoter = this.getAccountByName(promoterName);
+        accPromoter.removeEvent(event);
+        this.topicCache.invalidate(event.getTopics());
+    }
+
+    /**
+     * This method removes an account as one transaction, without ever waiting for a lock.
+     * The account is locked first, which fixes its events and their invitation lists, then the
+     * accounts the cascade changes. If any stripe is held by another thread, every stripe is
+     * released and the transaction is retried after a short random pause.
+     * @param accName The name of the account.
+     * @return what the cascade changed.
+     */
+    @Override
+    public UnregisterResult unregisterAccount(String accName) {
+        for (int attempt = 0; ; attempt++) {
+            AccountLocks.Guard guard = this.locks.tryLock(accName);
+            if (guard != null) {
+                try {
+                    String[] accNames = this.getUnregisterFootprint(accName);
+                    AccountLocks.Guard footprint = this.locks.tryLock(accNames);
+                    if (footprint != null) {
+                        try {
+                            return this.unregisterLocked(accNames, accName);
+                        } finally {
+                            footprint.close();
+                        }
+                    }
+                } finally {
+                    guard.close();
+                }
+            }
+            backoff(attempt);
+        }
+    }
+
+    /**
+     * This method removes an account while every account the cascade changes is locked.
+     * @param accNames The names of the locked accounts.
+     * @param accName The name of the account.
+     * @return what the cascade changed.
+     */
+    protected UnregisterResult unregisterLocked(String[] accNames, String accName) {
+        return super.unregisterAccount(accName);
+    }
+
+    /**
+     * This method invites an account to an event as one transaction, without ever waiting for a lock.
+     * The invitee and the promoter are locked first, which fixes the conflicting events of the invitee,
+     * then the invitees of the events that would be removed. If any stripe is held by another thread,
+     * every stripe is released and the transaction is retried after a short random pause, so two
+     * conflicting invitations never block each other while holding stripes.
+     * @param inviteeName The name of the account that is invited.
+     * @param promoterName The name of the account that promotes the event.
+     * @param eventName The name of the event.
+     * @return the outcome of the invitation.
+     */
+    @Override
+    public InviteResult invite(String inviteeName, String promoterName, String eventName) {
+        String[] inviteeNames = {inviteeName};
+        return this.withInviteLocks(promoterName, eventName, inviteeNames,
+                accNames -> this.inviteLocked(accNames, inviteeName, promoterName, eventName));
+    }
+
+    /**
+     * This method invites several accounts to an event, with the same locking as {@link #invite}:
+     * the promoter and every invitee first, then the invitees of the events that would be removed.
+     * @param promoterName The name of the account that promotes the event.
+     * @param eventName The name of the event.
+     * @param inviteeNames The names of the accounts that are invited.
+     * @return the outcome of each invitation, in the order of the invitees.
+     */
+    @Override
+    public ArrayList<InviteResult> inviteMany(String promoterName, String eventName, String... inviteeNames) {
+        return this.withInviteLocks(promoterName, eventName, inviteeNames,
+                accNames -> this.inviteManyLocked(accNames, promoterName, eventName, inviteeNames));
+    }
+
+    /**
+     * This method runs invitations to an event while every account they may change is locked.
+     * @param promoterName The name of the account that promotes the event.
+     * @param eventName The name of the event.
+     * @param inviteeNames The names of the accounts that are invited.
+     * @param invitations The invitations, given the names of the locked accounts.
+     * @return the result of the invitations.
+     */
+    private <T> T withInviteLocks(String promoterName, String eventName, String[] inviteeNames, Function<String[], T> invitations) {
+        String[] firstNames = Arrays.copyOf(inviteeNames, inviteeNames.length + 1);
+        firstNames[inviteeNames.length] = promoterName;
+        for (int attempt = 0; ; attempt++) {
+            AccountLocks.Guard guard = this.locks.tryLock(firstNames);
+            if (guard != null) {
+                try {
+                    String[] accNames = this.getInviteFootprint(promoterName, eventName, inviteeNames);
+                    AccountLocks.Guard footprint = this.locks.tryLock(accNames);
+                    if (footprint != null) {
+                        try {
+                            return invitations.apply(accNames);
+                        } finally {
+                            footprint.close();
+                        }
+                    }
+                } finally {
+                    guard.close();
+                }
+            }
+            backoff(attempt);
+        }
+    }
+
+    /**
+     * This method invites an account to an event while every account it may change is locked.
+     * @param accNames The names of the locked accounts.
+     * @param inviteeName The name of the account that is invited.
+     * @param promoterName The name of the account that promotes the event.
+     * @param eventName The name of the event.
+     * @return the outcome of the invitation.
+     */
+    protected InviteResult inviteLocked(String[] accNames, String inviteeName, String promoterName, String eventName) {
+        return super.invite(inviteeName, promoterName, eventName);
+    }
+
+    /**
+     * This method invites several accounts to an event while every account it may change is locked.
+     * @param accNames The names of the locked accounts.
+     * @param promoterName The name of the account that promotes the event.
+     * @param eventName The name of the event.
+     * @param inviteeNames The names of the accounts that are invited.
+     * @return the outcome of each invitation.
+     */
+    protected ArrayList<InviteResult> inviteManyLocked(String[] accNames, String promoterName, String eventName, String[] inviteeNames) {
+        return super.inviteMany(promoterName, eventName, inviteeNames);
+    }
+
+    /**
+     * This method answers many invitations with the promoters and the invitees of the batch locked.
+     * A response only changes its invitee and the events it was invited to, so no other account is locked.
+     * @param requests The responses, in order.
+     * @return the outcome of each response, in the same order.
+     */
+    @Override
+    public ArrayList<ResponseResult> respondAll(List<ResponseRequest> requests) {
+        String[] accNames = new String[requests.size() * 2];
+        for (int i = 0; i < requests.size(); i++) {
+            accNames[2 * i] = requests.get(i).getInviteeName();
+            accNames[2 * i + 1] = requests.get(i).getPromoterName();
+        }
+        try (AccountLocks.Guard guard = this.locks.lock(accNames)) {
+            return this.respondAllLocked(accNames, requests);
+        }
+    }
+
+    /**
+     * This method answers many invitations while the promoters and the invitees of the batch are locked.
+     * @param accNames The names of the locked accounts.
+     * @param requests The responses, in order.
+     * @return the outcome of each response, in the same order.
+     */
+    protected ArrayList<ResponseResult> respondAllLocked(String[] accNames, List<ResponseRequest> requests) {
+        return super.respondAll(requests);
+    }
+
+    /**
+     * This method pauses a retried transaction for a random time that grows with the number of attempts.
+     * @param attempt The number of failed attempts so far.
+     */
+    private static void backoff(int attempt) {
+        if (attempt < 4) {
+            Thread.onSpinWait();
+            return;
+        }
+        long maxNanos = 1000L << Math.min(attempt - 4, 10);
+        LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(maxNanos) + 1);
+    }
+
+    @Override
+    public boolean hasAlreadyBeenInvited(String inviteeName, String eventName) {
+        try (AccountLocks.Guard guard = this.locks.lock(inviteeName)) {
+            return super.hasAlreadyBeenInvited(inviteeName, eventName);
+        }
+    }
+
+    @Override
+    public boolean hasInviteeAccountEventOnDate(String inviteeName, String promoterName, String eventName) {
+        try (AccountLocks.Guard guard = this.locks.lock(inviteeName, promoterName)) {
+            return super.hasInviteeAccountEventOnDate(inviteeName, promoterName, eventName);
+        }
+    }
+
+    @Override
+    public ArrayList<Event> getInviteeConflictEvents(String inviteeName, String promoterName, String eventName) {
+        try (AccountLocks.Guard guard = this.locks.lock(inviteeName, promoterName)) {
+            return super.getInviteeConflictEvents(inviteeName, promoterName, eventName);
+        }
+    }
+
+    @Override
+    public void inviteUpdateEvent(String inviteeName, String promoterName, String eventName) {
+        try (AccountLocks.Guard guard = this.locks.lock(inviteeName, promoterName)) {
+            super.inviteUpdateEvent(inviteeName, promoterName, eventName);
+        }
+    }
+
+    @Override
+    public ArrayList<Event> getInviteeInvitedConflictEvents(String inviteeName, String promoterName, String eventName) {
+        try (AccountLocks.Guard guard = this.locks.lock(inviteeName, promoterName)) {
+            return super.getInviteeInvitedConflictEvents(inviteeName, promoterName, eventName);
+        }
+    }
+
+    @Override
+    public boolean isOnInvitationList(String inviteeName, String eventName) {
+        try (AccountLocks.Guard guard = this.locks.lock(inviteeName)) {
+            return super.isOnInvitationList(inviteeName, eventName);
+        }
+    }
+
+    @Override
+    public boolean hasAlreadyResponded(String inviteeName, String eventName) {
+        try (AccountLocks.Guard guard = this.locks.lock(inviteeName)) {
+            return super.hasAlreadyResponded(inviteeName, eventName);
+        }
+    }
+
+    @Override
+    public int getEventDay(String eventName, String promoterName) {
+        try (AccountLocks.Guard guard = this.locks.lock(promoterName)) {
+            return super.getEventDay(eventName, promoterName);
+        }
+    }
+
+    @Override
+    public int getEventMonth(String eventName, String promoterName) {
+        try (AccountLocks.Guard guard = this.locks.lock(promoterName)) {
+            return super.getEventMonth(eventName, promoterName);
+        }
+    }
+
+    @Override
+    public int getEventYear(String eventName, String promoterName) {
+        try (AccountLocks.Guard guard = this.locks.lock(promoterName)) {
+            return super.getEventYear(eventName, promoterName);
+        }
+    }
+
+    @Override
+    public int getEventHour(String eventName, String promoterName) {
+        try (AccountLocks.Guard guard = this.locks.lock(promoterName)) {
+            return super.getEventHour(eventName, promoterName);
+        }
+    }
+
+    @Override
+    public ArrayList<String> getInvitedNamesList(String promoterName, String eventName) {
+        try (AccountLocks.Guard guard = this.locks.lock(promoterName)) {
+            return super.getInvitedNamesList(promoterName, eventName);
+        }
+    }
+
+    @Override
+    public boolean isEventAccepted(String inviteeName, String eventName, String promoterName) {
+        try (AccountLocks.Guard guard = this.locks.lock(inviteeName, promoterName)) {
+            return super.isEventAccepted(inviteeName, eventName, promoterName);
+        }
+    }
+
+    @Override
+    public boolean isEventRejected(String inviteeName, String eventName, String promoterName) {
+        try (AccountLocks.Guard guard = this.locks.lock(inviteeName, promoterName)) {
+            return super.isEventRejected(inviteeName, eventName, promoterName);
+        }
+    }
+
+    @Override
+    public boolean hasEventsWithTopic(ArrayList<String> topics) {
+        int cachedSize = this.topicCache.peekSize(topics);
+        if (cachedSize >= 0) {
+            return cachedSize > 0;
+        }
+        try (AccountLocks.Guard guard = this.locks.lockAll()) {
+            return super.hasEventsWithTopic(topics);
+        }
+    }
+
+    /**
+     * This method gets the events with the given topics. A cached result is returned without locking;
+     * otherwise every stripe is locked while the accounts are scanned and the result is cached.
+     * @param topics A list of topics to be checked.
+     * @return a list that contains all the events that have at least one of the given topics.
+     */
+    @Override
+    public ArrayList<Event> getEventsWithTopics(ArrayList<String> topics) {
+        JfrTopicQuery record = new JfrTopicQuery();
+        record.begin();
+        ArrayList<Event> eventsList = this.topicCache.get(topics);
+        if (eventsList != null) {
+            record.finish(topics, true, 0, eventsList);
+            return eventsList;
+        }
+        try (AccountLocks.Guard guard = this.locks.lockAll()) {
+            eventsList = this.accounts.getEventsWithTopics(topics);
+            this.topicCache.put(topics, eventsList);
+            record.finish(topics, false, this.accounts.getAccountCount(), eventsList);
+            return eventsList;
+        }
+    }
+
+    /**
+     * This method estimates the heap retained by the calendar while every stripe is locked,
+     * so the estimate sees a consistent state.
+     * @param top The number of heaviest accounts and events to report.
+     * @return the report of the estimated sizes.
+     */
+    @Override
+    public MemoryReport estimateMemory(int top) {
+        try (AccountLocks.Guard guard = this.locks.lockAll()) {
+            return super.estimateMemory(top);
+        }
+    }
+
+    @Override
+    public ArrayList<Event> getInvitedAccountEventsOnDate(String accName, String eventName) {
+        try (AccountLocks.Guard guard = this.locks.lock(accName)) {
+            return super.getInvitedAccountEventsOnDate(accName, eventName);
+        }
+    }
+
+    @Override
+    public boolean hasInviteeAccountHighEventOnDate(String inviteeName, String promoterName, String eventName) {
+        try (AccountLocks.Guard guard = this.locks.lock(inviteeName, promoterName)) {
+            return super.hasInviteeAccountHighEventOnDate(inviteeName, promoterName, eventName);
+        }
+    }
+}
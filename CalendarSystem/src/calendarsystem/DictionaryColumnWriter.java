@@ -0,0 +1,86 @@
+package calendarsystem;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Writes a column of strings with dictionary encoding.
+ * Each distinct value gets an id in order of first appearance, the data block holds the ids
+ * as runs of (id, length), and the dictionary block holds the distinct values in id order.
+ */
+public class DictionaryColumnWriter extends ColumnWriter {
+
+    // The id of each distinct value.
+    private HashMap<String, Integer> ids;
+
+    // The distinct values, in id order.
+    private ArrayList<String> values;
+
+    // The id of the current run, or -1 before the first row.
+    private int runId;
+
+    // The length of the current run.
+    private long runLength;
+
+    /**
+     * Opens a dictionary-encoded column file.
+     * @param file The path of the column file.
+     * @throws IOException if the file cannot be written.
+     */
+    public DictionaryColumnWriter(Path file) throws IOException {
+        super(file, DICTIONARY_ENCODING);
+        this.ids = new HashMap<>();
+        this.values = new ArrayList<>();
+        this.runId = -1;
+        this.runLength = 0;
+    }
+
+    /**
+     * Appends a value to the column.
+     * @param value The value to append.
+     * @throws IOException if the file cannot be written.
+     */
+    public void write(String value) throws IOException {
+        Integer id = this.ids.get(value);
+        if (id == null) {
+            id = this.values.size();
+            this.ids.put(value, id);
+            this.values.add(value);
+        }
+        if (id != this.runId) {
+            this.flushRun();
+            this.runId = id;
+        }
+        this.runLength++;
+        this.addRow();
+    }
+
+    /**
+     * Writes the current run to the data block.
+     * @throws IOException if the file cannot be written.
+     */
+    private void flushRun() throws IOException {
+        if (this.runLength > 0) {
+            this.writeVarLong(this.runId);
+            this.writeVarLong(this.runLength);
+            this.runLength = 0;
+        }
+    }
+
+    /**
+     * Writes the last run, the dictionary block and the footer, and closes the file.
+     * @throws IOException if the file cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        this.flushRun();
+        long dictionaryOffset = this.getWritten();
+        this.writeVarLong(this.values.size());
+        for (int i = 0; i < this.values.size(); i++) {
+            this.writeString(this.values.get(i));
+        }
+        this.finish(dictionaryOffset);
+    }
+}
@@ -3,26 +3,53 @@ package calendarsystem;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 
 /**
  * Represents an event in the calendar system.
+ * The promoter and the invitation lists are guarded by the event's monitor, since operations
+ * on different accounts may update the same event.
+ * The invitation lists are linked hash sets: they keep the order in which the accounts were added,
+ * and checking or changing the answer of an account does not depend on the number of invitees.
  */
 public class Event implements EventInterface {
 
+    /** The longest duration of an event, in hours. */
+    public static final int MAX_HOURS = 24;
+
     private String name;
     private String type;
     private LocalDateTime ldt;
+
+    /** The number of hours the event takes from its date, at least 1. */
+    private int hours;
+
     private ArrayList<String> topics;
     private String promoterName;
 
+    /** The rule that repeats the event from its date, or null if the event occurs once. */
+    private Recurrence recurrence;
+
     /** Contains all invited account names. */
-    private ArrayList<String> invited;
+    private LinkedHashSet<String> invited;
 
     /** Contains all accepted account names. */
-    private ArrayList<String> accepted;
+    private LinkedHashSet<String> accepted;
 
     /** Contains all rejected account names. */
-    private ArrayList<String> rejected;
+    private LinkedHashSet<String> rejected;
+
+    /** The number of invited accounts that neither accepted nor rejected, kept up to date by every change. */
+    private int unanswered;
+
+    /** The status line of the event, or null if it must be built again after a change. */
+    private String statusLine;
+
+    /** The version of the event, incremented on every change of the promoter or the invitation lists. */
+    private long version;
+
+    /** The listener notified after every change, or null. */
+    private EventListener listener;
 
     /**
      * Initializes an Event with the specified details.
@@ -33,14 +60,50 @@ public class Event implements EventInterface {
      * @param topics The topics associated with the event.
      */
     public Event(String name, String type, LocalDateTime ldt, String[] topics) {
+        this(name, type, ldt, topics, null);
+    }
+
+    /**
+     * Initializes an Event that may repeat from its date.
+     * 
+     * @param name The name of the event.
+     * @param type The type of the event.
+     * @param ldt The date and time of the event, or of its first occurrence.
+     * @param topics The topics associated with the event.
+     * @param recurrence The rule that repeats the event, or null if it occurs once.
+     */
+    public Event(String name, String type, LocalDateTime ldt, String[] topics, Recurrence recurrence) {
+        this(name, type, ldt, 1, topics, recurrence);
+    }
+
+    /**
+     * Initializes an Event that takes several hours and may repeat from its date.
+     * 
+     * @param name The name of the event.
+     * @param type The type of the event.
+     * @param ldt The date and time of the event, or of its first occurrence.
+     * @param hours The number of hours the event takes, from 1 to {@link #MAX_HOURS}.
+     * @param topics The topics associated with the event.
+     * @param recurrence The rule that repeats the event, or null if it occurs once.
+     */
+    public Event(String name, String type, LocalDateTime ldt, int hours, String[] topics, Recurrence recurrence) {
+        if (hours < 1 || hours > MAX_HOURS) {
+            throw new IllegalArgumentException("hours must be between 1 and " + MAX_HOURS + ".");
+        }
         this.name = name;
         this.type = type;
         this.ldt = ldt;
+        this.hours = hours;
         this.topics = new ArrayList<>(Arrays.asList(topics));
         this.promoterName = null;
-        this.invited = new ArrayList<>();
-        this.accepted = new ArrayList<>();
-        this.rejected = new ArrayList<>();
+        this.recurrence = recurrence;
+        this.invited = new LinkedHashSet<>();
+        this.accepted = new LinkedHashSet<>();
+        this.rejected = new LinkedHashSet<>();
+        this.unanswered = 0;
+        this.statusLine = null;
+        this.version = 0;
+        this.listener = null;
     }
 
     /**
@@ -70,6 +133,142 @@ public class Event implements EventInterface {
         return this.ldt;
     }
 
+    /**
+     * Gets the number of hours the event takes.
+     * 
+     * @return The duration of the event, or of each of its occurrences, in hours.
+     */
+    public int getHours() {
+        return this.hours;
+    }
+
+    /**
+     * Gets the end of the event, or of its first occurrence.
+     * 
+     * @return The date and time when the event ends, excluded from the event.
+     */
+    public LocalDateTime getEndDate() {
+        return this.ldt.plusHours(this.hours);
+    }
+
+    /**
+     * Gets the end of the last occurrence of the event, which is the end of the event if it does not repeat.
+     * 
+     * @return The date and time when the last occurrence ends, excluded from the event.
+     */
+    public LocalDateTime getLastEndDate() {
+        if (this.recurrence == null) {
+            return this.getEndDate();
+        }
+        return this.recurrence.getLastOccurrence(this.ldt).plusHours(this.hours);
+    }
+
+    /**
+     * Checks if the event repeats.
+     * 
+     * @return true if the event has a recurrence rule, false if it occurs once.
+     */
+    public boolean isRecurring() {
+        return this.recurrence != null;
+    }
+
+    /**
+     * Gets a copy of the recurrence rule of the event.
+     * 
+     * @return A copy of the rule, with its skipped occurrences, or null if the event occurs once.
+     */
+    public synchronized Recurrence getRecurrence() {
+        return this.recurrence == null ? null : new Recurrence(this.recurrence);
+    }
+
+    /**
+     * Checks if the event takes an hour. A recurring event takes the hours of each of its occurrences that was not skipped.
+     * 
+     * @param ldt The hour to check.
+     * @return true if the event takes that hour, false otherwise.
+     */
+    public boolean occursAt(LocalDateTime ldt) {
+        return this.occursDuring(ldt, ldt.plusHours(1));
+    }
+
+    /**
+     * Checks if the event takes at least one hour of a period. Only the occurrences of a recurring event
+     * that start in the period, or less than the duration of the event before it, are checked.
+     * 
+     * @param start The start of the period, included.
+     * @param end The end of the period, excluded.
+     * @return true if the event overlaps the period, false otherwise.
+     */
+    public synchronized boolean occursDuring(LocalDateTime start, LocalDateTime end) {
+        if (this.recurrence == null) {
+            return this.ldt.isBefore(end) && this.getEndDate().isAfter(start);
+        }
+        LocalDateTime earliest = start.minusHours(this.hours - 1);
+        for (int i = this.recurrence.firstIndexFrom(this.ldt, earliest); i < this.recurrence.getCount(); i++) {
+            LocalDateTime occurrence = this.recurrence.getOccurrence(this.ldt, i);
+            if (!occurrence.isBefore(end)) {
+                break;
+            }
+            if (this.recurrence.occursAt(this.ldt, occurrence)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if the event and another one take at least one same hour.
+     * Only the occurrences of this event during the span of the other one are checked, one at a time,
+     * so no occurrence is materialized. The monitors of the two events are never held together.
+     * 
+     * @param other The other event.
+     * @return true if both events overlap, false otherwise.
+     */
+    public boolean overlaps(Event other) {
+        if (this.recurrence == null) {
+            return other.occursDuring(this.ldt, this.getEndDate());
+        }
+        if (other.recurrence == null) {
+            return this.occursDuring(other.ldt, other.getEndDate());
+        }
+        LocalDateTime otherEnd = other.getLastEndDate();
+        LocalDateTime earliest = other.ldt.minusHours(this.hours - 1);
+        for (int i = this.recurrence.firstIndexFrom(this.ldt, earliest); i < this.recurrence.getCount(); i++) {
+            LocalDateTime occurrence = this.recurrence.getOccurrence(this.ldt, i);
+            if (!occurrence.isBefore(otherEnd)) {
+                break;
+            }
+            if (this.isOccurrence(occurrence) && other.occursDuring(occurrence, occurrence.plusHours(this.hours))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a recurring event has an occurrence, not skipped, that starts on a date.
+     * 
+     * @param ldt The date to check.
+     * @return true if an occurrence starts on that date, false otherwise.
+     */
+    private synchronized boolean isOccurrence(LocalDateTime ldt) {
+        return this.recurrence.occursAt(this.ldt, ldt);
+    }
+
+    /**
+     * Skips an occurrence of a recurring event, which frees that date for the promoter and the invitees.
+     * 
+     * @param ldt The date of the occurrence.
+     * @return true if the occurrence was skipped, false if the event does not occur on that date or does not repeat.
+     */
+    public synchronized boolean skipOccurrence(LocalDateTime ldt) {
+        if (this.recurrence == null || !this.recurrence.skip(this.ldt, ldt)) {
+            return false;
+        }
+        this.changed();
+        return true;
+    }
+
     /**
      * Gets the topics associated with the event.
      * 
@@ -85,7 +284,7 @@ public class Event implements EventInterface {
      * @param accName The name of the account.
      * @return true if the account is the promoter, false otherwise.
      */
-    public boolean isPromoter(String accName) {
+    public synchronized boolean isPromoter(String accName) {
         return this.promoterName != null && this.promoterName.equals(accName);
     }
 
@@ -94,7 +293,7 @@ public class Event implements EventInterface {
      * 
      * @return The number of invited accounts.
      */
-    public int getInviteStatus() {
+    public synchronized int getInviteStatus() {
         return this.invited.size();
     }
 
@@ -103,7 +302,7 @@ public class Event implements EventInterface {
      * 
      * @return The number of accepted invitations.
      */
-    public int getAcceptedStatus() {
+    public synchronized int getAcceptedStatus() {
         return this.accepted.size();
     }
 
@@ -112,7 +311,7 @@ public class Event implements EventInterface {
      * 
      * @return The number of rejected invitations.
      */
-    public int getRejectedStatus() {
+    public synchronized int getRejectedStatus() {
         return this.rejected.size();
     }
 
@@ -121,14 +320,31 @@ public class Event implements EventInterface {
      * 
      * @return The number of unanswered invitations.
      */
-    public int getUnansweredStatus() {
-        int count = 0;
-        for (String accName : this.invited) {
-            if (!this.accepted.contains(accName) && !this.rejected.contains(accName)) {
-                count++;
-            }
+    public synchronized int getUnansweredStatus() {
+        return this.unanswered;
+    }
+
+    /**
+     * Gets the status line of the event, as printed by the command "events".
+     * The line is built once and kept until the event changes.
+     * 
+     * @return The name of the event followed by its invited, accepted, rejected and unanswered counts.
+     */
+    public synchronized String getStatusLine() {
+        if (this.statusLine == null) {
+            this.statusLine = this.name + " status " + "[invited " + this.invited.size() + "] [accepted " + this.accepted.size()
+                    + "] [rejected " + this.rejected.size() + "] [unanswered " + this.unanswered + "]";
         }
-        return count;
+        return this.statusLine;
+    }
+
+    /**
+     * Gets the status line of the event only if it is already built.
+     * 
+     * @return The cached status line, or null if it was not built since the last change.
+     */
+    synchronized String getCachedStatusLine() {
+        return this.statusLine;
     }
 
     /**
@@ -137,7 +353,7 @@ public class Event implements EventInterface {
      * @param inviteeName The name of the account.
      * @return true if the account is invited, false otherwise.
      */
-    public boolean isAccountInvited(String inviteeName) {
+    public synchronized boolean isAccountInvited(String inviteeName) {
         return this.invited.contains(inviteeName);
     }
 
@@ -147,7 +363,7 @@ public class Event implements EventInterface {
      * @param inviteeName The name of the account.
      * @return true if the account has accepted, false otherwise.
      */
-    public boolean isEventAccepted(String inviteeName) {
+    public synchronized boolean isEventAccepted(String inviteeName) {
         return this.accepted.contains(inviteeName);
     }
 
@@ -157,7 +373,7 @@ public class Event implements EventInterface {
      * @param inviteeName The name of the account.
      * @return true if the account has rejected, false otherwise.
      */
-    public boolean isEventRejected(String inviteeName) {
+    public synchronized boolean isEventRejected(String inviteeName) {
         return this.rejected.contains(inviteeName);
     }
 
@@ -166,10 +382,14 @@ public class Event implements EventInterface {
      * 
      * @param accName The name of the account.
      */
-    public void addInvitedAccount(String accName) {
+    public synchronized void addInvitedAccount(String accName) {
         if (!this.invited.contains(accName)) {
             this.invited.add(accName);
+            if (!this.hasAnswered(accName)) {
+                this.unanswered++;
+            }
         }
+        this.changed();
     }
 
     /**
@@ -177,10 +397,13 @@ public class Event implements EventInterface {
      * 
      * @param accName The name of the account.
      */
-    public void removeInvitedAccount(String accName) {
-        this.invited.remove(accName);
+    public synchronized void removeInvitedAccount(String accName) {
+        if (this.invited.remove(accName) && !this.hasAnswered(accName)) {
+            this.unanswered--;
+        }
         this.accepted.remove(accName);
         this.rejected.remove(accName);
+        this.changed();
     }
 
     /**
@@ -188,11 +411,13 @@ public class Event implements EventInterface {
      * 
      * @param accName The name of the account.
      */
-    public void addAcceptedAccount(String accName) {
+    public synchronized void addAcceptedAccount(String accName) {
+        this.answering(accName);
         this.rejected.remove(accName);
         if (!this.accepted.contains(accName)) {
             this.accepted.add(accName);
         }
+        this.changed();
     }
 
     /**
@@ -200,11 +425,26 @@ public class Event implements EventInterface {
      * 
      * @param accName The name of the account.
      */
-    public void addRejectedAccount(String accName) {
+    public synchronized void addRejectedAccount(String accName) {
+        this.answering(accName);
         this.accepted.remove(accName);
         if (!this.rejected.contains(accName)) {
             this.rejected.add(accName);
         }
+        this.changed();
+    }
+
+    /**
+     * Takes back the answer of an account, which is unanswered again if it is still invited.
+     * 
+     * @param accName The name of the account.
+     */
+    synchronized void clearAnswer(String accName) {
+        boolean answered = this.accepted.remove(accName) | this.rejected.remove(accName);
+        if (answered && this.invited.contains(accName)) {
+            this.unanswered++;
+        }
+        this.changed();
     }
 
     /**
@@ -212,8 +452,9 @@ public class Event implements EventInterface {
      * 
      * @param name The name of the promoter.
      */
-    public void setPromoterName(String name) {
+    public synchronized void setPromoterName(String name) {
         this.promoterName = name;
+        this.changed();
     }
 
     /**
@@ -221,7 +462,7 @@ public class Event implements EventInterface {
      * 
      * @return The name of the promoter.
      */
-    public String getPromoterName() {
+    public synchronized String getPromoterName() {
         return this.promoterName;
     }
 
@@ -230,10 +471,28 @@ public class Event implements EventInterface {
      * 
      * @return A list of all invited account names.
      */
-    public ArrayList<String> getAllInvitedNames() {
+    public synchronized ArrayList<String> getAllInvitedNames() {
         return new ArrayList<>(this.invited);
     }
 
+    /**
+     * Gets a list of the account names that accepted the invitation.
+     * 
+     * @return A list of the accepted account names.
+     */
+    synchronized ArrayList<String> getAcceptedNames() {
+        return new ArrayList<>(this.accepted);
+    }
+
+    /**
+     * Gets a list of the account names that rejected the invitation.
+     * 
+     * @return A list of the rejected account names.
+     */
+    synchronized ArrayList<String> getRejectedNames() {
+        return new ArrayList<>(this.rejected);
+    }
+
     /**
      * Checks if the event has a specific topic.
      * 
@@ -268,4 +527,63 @@ public class Event implements EventInterface {
     public boolean isHighEvent() {
         return EventType.isHigh(this.getType());
     }
+
+    /**
+     * Gets the version of the event.
+     * 
+     * @return The number of changes made to the promoter and the invitation lists.
+     */
+    public synchronized long getVersion() {
+        return this.version;
+    }
+
+    /**
+     * Sets the listener notified after every change of the event.
+     * 
+     * @param listener The listener, or null to stop notifications.
+     */
+    public synchronized void setListener(EventListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Gets an immutable copy of the current state of the event.
+     * 
+     * @return A snapshot of the event.
+     */
+    public synchronized EventSnapshot getSnapshot() {
+        return new EventSnapshot(this);
+    }
+
+    /**
+     * Checks if an account has accepted or rejected the event.
+     * 
+     * @param accName The name of the account.
+     * @return true if the account has answered, false otherwise.
+     */
+    private boolean hasAnswered(String accName) {
+        return this.accepted.contains(accName) || this.rejected.contains(accName);
+    }
+
+    /**
+     * Updates the unanswered count before an account accepts or rejects the event.
+     * 
+     * @param accName The name of the account that answers.
+     */
+    private void answering(String accName) {
+        if (!this.hasAnswered(accName) && this.invited.contains(accName)) {
+            this.unanswered--;
+        }
+    }
+
+    /**
+     * Records a change of the event and notifies the listener.
+     */
+    private void changed() {
+        this.statusLine = null;
+        this.version++;
+        if (this.listener != null) {
+            this.listener.eventChanged(this);
+        }
+    }
 }
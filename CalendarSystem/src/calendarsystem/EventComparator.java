@@ -6,7 +6,7 @@ import java.util.Comparator;
 /**
  * Comparator for comparing events based on the number of matching topics.
  */
-public class EventComparator implements Comparator<Event> {
+public class EventComparator implements Comparator<EventView> {
 
     private ArrayList<String> topics;
 
@@ -29,7 +29,7 @@ public class EventComparator implements Comparator<Event> {
      *         less than, equal to, or greater than the second event.
      */
     @Override
-    public int compare(Event event1, Event event2) {
+    public int compare(EventView event1, EventView event2) {
         int event1TopicCount = event1.countMatchingTopics(topics);
         int event2TopicCount = event2.countMatchingTopics(topics);
         
@@ -0,0 +1,332 @@
+package calendarsystem;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+
+/**
+ * An interval tree over the hours taken by single events, to find the events that overlap a period
+ * in O(log n + k) for n distinct start hours and k overlapping events.
+ * It is an AVL tree keyed by the start hour of the events, each node keeping the events that start in
+ * its hour, the latest end of those events and the latest end of its whole subtree. A subtree that ends
+ * before a period, or a right subtree that starts after it, is never visited.
+ * The periods are half-open: an event from 9h for 2 hours takes 9h and 10h, and does not overlap an event at 11h.
+ */
+class EventIntervalTree {
+
+    // The root of the tree, or null if it is empty.
+    private Node root;
+
+    // The number of events in the tree.
+    private int size;
+
+    /**
+     * Initializes an empty tree.
+     */
+    EventIntervalTree() {
+        this.root = null;
+        this.size = 0;
+    }
+
+    /**
+     * Gets the number of events in the tree.
+     * @return The number of events.
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Adds an event, from its date for its number of hours.
+     * @param event The event.
+     */
+    void add(Event event) {
+        this.root = this.insert(this.root, hourOf(event.getDate()), hourOf(event.getEndDate()), event);
+        this.size++;
+    }
+
+    /**
+     * Removes an event, compared by identity.
+     * @param event The event.
+     * @return true if the event was in the tree, false otherwise.
+     */
+    boolean remove(Event event) {
+        int before = this.size;
+        this.root = this.delete(this.root, hourOf(event.getDate()), event);
+        return this.size < before;
+    }
+
+    /**
+     * Finds the events that take at least one hour of a period.
+     * @param start The start of the period, included.
+     * @param end The end of the period, excluded.
+     * @return The overlapping events, by start hour.
+     */
+    ArrayList<Event> findOverlapping(LocalDateTime start, LocalDateTime end) {
+        ArrayList<Event> events = new ArrayList<>();
+        collect(this.root, hourOf(start), hourOf(end), events);
+        return events;
+    }
+
+    /**
+     * Estimates the heap used by the tree, without the events it refers to.
+     * @return The size in bytes of the tree and its nodes.
+     */
+    long estimateSize() {
+        return MemoryEstimator.align(12 + 4 + 4) + estimateSize(this.root);
+    }
+
+    /**
+     * Gets the hour of a date, counted from the epoch.
+     * @param ldt The date.
+     * @return The number of hours since the epoch.
+     */
+    static long hourOf(LocalDateTime ldt) {
+        return Math.floorDiv(ldt.toEpochSecond(ZoneOffset.UTC), 3600L);
+    }
+
+    /**
+     * Adds the overlapping events of a subtree to a list, skipping the subtrees that cannot overlap.
+     * @param node The root of the subtree.
+     * @param start The start hour of the period, included.
+     * @param end The end hour of the period, excluded.
+     * @param events The list that receives the events.
+     */
+    private static void collect(Node node, long start, long end, ArrayList<Event> events) {
+        if (node == null || node.maxEnd <= start) {
+            return;
+        }
+        collect(node.left, start, end, events);
+        if (node.start >= end) {
+            return;
+        }
+        if (node.end > start) {
+            for (Event event : node.events) {
+                if (hourOf(event.getEndDate()) > start) {
+                    events.add(event);
+                }
+            }
+        }
+        collect(node.right, start, end, events);
+    }
+
+    /**
+     * Adds an event to a subtree.
+     * @param node The root of the subtree.
+     * @param start The start hour of the event.
+     * @param end The end hour of the event.
+     * @param event The event.
+     * @return The new root of the subtree.
+     */
+    private Node insert(Node node, long start, long end, Event event) {
+        if (node == null) {
+            return new Node(start, end, event);
+        }
+        if (start < node.start) {
+            node.left = this.insert(node.left, start, end, event);
+        } else if (start > node.start) {
+            node.right = this.insert(node.right, start, end, event);
+        } else {
+            node.events.add(event);
+            node.end = Math.max(node.end, end);
+        }
+        return balance(node);
+    }
+
+    /**
+     * Removes an event from a subtree, and its node once it has no more events.
+     * @param node The root of the subtree.
+     * @param start The start hour of the event.
+     * @param event The event.
+     * @return The new root of the subtree.
+     */
+    private Node delete(Node node, long start, Event event) {
+        if (node == null) {
+            return null;
+        }
+        if (start < node.start) {
+            node.left = this.delete(node.left, start, event);
+        } else if (start > node.start) {
+            node.right = this.delete(node.right, start, event);
+        } else {
+            for (int i = 0; i < node.events.size(); i++) {
+                if (node.events.get(i) == event) {
+                    node.events.remove(i);
+                    this.size--;
+                    break;
+                }
+            }
+            if (!node.events.isEmpty()) {
+                node.end = latestEnd(node.events);
+            } else if (node.left == null) {
+                return node.right;
+            } else if (node.right == null) {
+                return node.left;
+            } else {
+                Node successor = node.right;
+                while (successor.left != null) {
+                    successor = successor.left;
+                }
+                node.start = successor.start;
+                node.end = successor.end;
+                node.events = successor.events;
+                node.right = deleteMin(node.right);
+            }
+        }
+        return balance(node);
+    }
+
+    /**
+     * Removes the node with the earliest start hour of a subtree.
+     * @param node The root of the subtree.
+     * @return The new root of the subtree.
+     */
+    private static Node deleteMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = deleteMin(node.left);
+        return balance(node);
+    }
+
+    /**
+     * Updates the height and the latest end of a node, and rotates it if its subtrees are unbalanced.
+     * @param node The node.
+     * @return The new root of the subtree.
+     */
+    private static Node balance(Node node) {
+        update(node);
+        int factor = height(node.left) - height(node.right);
+        if (factor > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (factor < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    /**
+     * Rotates a subtree to the left, its right child becoming its root.
+     * @param node The root of the subtree.
+     * @return The new root of the subtree.
+     */
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    /**
+     * Rotates a subtree to the right, its left child becoming its root.
+     * @param node The root of the subtree.
+     * @return The new root of the subtree.
+     */
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    /**
+     * Computes the height and the latest end of a node from its children.
+     * @param node The node.
+     */
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        node.maxEnd = node.end;
+        if (node.left != null) {
+            node.maxEnd = Math.max(node.maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            node.maxEnd = Math.max(node.maxEnd, node.right.maxEnd);
+        }
+    }
+
+    /**
+     * Gets the height of a subtree.
+     * @param node The root of the subtree, or null.
+     * @return The height, 0 for an empty subtree.
+     */
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    /**
+     * Gets the latest end hour of a list of events.
+     * @param events The events, at least one.
+     * @return The latest end hour.
+     */
+    private static long latestEnd(ArrayList<Event> events) {
+        long end = Long.MIN_VALUE;
+        for (Event event : events) {
+            end = Math.max(end, hourOf(event.getEndDate()));
+        }
+        return end;
+    }
+
+    /**
+     * Estimates the heap used by the nodes of a subtree.
+     * @param node The root of the subtree, or null.
+     * @return The size in bytes of the nodes and their lists.
+     */
+    private static long estimateSize(Node node) {
+        if (node == null) {
+            return 0;
+        }
+        return MemoryEstimator.align(12 + 3 * 8 + 4 + 3 * 4) + MemoryEstimator.arrayListSize(node.events.size())
+                + estimateSize(node.left) + estimateSize(node.right);
+    }
+
+    /**
+     * A node of the tree, with the events that start in its hour.
+     */
+    private static class Node {
+
+        // The start hour of the events of the node.
+        private long start;
+
+        // The latest end hour of the events of the node.
+        private long end;
+
+        // The latest end hour of the subtree.
+        private long maxEnd;
+
+        // The height of the subtree.
+        private int height;
+
+        // The events that start in the hour of the node.
+        private ArrayList<Event> events;
+
+        // The subtrees of the earlier and of the later start hours.
+        private Node left;
+        private Node right;
+
+        /**
+         * Initializes a leaf with its first event.
+         * @param start The start hour of the event.
+         * @param end The end hour of the event.
+         * @param event The event.
+         */
+        private Node(long start, long end, Event event) {
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+            this.height = 1;
+            this.events = new ArrayList<>();
+            this.events.add(event);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package calendarsystem;
+
+/**
+ * A listener notified after an event changes its promoter or its invitation lists.
+ */
+public interface EventListener {
+
+    /**
+     * This method is called after the event changed, while its monitor is still held.
+     * @param event The event that changed.
+     */
+    void eventChanged(Event event);
+}
@@ -0,0 +1,135 @@
+package calendarsystem;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable copy of the state of an event at a given version.
+ * The query methods behave as the ones of {@link Event}.
+ */
+public class EventSnapshot implements EventView {
+
+    // The live event this snapshot was taken from.
+    private Event source;
+
+    private String name;
+    private String type;
+    private LocalDateTime ldt;
+    private List<String> topics;
+    private String promoterName;
+    private List<String> invited;
+    private List<String> accepted;
+    private List<String> rejected;
+    private int unanswered;
+    private long version;
+
+    /**
+     * Copies the state of an event. The caller must hold the monitor of the event.
+     * @param event The event to copy.
+     */
+    EventSnapshot(Event event) {
+        this.source = event;
+        this.name = event.getName();
+        this.type = event.getType();
+        this.ldt = event.getDate();
+        this.topics = Collections.unmodifiableList(new ArrayList<>(event.getTopics()));
+        this.promoterName = event.getPromoterName();
+        this.invited = Collections.unmodifiableList(event.getAllInvitedNames());
+        this.accepted = Collections.unmodifiableList(event.getAcceptedNames());
+        this.rejected = Collections.unmodifiableList(event.getRejectedNames());
+        this.unanswered = event.getUnansweredStatus();
+        this.version = event.getVersion();
+    }
+
+    /**
+     * Gets the live event this snapshot was taken from.
+     * @return the live event.
+     */
+    Event getSource() {
+        return this.source;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public String getType() {
+        return this.type;
+    }
+
+    public LocalDateTime getDate() {
+        return this.ldt;
+    }
+
+    /**
+     * Gets the topics associated with the event.
+     * @return a copy of the list of topics.
+     */
+    public ArrayList<String> getTopics() {
+        return new ArrayList<>(this.topics);
+    }
+
+    public boolean isPromoter(String accName) {
+        return this.promoterName != null && this.promoterName.equals(accName);
+    }
+
+    public int getInviteStatus() {
+        return this.invited.size();
+    }
+
+    public int getAcceptedStatus() {
+        return this.accepted.size();
+    }
+
+    public int getRejectedStatus() {
+        return this.rejected.size();
+    }
+
+    public int getUnansweredStatus() {
+        return this.unanswered;
+    }
+
+    public boolean isAccountInvited(String inviteeName) {
+        return this.invited.contains(inviteeName);
+    }
+
+    public boolean isEventAccepted(String inviteeName) {
+        return this.accepted.contains(inviteeName);
+    }
+
+    public boolean isEventRejected(String inviteeName) {
+        return this.rejected.contains(inviteeName);
+    }
+
+    public String getPromoterName() {
+        return this.promoterName;
+    }
+
+    public ArrayList<String> getAllInvitedNames() {
+        return new ArrayList<>(this.invited);
+    }
+
+    public boolean hasEventWithTopic(String topic) {
+        return this.topics.contains(topic);
+    }
+
+    public int countMatchingTopics(ArrayList<String> topics) {
+        int count = 0;
+        for (String topic : topics) {
+            if (this.topics.contains(topic)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public boolean isHighEvent() {
+        return EventType.isHigh(this.type);
+    }
+
+    public long getVersion() {
+        return this.version;
+    }
+}
@@ -0,0 +1,29 @@
+package calendarsystem;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+/**
+ * The queries of an event, shared by the live events and their read-only snapshots.
+ * The updates of a live event are in {@link EventInterface}.
+ */
+public interface EventView {
+    String getName();
+    String getType();
+    LocalDateTime getDate();
+    ArrayList<String> getTopics();
+    boolean isPromoter(String accName);
+    int getInviteStatus();
+    int getAcceptedStatus();
+    int getRejectedStatus();
+    int getUnansweredStatus();
+    boolean isAccountInvited(String inviteeName);
+    boolean isEventAccepted(String inviteeName);
+    boolean isEventRejected(String inviteeName);
+    String getPromoterName();
+    ArrayList<String> getAllInvitedNames();
+    boolean hasEventWithTopic(String topic);
+    int countMatchingTopics(ArrayList<String> topics);
+    boolean isHighEvent();
+    long getVersion();
+}
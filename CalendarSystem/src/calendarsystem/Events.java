@@ -10,18 +10,38 @@ import java.util.Map;
  * Represents a collection of events in the calendar system.
  */
 public class Events {
-	// List to maintain the order of events.
+	// List to maintain the order of events, where a removed event leaves a null until the list is compacted.
     private ArrayList<Event> eventsOrder;
+
+    // The index of each event in the list, by identity, to find and remove an event without a scan.
+    private HashMap<Event, Integer> eventsIndex;
+
+    // The events of the list by their names, in the order of the list, since events of different promoters may share a name.
+    private HashMap<String, ArrayList<Event>> eventsByName;
     
  // Map to store events by their names.
     private HashMap<String, Event> eventsMap;
 
+    // Filter over the hours taken by the single events in the map, to answer most busy checks without a search.
+    private HourSlotFilter hourSlots;
+
+    // The single events of the list by the hours they take, to find the overlapping ones without a scan.
+    private EventIntervalTree intervals;
+
+    // The recurring events of the list, kept out of the filter and of the tree since they take many hours.
+    private ArrayList<Event> recurringEvents;
+
     /**
      * Constructs an Events object.
      */
     public Events() {
         this.eventsOrder = new ArrayList<>();
+        this.eventsIndex = new HashMap<>();
+        this.eventsByName = new HashMap<>();
         this.eventsMap = new HashMap<>();
+        this.hourSlots = new HourSlotFilter();
+        this.intervals = new EventIntervalTree();
+        this.recurringEvents = new ArrayList<>();
     }
     
     /**
@@ -31,11 +51,15 @@ public class Events {
      */
     public void addEvent(Event event, String accName) {
     	// Add the event to the list if it's not already present.
-        if (!this.eventsOrder.contains(event)) {
-            this.eventsOrder.add(event);
+        this.addToOrder(event);
+        // Add the event to the map by its name, replacing the hour of the event it hides.
+        Event previous = this.eventsMap.put(event.getName(), event);
+        if (previous != event) {
+            if (previous != null) {
+                this.removeSlot(previous);
+            }
+            this.addSlot(event);
         }
-        // Add the event to the map by its name.
-        this.eventsMap.put(event.getName(), event);
         // If the account is the promoter, add the account to the invited and accepted list.
         if (event.isPromoter(accName)) {
             event.addInvitedAccount(accName);
@@ -48,28 +72,212 @@ public class Events {
      * @param eventName The name of the event to be removed.
      */
     public void removeEvent(String eventName) {
-        // Remove the event from the map.
-        this.eventsMap.remove(eventName);
+        // Remove the event from the map and its hour from the filter.
+        Event removed = this.eventsMap.remove(eventName);
+        if (removed != null) {
+            this.removeSlot(removed);
+        }
 
-        // Remove the event from the list.
+        // Remove the event from the list and from the interval tree.
         this.removeEventNameFromOrderList(eventName);
     }
 
     /**
-     * Removes the event name from the order list.
-     * @param eventName The name of the event to be removed from the order list.
+     * Removes an event from the collection of events, compared by identity, so another event
+     * with the same name from another promoter is kept.
+     * @param event The event to be removed.
+     * @return True if the event was in the collection, otherwise false.
      */
-    private void removeEventNameFromOrderList(String eventName) {
-        int index = -1;
-        for (int i = 0; i < this.eventsOrder.size(); i++) {
-            String name = this.eventsOrder.get(i).getName();
-            if (name.equals(eventName)) {
-                index = i;
+    public boolean removeEvent(Event event) {
+        // Remove the event from the map and its hours from the filter, if the map holds this event.
+        if (this.isInMap(event)) {
+            this.eventsMap.remove(event.getName());
+            this.removeSlot(event);
+        }
+
+        // Remove the event from the list and from the interval tree.
+        return this.removeFromOrder(event);
+    }
+
+    /**
+     * Adds an event at the end of the list and to the interval tree, unless the list already holds it.
+     * @param event The event.
+     * @return True if the event was added, otherwise false.
+     */
+    private boolean addToOrder(Event event) {
+        if (this.eventsIndex.containsKey(event)) {
+            return false;
+        }
+        this.eventsIndex.put(event, this.eventsOrder.size());
+        this.eventsOrder.add(event);
+        this.eventsByName.computeIfAbsent(event.getName(), name -> new ArrayList<>(1)).add(event);
+        this.addInterval(event);
+        return true;
+    }
+
+    /**
+     * Removes an event from the list and from the interval tree, leaving a null in its place.
+     * The list is compacted once it holds more nulls than events, so a removal costs O(1) amortized.
+     * @param event The event.
+     * @return True if the list held the event, otherwise false.
+     */
+    private boolean removeFromOrder(Event event) {
+        Integer index = this.eventsIndex.remove(event);
+        if (index == null) {
+            return false;
+        }
+        this.eventsOrder.set(index, null);
+        this.removeFromNames(event);
+        this.removeInterval(event);
+        if (this.eventsOrder.size() > 2 * this.eventsIndex.size()) {
+            this.compactOrder();
+        }
+        return true;
+    }
+
+    /**
+     * Removes an event from the events that share its name.
+     * @param event The event, which is in the list.
+     */
+    private void removeFromNames(Event event) {
+        ArrayList<Event> named = this.eventsByName.get(event.getName());
+        for (int i = 0; i < named.size(); i++) {
+            if (named.get(i) == event) {
+                named.remove(i);
                 break;
             }
         }
-        if (index != -1) {
-            this.eventsOrder.remove(index);
+        if (named.isEmpty()) {
+            this.eventsByName.remove(event.getName());
+        }
+    }
+
+    /**
+     * Removes the nulls left in the list by the removed events, keeping the order of the others.
+     */
+    private void compactOrder() {
+        int size = 0;
+        for (int i = 0; i < this.eventsOrder.size(); i++) {
+            Event event = this.eventsOrder.get(i);
+            if (event != null) {
+                this.eventsOrder.set(size, event);
+                this.eventsIndex.put(event, size);
+                size++;
+            }
+        }
+        this.eventsOrder.subList(size, this.eventsOrder.size()).clear();
+    }
+
+    /**
+     * Adds the hours taken by a single event added to the map to the filter.
+     * @param event The event added to the map.
+     */
+    private void addSlot(Event event) {
+        if (event.isRecurring()) {
+            return;
+        }
+        for (int i = 0; i < event.getHours(); i++) {
+            this.hourSlots.add(event.getDate().plusHours(i));
+        }
+        if (this.hourSlots.isCrowded()) {
+            this.rebuildHourSlots();
+        }
+    }
+
+    /**
+     * Removes the hours taken by a single event removed from the map from the filter.
+     * @param event The event removed from the map.
+     */
+    private void removeSlot(Event event) {
+        if (event.isRecurring()) {
+            return;
+        }
+        for (int i = 0; i < event.getHours(); i++) {
+            this.hourSlots.remove(event.getDate().plusHours(i));
+        }
+    }
+
+    /**
+     * Replaces the hour filter with a larger one built from the single events in the map.
+     */
+    private void rebuildHourSlots() {
+        int hours = 0;
+        for (Event event : this.eventsMap.values()) {
+            hours += event.isRecurring() ? 0 : event.getHours();
+        }
+        HourSlotFilter hourSlots = new HourSlotFilter(hours);
+        for (Event event : this.eventsMap.values()) {
+            if (!event.isRecurring()) {
+                for (int i = 0; i < event.getHours(); i++) {
+                    hourSlots.add(event.getDate().plusHours(i));
+                }
+            }
+        }
+        this.hourSlots = hourSlots;
+    }
+
+    /**
+     * Adds an event added to the list to the interval tree, or to the recurring events.
+     * @param event The event added to the list.
+     */
+    private void addInterval(Event event) {
+        if (event.isRecurring()) {
+            this.recurringEvents.add(event);
+        } else {
+            this.intervals.add(event);
+        }
+    }
+
+    /**
+     * Removes an event removed from the list from the interval tree, or from the recurring events.
+     * @param event The event removed from the list.
+     */
+    private void removeInterval(Event event) {
+        if (event.isRecurring()) {
+            this.recurringEvents.remove(event);
+        } else {
+            this.intervals.remove(event);
+        }
+    }
+
+    /**
+     * Finds the events of the list that take at least one same hour as an event, the event itself included.
+     * The single events come from the interval tree, by start hour and then in the order of the list,
+     * and are followed by the recurring events that overlap the event.
+     * @param event The event.
+     * @return The overlapping events.
+     */
+    private ArrayList<Event> findOverlapping(Event event) {
+        ArrayList<Event> overlapping = this.intervals.findOverlapping(event.getDate(), event.getLastEndDate());
+        if (event.isRecurring()) {
+            overlapping.removeIf(otherEvent -> !otherEvent.overlaps(event));
+        }
+        for (int i = 0; i < this.recurringEvents.size(); i++) {
+            Event otherEvent = this.recurringEvents.get(i);
+            if (otherEvent.overlaps(event)) {
+                overlapping.add(otherEvent);
+            }
+        }
+        return overlapping;
+    }
+
+    /**
+     * Checks if an event of the list is also the one the map keeps for its name.
+     * @param event The event.
+     * @return True if the event is in the map, otherwise false.
+     */
+    boolean isInMap(Event event) {
+        return this.eventsMap.get(event.getName()) == event;
+    }
+
+    /**
+     * Removes the event name from the order list.
+     * @param eventName The name of the event to be removed from the order list.
+     */
+    private void removeEventNameFromOrderList(String eventName) {
+        ArrayList<Event> named = this.eventsByName.get(eventName);
+        if (named != null) {
+            this.removeFromOrder(named.get(0));
         }
     }
 
@@ -97,9 +305,53 @@ public class Events {
      * @return True if there is an event on the date for the specified account, otherwise false.
      */
     public boolean hasEventOnDate(LocalDateTime ldt, String accName) {
-        for (Map.Entry<String, Event> eventEntry : eventsMap.entrySet()) {
-            Event event = eventEntry.getValue();
-            if(event.getDate().equals(ldt) && event.isPromoter(accName) || event.getDate().equals(ldt) && event.isEventAccepted(accName)) {
+        // No single event of the collection takes that hour, so only a recurring one can be on it.
+        if (!this.hourSlots.mightContain(ldt)) {
+            return this.isAttending(this.recurringEvents, ldt, ldt.plusHours(1), accName);
+        }
+        return this.hasEventDuring(ldt, ldt.plusHours(1), accName);
+    }
+
+    /**
+     * Checks if an account is the promoter of, or has accepted, an event that takes an hour of a period.
+     * @param start The start of the period, included.
+     * @param end The end of the period, excluded.
+     * @param accName The name of the account.
+     * @return True if the account has an event during the period, otherwise false.
+     */
+    public boolean hasEventDuring(LocalDateTime start, LocalDateTime end, String accName) {
+        return this.isAttending(this.intervals.findOverlapping(start, end), start, end, accName)
+                || this.isAttending(this.recurringEvents, start, end, accName);
+    }
+
+    /**
+     * Checks if an account is the promoter of, or has accepted, one of the given events of the map during a period.
+     * @param events The events to check.
+     * @param start The start of the period, included.
+     * @param end The end of the period, excluded.
+     * @param accName The name of the account.
+     * @return True if one of the events is attended by the account during the period, otherwise false.
+     */
+    private boolean isAttending(ArrayList<Event> events, LocalDateTime start, LocalDateTime end, String accName) {
+        for (int i = 0; i < events.size(); i++) {
+            Event event = events.get(i);
+            if (this.isInMap(event) && (event.isPromoter(accName) || event.isEventAccepted(accName)) && event.occursDuring(start, end)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if an event overlaps another event that an account is the promoter of or has accepted.
+     * Every occurrence of a recurring event is checked, without being materialized.
+     * @param event The event to check.
+     * @param accName The name of the account.
+     * @return True if the account has another event during the event, otherwise false.
+     */
+    public boolean hasEventOverlapping(Event event, String accName) {
+        for (Event otherEvent : this.findOverlapping(event)) {
+            if (otherEvent != event && this.isInMap(otherEvent) && (otherEvent.isPromoter(accName) || otherEvent.isEventAccepted(accName))) {
                 return true;
             }
         }
@@ -123,6 +375,23 @@ public class Events {
         return accountEvents;
     }
 
+    /**
+     * Retrieves the status lines of all events in the collection, in the same order as {@link #getEvents()}.
+     * Each line is kept by its event until the event changes, so only changed events build theirs again.
+     * @return An ArrayList containing the status line of each event.
+     */
+    public ArrayList<String> getStatusLines() {
+        ArrayList<String> statusLines = new ArrayList<>(this.eventsOrder.size());
+
+        for (int i = 0; i < this.eventsOrder.size(); i++) {
+            Event event = this.eventsOrder.get(i);
+            if (event != null) {
+                statusLines.add(event.getStatusLine());
+            }
+        }
+        return statusLines;
+    }
+
     /**
      * Retrieves a list of events on the same date as a given event, excluding the event itself.
      * @param event The event to compare dates.
@@ -132,22 +401,60 @@ public class Events {
     public ArrayList<Event> getEventsListByDate(Event event, String accName) {
         ArrayList<Event> eventList = new ArrayList<>();
 
-        for (int i = 0; i < this.eventsOrder.size(); i++) {
-            Event otherEvent = this.eventsOrder.get(i);
-
+        for (Event otherEvent : this.findOverlapping(event)) {
             if (!otherEvent.isEventRejected(accName)) {
-                if((event.getDate().equals(otherEvent.getDate()) && !event.getName().equals(otherEvent.getName())) ||
-                        (event.getDate().equals(otherEvent.getDate()) && event.getName().equals(otherEvent.getName()) && 
-                                !event.getPromoterName().equals(otherEvent.getPromoterName()))) {
-                    if (!eventList.contains(otherEvent)) {
-                        eventList.add(otherEvent);
-                    }
+                if(!event.getName().equals(otherEvent.getName()) ||
+                        !event.getPromoterName().equals(otherEvent.getPromoterName())) {
+                    eventList.add(otherEvent);
+                }
+            }
+        }
+        return eventList;
+    }
+
+    /**
+     * Retrieves the events on the same date as a given event to which an account was invited,
+     * excluding the event itself, without copying the invited events into a new collection first.
+     * @param event The event to compare dates.
+     * @param accName The name of the invited account.
+     * @return An ArrayList containing the invited events on the same date as the given event.
+     */
+    public ArrayList<Event> getInvitedEventsListByDate(Event event, String accName) {
+        ArrayList<Event> eventList = new ArrayList<>();
+
+        for (Event otherEvent : this.findOverlapping(event)) {
+            if (otherEvent.isAccountInvited(accName) && !otherEvent.isEventRejected(accName)) {
+                if(!event.getName().equals(otherEvent.getName()) ||
+                        !event.getPromoterName().equals(otherEvent.getPromoterName())) {
+                    eventList.add(otherEvent);
                 }
             }
         }
         return eventList;
     }
 
+    /**
+     * Retrieves the last event with the given name to which an account was invited, in the order of the collection.
+     * It is the event that {@link #getInviteeEvents(String)} would keep for that name, found without copying.
+     * Only the events with that name are checked, so the lookup does not depend on the size of the collection.
+     * @param accName The name of the invited account.
+     * @param eventName The name of the event.
+     * @return The invited event, or null if the account was not invited to an event with that name.
+     */
+    public Event getLastInvitedEvent(String accName, String eventName) {
+        ArrayList<Event> named = this.eventsByName.get(eventName);
+        if (named == null) {
+            return null;
+        }
+        for (int i = named.size() - 1; i >= 0; i--) {
+            Event event = named.get(i);
+            if (event.isAccountInvited(accName)) {
+                return event;
+            }
+        }
+        return null;
+    }
+
     /**
      * Checks if an account is on the invitation list for a specific event.
      * @param accName The name of the account to check.
@@ -155,14 +462,8 @@ public class Events {
      * @return True if the account is on the invitation list for the event, otherwise false.
      */
     public boolean isOnInvitationList(String accName, String eventName) {
-        for (Map.Entry<String, Event> eventEntry : eventsMap.entrySet()) {
-            String eventN = eventEntry.getKey();
-            Event event = eventEntry.getValue();
-            if(eventN.equals(eventName) && event.isAccountInvited(accName)) {
-                return true;
-            }
-        }
-        return false;
+        Event event = this.eventsMap.get(eventName);
+        return event != null && event.isAccountInvited(accName);
     }
 
     /**
@@ -172,14 +473,8 @@ public class Events {
      * @return True if the account has already responded to the event, otherwise false.
      */
     public boolean hasAlreadyResponded(String accName, String eventName) {
-        for (Map.Entry<String, Event> eventEntry : eventsMap.entrySet()) {
-            String eventN = eventEntry.getKey();
-            Event event = eventEntry.getValue();
-            if(eventN.equals(eventName) && (event.isEventAccepted(accName) || event.isEventRejected(accName))) {
-                return true;
-            }
-        }
-        return false;
+        Event event = this.eventsMap.get(eventName);
+        return event != null && (event.isEventAccepted(accName) || event.isEventRejected(accName));
     }
 
     /**
@@ -202,7 +497,7 @@ public class Events {
         Iterator<Event> itEvents = this.eventsOrder.iterator();
         while(itEvents.hasNext()) {
             Event event = itEvents.next();
-            if(event.isPromoter(promoterName)) {
+            if(event != null && event.isPromoter(promoterName)) {
                 promoteEventsList.addEvent(event, promoterName);
             }
         }
@@ -220,7 +515,7 @@ public class Events {
         Iterator<Event> itEvents = this.eventsOrder.iterator();
         while(itEvents.hasNext()) {
             Event event = itEvents.next();
-            if (event.isAccountInvited(inviteeName)) {
+            if (event != null && event.isAccountInvited(inviteeName)) {
                 inviteeEventsList.addEvent(event, null);
             }
         }
@@ -234,14 +529,8 @@ public class Events {
      * @return The event promoted by the specified account with the given name, or null if not found.
      */
     public Event getPromoteEventByName(String promoterName, String eventName){
-        for (Map.Entry<String, Event> eventEntry : eventsMap.entrySet()) {
-            String otherEventName = eventEntry.getKey();
-            Event event = eventEntry.getValue();
-            if(otherEventName.equals(eventName) && event.isPromoter(promoterName)) {
-                return event;
-            }
-        }
-        return null;
+        Event event = this.eventsMap.get(eventName);
+        return event != null && event.isPromoter(promoterName) ? event : null;
     }
 
     /**
@@ -251,14 +540,8 @@ public class Events {
      * @return The event invited to the specified account with the given name, or null if not found.
      */
     public Event getInviteeEventByName(String inviteeName, String eventName){
-        for (Map.Entry<String, Event> eventEntry : eventsMap.entrySet()) {
-            String otherEventName = eventEntry.getKey();
-            Event event = eventEntry.getValue();
-            if(otherEventName.equals(eventName) && event.isAccountInvited(inviteeName)) {
-                return event;
-            }
-        }
-        return null;
+        Event event = this.eventsMap.get(eventName);
+        return event != null && event.isAccountInvited(inviteeName) ? event : null;
     }
 
     /**
@@ -268,14 +551,8 @@ public class Events {
      * @return True if the event is accepted by the specified account, otherwise false.
      */
     public boolean isEventAccepted(String accName, String eventName) {
-        for (Map.Entry<String, Event> eventEntry : eventsMap.entrySet()) {
-            String otherEventName = eventEntry.getKey();
-            Event event = eventEntry.getValue();
-            if(otherEventName.equals(eventName) && event.isEventAccepted(accName)) {
-                return true;
-            }
-        }
-        return false;
+        Event event = this.eventsMap.get(eventName);
+        return event != null && event.isEventAccepted(accName);
     }
     /**
      * Checks if an event is rejected by a specific account.
@@ -284,14 +561,8 @@ public class Events {
      * @return True if the event is rejected by the specified account, otherwise false.
      */
     public boolean isEventRejected(String accName, String eventName) {
-        for (Map.Entry<String, Event> eventEntry : eventsMap.entrySet()) {
-            String otherEventName = eventEntry.getKey();
-            Event event = eventEntry.getValue();
-            if(otherEventName.equals(eventName) && event.isEventRejected(accName)) {
-                return true;
-            }
-        }
-        return false;
+        Event event = this.eventsMap.get(eventName);
+        return event != null && event.isEventRejected(accName);
     }
 
     /**
@@ -342,17 +613,71 @@ public class Events {
      * @return True if there is a high priority event on the date for the specified account, otherwise false.
      */
     public boolean hasHighEventOnDate(Event event, String accName) {
-        for (Map.Entry<String, Event> eventEntry : eventsMap.entrySet()) {
-            Event otherEvent = eventEntry.getValue();
-            boolean matchDate = otherEvent.getDate().equals(event.getDate());
-
-            if (matchDate && otherEvent.isPromoter(accName) && EventType.isHigh(otherEvent.getType())) {
+        for (Event otherEvent : this.findOverlapping(event)) {
+            if (!this.isInMap(otherEvent)) {
+                continue;
+            }
+            if (otherEvent.isPromoter(accName) && EventType.isHigh(otherEvent.getType())) {
                 return true;
             }
-            if (matchDate && otherEvent.isEventAccepted(accName) && EventType.isHigh(otherEvent.getType())) {
+            if (otherEvent.isEventAccepted(accName) && EventType.isHigh(otherEvent.getType())) {
                 return true;
             }
         }
         return false;
     }
+
+    /**
+     * Estimates the heap used by the collection, without the events it refers to.
+     * @return The size in bytes of the collection, its order list and its indexes, its map, its hour filter,
+     * its interval tree and its recurring events.
+     */
+    long estimateCollectionSize() {
+        long namesSize = MemoryEstimator.hashMapSize(this.eventsByName.size());
+        for (ArrayList<Event> named : this.eventsByName.values()) {
+            namesSize += MemoryEstimator.singletonArrayListSize(named.size());
+        }
+        return MemoryEstimator.align(12 + 7 * 4) + MemoryEstimator.arrayListSize(this.eventsOrder.size())
+                + MemoryEstimator.hashMapSize(this.eventsIndex.size()) + namesSize
+                + MemoryEstimator.hashMapSize(this.eventsMap.size()) + this.hourSlots.estimateSize()
+                + this.intervals.estimateSize() + MemoryEstimator.arrayListSize(this.recurringEvents.size());
+    }
+
+    /**
+     * Checks if the list holds an event, compared by identity.
+     * @param event The event.
+     * @return True if the event is in the list, otherwise false.
+     */
+    boolean holdsEvent(Event event) {
+        return this.eventsIndex.containsKey(event);
+    }
+
+    /**
+     * Sets the event the map keeps for a name, and updates the hour filter.
+     * @param eventName The name.
+     * @param event The event, already in the list, or null to keep no event for the name.
+     */
+    void mapEvent(String eventName, Event event) {
+        Event previous = event == null ? this.eventsMap.remove(eventName) : this.eventsMap.put(eventName, event);
+        if (previous != event) {
+            if (previous != null) {
+                this.removeSlot(previous);
+            }
+            if (event != null) {
+                this.addSlot(event);
+            }
+        }
+    }
+
+    /**
+     * Gives back an event removed by {@link #removeEvent(Event)}, at the end of the list.
+     * @param event The event.
+     * @param mapped True if the map kept the event for its name before it was removed.
+     */
+    void restoreEvent(Event event, boolean mapped) {
+        this.addToOrder(event);
+        if (mapped) {
+            this.mapEvent(event.getName(), event);
+        }
+    }
 }
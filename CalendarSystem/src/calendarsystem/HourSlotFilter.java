@@ -0,0 +1,161 @@
+package calendarsystem;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * A counting Bloom filter over the hour slots of a collection of events.
+ * Every event adds one to two counters chosen by the hash of its hour, and removing the event takes them back,
+ * so the filter never forgets an hour that still has an event. When one of the counters of an hour is zero,
+ * no event of the collection starts in that hour and a busy check can answer at once; otherwise the hour is
+ * only possibly taken and the caller must check the events themselves.
+ * A counter that reaches its largest value sticks to it, which keeps the filter correct at the cost of a false positive.
+ * The filter has a fixed size, so its owner builds a larger one again from its events once it is crowded.
+ */
+public class HourSlotFilter {
+
+    // The smallest number of counters.
+    private static final int MIN_SIZE = 64;
+
+    // The number of counters per recorded hour under which the filter is crowded, about 5% of false positives.
+    private static final int COUNTERS_PER_HOUR = 8;
+
+    // The largest value of a counter, after which it is never decremented.
+    private static final int MAX_COUNT = 0xFF;
+
+    // The counters, one unsigned byte each, a power of two of them.
+    private byte[] counters;
+
+    // The number of recorded hours.
+    private int hours;
+
+    /**
+     * Initializes an empty filter of the smallest size.
+     */
+    public HourSlotFilter() {
+        this(0);
+    }
+
+    /**
+     * Initializes an empty filter with room for twice the given number of hours before it is crowded.
+     * @param expectedHours The number of hours about to be recorded.
+     */
+    public HourSlotFilter(int expectedHours) {
+        int size = MIN_SIZE;
+        while (size < 2L * expectedHours * COUNTERS_PER_HOUR) {
+            size <<= 1;
+        }
+        this.counters = new byte[size];
+        this.hours = 0;
+    }
+
+    /**
+     * Initializes a filter with a copy of the counters of another one.
+     * @param other The filter to copy.
+     */
+    public HourSlotFilter(HourSlotFilter other) {
+        this.counters = other.counters.clone();
+        this.hours = other.hours;
+    }
+
+    /**
+     * Records an event in the hour of the given date.
+     * @param ldt The date of the event.
+     */
+    public void add(LocalDateTime ldt) {
+        long hash = hashOf(ldt);
+        this.increment(this.firstIndex(hash));
+        this.increment(this.secondIndex(hash));
+        this.hours++;
+    }
+
+    /**
+     * Forgets an event in the hour of the given date, which must have been added before.
+     * @param ldt The date of the event.
+     */
+    public void remove(LocalDateTime ldt) {
+        long hash = hashOf(ldt);
+        this.decrement(this.firstIndex(hash));
+        this.decrement(this.secondIndex(hash));
+        this.hours--;
+    }
+
+    /**
+     * Checks if an event may start in the hour of the given date.
+     * @param ldt The date to check.
+     * @return false if no recorded event starts in that hour, true if one possibly does.
+     */
+    public boolean mightContain(LocalDateTime ldt) {
+        long hash = hashOf(ldt);
+        return this.counters[this.firstIndex(hash)] != 0 && this.counters[this.secondIndex(hash)] != 0;
+    }
+
+    /**
+     * Checks if the filter holds too many hours for its size to keep false positives rare.
+     * @return true if a larger filter should replace it, false otherwise.
+     */
+    public boolean isCrowded() {
+        return (long) this.hours * COUNTERS_PER_HOUR > this.counters.length;
+    }
+
+    /**
+     * Estimates the heap used by the filter.
+     * @return the size in bytes, with its counters.
+     */
+    long estimateSize() {
+        return MemoryEstimator.align(12 + 4 + 4) + MemoryEstimator.arraySize(this.counters.length, 1);
+    }
+
+    /**
+     * Increments a counter unless it is saturated.
+     * @param index The index of the counter.
+     */
+    private void increment(int index) {
+        int count = this.counters[index] & 0xFF;
+        if (count < MAX_COUNT) {
+            this.counters[index] = (byte) (count + 1);
+        }
+    }
+
+    /**
+     * Decrements a counter unless it is empty or saturated.
+     * @param index The index of the counter.
+     */
+    private void decrement(int index) {
+        int count = this.counters[index] & 0xFF;
+        if (count > 0 && count < MAX_COUNT) {
+            this.counters[index] = (byte) (count - 1);
+        }
+    }
+
+    /**
+     * Gets the mixed hash of the hour of a date.
+     * @param ldt The date.
+     * @return the hash of the hour.
+     */
+    private static long hashOf(LocalDateTime ldt) {
+        long hour = Math.floorDiv(ldt.toEpochSecond(ZoneOffset.UTC), 3600L);
+        long hash = hour * 0x9E3779B97F4A7C15L;
+        hash ^= hash >>> 29;
+        hash *= 0xBF58476D1CE4E5B9L;
+        return hash ^ (hash >>> 32);
+    }
+
+    /**
+     * Gets the first counter of a hash.
+     * @param hash The hash of an hour.
+     * @return the index of the counter.
+     */
+    private int firstIndex(long hash) {
+        return (int) hash & (this.counters.length - 1);
+    }
+
+    /**
+     * Gets the second counter of a hash.
+     * @param hash The hash of an hour.
+     * @return the index of the counter.
+     */
+    private int secondIndex(long hash) {
+        return (int) (hash >>> 40) & (this.counters.length - 1);
+    }
+}
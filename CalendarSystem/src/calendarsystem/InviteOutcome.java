@@ -0,0 +1,36 @@
+package calendarsystem;
+
+/**
+ * Enumeration representing the outcome of an invitation.
+ */
+public enum InviteOutcome {
+
+    /** The account was invited and has not answered yet. */
+    INVITED,
+
+    /** The account is a staff member invited to a high priority event, so it accepted at once. */
+    ACCEPTED,
+
+    /** The promoter account does not exist. */
+    UNKNOWN_PROMOTER,
+
+    /** The invited account does not exist. */
+    UNKNOWN_INVITEE,
+
+    /** The promoter has no event with the given name. */
+    UNKNOWN_EVENT,
+
+    /** The account was already invited to an event with the given name. */
+    ALREADY_INVITED,
+
+    /** The account is already attending another event at the same time. */
+    ALREADY_ATTENDING;
+
+    /**
+     * Checks if the invitation changed the calendar.
+     * @return true if the account was invited, false if the invitation was refused.
+     */
+    public boolean isSuccess() {
+        return this == INVITED || this == ACCEPTED;
+    }
+}
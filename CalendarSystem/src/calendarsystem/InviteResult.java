@@ -0,0 +1,96 @@
+package calendarsystem;
+
+import java.util.ArrayList;
+
+/**
+ * The result of an invitation: its outcome and, for accepted invitations, the conflicting events
+ * of the invited account, in the order they were removed or rejected.
+ */
+public class InviteResult {
+
+    // The name of the invited account.
+    private String inviteeName;
+
+    // The outcome of the invitation.
+    private InviteOutcome outcome;
+
+    // The conflicting events, in the order they were handled.
+    private ArrayList<Event> conflicts;
+
+    // The promoter of each conflicting event, before it was handled.
+    private ArrayList<String> conflictPromoters;
+
+    /**
+     * Initializes a result without conflicting events.
+     * @param inviteeName The name of the invited account.
+     * @param outcome The outcome of the invitation.
+     */
+    public InviteResult(String inviteeName, InviteOutcome outcome) {
+        this.inviteeName = inviteeName;
+        this.outcome = outcome;
+        this.conflicts = new ArrayList<>();
+        this.conflictPromoters = new ArrayList<>();
+    }
+
+    /**
+     * Records a conflicting event handled by the invitation.
+     * @param event The conflicting event.
+     * @param promoterName The promoter of the event, before it was handled.
+     */
+    void addConflict(Event event, String promoterName) {
+        this.conflicts.add(event);
+        this.conflictPromoters.add(promoterName);
+    }
+
+    /**
+     * Gets the name of the invited account.
+     * @return the name of the invited account.
+     */
+    public String getInviteeName() {
+        return this.inviteeName;
+    }
+
+    /**
+     * Gets the outcome of the invitation.
+     * @return the outcome.
+     */
+    public InviteOutcome getOutcome() {
+        return this.outcome;
+    }
+
+    /**
+     * Gets the number of conflicting events handled by the invitation.
+     * @return the number of conflicting events.
+     */
+    public int getConflictCount() {
+        return this.conflicts.size();
+    }
+
+    /**
+     * Gets a conflicting event.
+     * @param index The position of the event, in the order it was handled.
+     * @return the conflicting event.
+     */
+    public Event getConflictEvent(int index) {
+        return this.conflicts.get(index);
+    }
+
+    /**
+     * Gets the promoter of a conflicting event, as it was before the event was handled.
+     * @param index The position of the event, in the order it was handled.
+     * @return the name of the promoter.
+     */
+    public String getConflictPromoter(int index) {
+        return this.conflictPromoters.get(index);
+    }
+
+    /**
+     * Checks if a conflicting event was removed, because the invited account promoted it.
+     * Otherwise the invited account rejected it.
+     * @param index The position of the event, in the order it was handled.
+     * @return true if the event was removed, false if it was rejected.
+     */
+    public boolean isConflictRemoved(int index) {
+        return this.inviteeName.equals(this.conflictPromoters.get(index));
+    }
+}
@@ -0,0 +1,48 @@
+package calendarsystem;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A flight recorder event emitted when an account creates a calendar event.
+ */
+@Name("calendarsystem.AddEvent")
+@Label("Add Event")
+@Category("Calendar System")
+@Description("An account creates an event.")
+class JfrAddEvent extends jdk.jfr.Event {
+
+    @Label("Account")
+    String account;
+
+    @Label("Event")
+    String eventName;
+
+    @Label("Priority")
+    String priority;
+
+    @Label("Topics")
+    int topicCount;
+
+    @Label("Account Events")
+    @Description("The number of events of the account after the creation, which its date checks scan.")
+    int accountEvents;
+
+    /**
+     * Commits the event if it is enabled and passes its threshold; otherwise the fields are not even filled.
+     * @param acc The account that created the event.
+     * @param event The created event.
+     */
+    void finish(AccountInterface acc, Event event) {
+        if (this.shouldCommit()) {
+            this.account = acc.getName();
+            this.eventName = event.getName();
+            this.priority = event.getType();
+            this.topicCount = event.getTopics().size();
+            this.accountEvents = acc.getAllAccountEvents().size();
+            this.commit();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package calendarsystem;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A flight recorder event emitted when an invitation is applied, with the cascade of an accepted one.
+ */
+@Name("calendarsystem.Invite")
+@Label("Invite")
+@Category("Calendar System")
+@Description("An account is invited to an event, and its conflicting events are removed or rejected.")
+class JfrInvite extends jdk.jfr.Event {
+
+    @Label("Promoter")
+    String promoter;
+
+    @Label("Event")
+    String eventName;
+
+    @Label("Invitee")
+    String invitee;
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("Invitee Events")
+    @Description("The number of events of the invitee, which the conflict checks scan.")
+    int inviteeEvents;
+
+    @Label("Conflicts Found")
+    int conflictsFound;
+
+    @Label("Conflicts Removed")
+    @Description("The conflicting events promoted by the invitee, removed with all their invitations.")
+    int conflictsRemoved;
+
+    /**
+     * Commits the event if it is enabled and passes its threshold; otherwise the fields are not even filled.
+     * @param result The result of the invitation, with its conflicting events.
+     * @param accInvitee The account that was invited.
+     * @param event The event.
+     */
+    void finish(InviteResult result, AccountInterface accInvitee, Event event) {
+        if (this.shouldCommit()) {
+            this.promoter = event.getPromoterName();
+            this.eventName = event.getName();
+            this.invitee = accInvitee.getName();
+            this.outcome = result.getOutcome().toString();
+            this.inviteeEvents = accInvitee.getAllAccountEvents().size();
+            this.conflictsFound = result.getConflictCount();
+            this.conflictsRemoved = 0;
+            for (int i = 0; i < result.getConflictCount(); i++) {
+                if (result.isConflictRemoved(i)) {
+                    this.conflictsRemoved++;
+                }
+            }
+            this.commit();
+        }
+    }
+}
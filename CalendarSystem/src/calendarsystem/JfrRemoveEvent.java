@@ -0,0 +1,43 @@
+package calendarsystem;
+
+import java.util.ArrayList;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A flight recorder event emitted when a promoter removes one of its events.
+ */
+@Name("calendarsystem.RemoveEvent")
+@Label("Remove Event")
+@Category("Calendar System")
+@Description("A promoter removes an event from its account and from the accounts of its invitees.")
+class JfrRemoveEvent extends jdk.jfr.Event {
+
+    @Label("Promoter")
+    String promoter;
+
+    @Label("Event")
+    String eventName;
+
+    @Label("Invitees")
+    @Description("The number of invited accounts the event was removed from.")
+    int invitees;
+
+    /**
+     * Commits the event if it is enabled and passes its threshold; otherwise the fields are not even filled.
+     * @param promoterName The name of the promoter.
+     * @param event The removed event.
+     * @param inviteeNames The names of the invitees the event was removed from.
+     */
+    void finish(String promoterName, Event event, ArrayList<String> inviteeNames) {
+        if (this.shouldCommit()) {
+            this.promoter = promoterName;
+            this.eventName = event.getName();
+            this.invitees = inviteeNames.size();
+            this.commit();
+        }
+    }
+}
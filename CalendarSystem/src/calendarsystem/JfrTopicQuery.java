@@ -0,0 +1,48 @@
+package calendarsystem;
+
+import java.util.ArrayList;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A flight recorder event emitted when the events on a list of topics are searched.
+ */
+@Name("calendarsystem.TopicQuery")
+@Label("Topic Query")
+@Category("Calendar System")
+@Description("The events that have at least one of the given topics are searched.")
+class JfrTopicQuery extends jdk.jfr.Event {
+
+    @Label("Topics")
+    String topics;
+
+    @Label("Cached")
+    @Description("Whether the result was served by the topic query cache.")
+    boolean cached;
+
+    @Label("Accounts Scanned")
+    int accountsScanned;
+
+    @Label("Result Size")
+    int resultSize;
+
+    /**
+     * Commits the event if it is enabled and passes its threshold; otherwise the fields are not even filled.
+     * @param topics The topics of the query.
+     * @param cached True if the result was served by the cache.
+     * @param accountsScanned The number of accounts scanned, 0 for a cached result.
+     * @param result The events found.
+     */
+    void finish(ArrayList<String> topics, boolean cached, int accountsScanned, ArrayList<Event> result) {
+        if (this.shouldCommit()) {
+            this.topics = String.join(" ", topics);
+            this.cached = cached;
+            this.accountsScanned = accountsScanned;
+            this.resultSize = result.size();
+            this.commit();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package calendarsystem;
+
+/**
+ * A histogram of latencies in nanoseconds with a fixed relative precision.
+ * Values are grouped by their highest bit and then into 16 linear sub-buckets, so each bucket spans at
+ * most 1/16 of its values. All the buckets are allocated up front and recording never allocates, so it
+ * can be done on the measured path. A histogram is not thread-safe: each thread records into its own
+ * and the histograms are added together at the end.
+ */
+public class LatencyHistogram {
+
+    // The number of sub-buckets of each power of two, as a number of bits.
+    private static final int SUB_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    // The counts of the buckets.
+    private long[] counts;
+
+    // The number of recorded values.
+    private long count;
+
+    // The sum, the minimum and the maximum of the recorded values.
+    private long sum;
+    private long min;
+    private long max;
+
+    /**
+     * Initializes an empty histogram.
+     */
+    public LatencyHistogram() {
+        this.counts = new long[(64 - SUB_BITS + 1) * SUB_BUCKETS];
+        this.reset();
+    }
+
+    /**
+     * Records a value.
+     * @param nanos The value, negative values are recorded as zero.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        this.counts[bucketOf(value)]++;
+        this.count++;
+        this.sum += value;
+        this.min = Math.min(this.min, value);
+        this.max = Math.max(this.max, value);
+    }
+
+    /**
+     * Adds the values recorded by another histogram to this one.
+     * @param other The other histogram.
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < this.counts.length; i++) {
+            this.counts[i] += other.counts[i];
+        }
+        this.count += other.count;
+        this.sum += other.sum;
+        this.min = Math.min(this.min, other.min);
+        this.max = Math.max(this.max, other.max);
+    }
+
+    /**
+     * Removes every recorded value.
+     */
+    public void reset() {
+        for (int i = 0; i < this.counts.length; i++) {
+            this.counts[i] = 0;
+        }
+        this.count = 0;
+        this.sum = 0;
+        this.min = Long.MAX_VALUE;
+        this.max = 0;
+    }
+
+    /**
+     * Gets the number of recorded values.
+     * @return the number of values.
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * Gets the mean of the recorded values.
+     * @return the mean, or 0 if no value was recorded.
+     */
+    public double getMean() {
+        return this.count == 0 ? 0 : (double) this.sum / this.count;
+    }
+
+    /**
+     * Gets the smallest recorded value.
+     * @return the minimum, or 0 if no value was recorded.
+     */
+    public long getMin() {
+        return this.count == 0 ? 0 : this.min;
+    }
+
+    /**
+     * Gets the largest recorded value.
+     * @return the maximum.
+     */
+    public long getMax() {
+        return this.max;
+    }
+
+    /**
+     * Gets the value below which the given percentage of the recorded values fall.
+     * @param percentile The percentage, between 0 and 100.
+     * @return the upper bound of the bucket that holds the percentile, at most the maximum.
+     */
+    public long getPercentile(double percentile) {
+        if (this.count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile / 100.0 * this.count);
+        rank = Math.max(1, Math.min(this.count, rank));
+        long seen = 0;
+        for (int i = 0; i < this.counts.length; i++) {
+            seen += this.counts[i];
+            if (seen >= rank) {
+                return Math.min(this.max, upperBoundOf(i));
+            }
+        }
+        return this.max;
+    }
+
+    /**
+     * Gets the bucket of a value.
+     * @param value The value, not negative.
+     * @return the index of the bucket.
+     */
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        int sub = (int) (value >>> shift) - SUB_BUCKETS;
+        return (shift + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Gets the largest value of a bucket.
+     * @param bucket The index of the bucket.
+     * @return the upper bound of the bucket.
+     */
+    private static long upperBoundOf(int bucket) {
+        int magnitude = bucket / SUB_BUCKETS;
+        int sub = bucket % SUB_BUCKETS;
+        if (magnitude == 0) {
+            return sub;
+        }
+        int shift = magnitude - 1;
+        long lower = ((long) (SUB_BUCKETS + sub)) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,276 @@
+package calendarsystem;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+
+/**
+ * Estimates the heap retained by the accounts and events of a calendar system.
+ * Sizes follow the layout of a 64-bit JVM with compressed references: 12-byte object headers,
+ * 4-byte references and objects aligned to 8 bytes. Collections are sized from their number of
+ * elements and default growth, since their spare capacity is not visible, so results are estimates.
+ * Topic lists are copied from an array and have no spare capacity.
+ * An event is retained by its promoter, while its invitees only hold a reference to it. A name in an
+ * invitation list that is equal to, but not the same object as, the name of its account is a duplicate
+ * and is counted as such; the canonical names are counted with their accounts.
+ */
+public class MemoryEstimator {
+
+    // The size of an object header.
+    private static final int HEADER = 12;
+
+    // The size of a reference.
+    private static final int REFERENCE = 4;
+
+    // The size of the header of an array, with its length.
+    private static final int ARRAY_HEADER = 16;
+
+    // The alignment of objects.
+    private static final int ALIGNMENT = 8;
+
+    // The size of an ArrayList, a HashMap and a HashMap node, without their arrays.
+    private static final long ARRAY_LIST = align(HEADER + 4 + 4 + REFERENCE);
+    private static final long HASH_MAP = align(HEADER + 4 * REFERENCE + 4 * 4);
+    private static final long HASH_MAP_NODE = align(HEADER + 4 + 3 * REFERENCE);
+
+    // The size of a LinkedHashSet with its map, and of an entry of the map, without the table.
+    private static final long LINKED_HASH_SET = align(HEADER + REFERENCE) + align(HEADER + 6 * REFERENCE + 4 * 4 + 1);
+    private static final long LINKED_HASH_NODE = align(HEADER + 4 + 5 * REFERENCE);
+
+    // The size of a String, without its bytes.
+    private static final long STRING = align(HEADER + 4 + 1 + 1 + REFERENCE);
+
+    // The size of an account, with its reference to the collection of its events.
+    private static final long ACCOUNT = align(HEADER + 3 * REFERENCE);
+
+    // The size of an event, and of its date, as its time of day is a shared constant for whole hours.
+    private static final long EVENT = align(HEADER + 11 * REFERENCE + 2 * 4 + 8);
+    static final long DATE = align(HEADER + 2 * REFERENCE) + align(HEADER + 4 + 2 + 2);
+
+    // The default capacity of an ArrayList that received its first element.
+    private static final int DEFAULT_CAPACITY = 10;
+
+    // The smallest capacity of the table of a HashMap.
+    private static final int MIN_TABLE = 16;
+
+    // The calendar system.
+    private CalendarSystem calendar;
+
+    /**
+     * Initializes the estimator.
+     * @param calendar The calendar system whose state is estimated.
+     */
+    public MemoryEstimator(CalendarSystem calendar) {
+        this.calendar = calendar;
+    }
+
+    /**
+     * Estimates the retained size of the calendar. The caller must keep the calendar unchanged meanwhile.
+     * @param top The number of heaviest accounts and events to report.
+     * @return the report.
+     */
+    public MemoryReport estimate(int top) {
+        MemoryReport report = new MemoryReport();
+        ArrayList<AccountInterface> accounts = this.calendar.getSortedList();
+        ArrayList<MemoryReport.Entry> accountEntries = new ArrayList<>();
+        ArrayList<MemoryReport.Entry> eventEntries = new ArrayList<>();
+        IdentityHashMap<String, Boolean> duplicates = new IdentityHashMap<>();
+
+        report.accountsMapBytes = hashMapSize(accounts.size());
+        for (AccountInterface acc : accounts) {
+            String accName = acc.getName();
+            long accBytes = ACCOUNT + stringSize(accName);
+            report.accountBytes += accBytes;
+            if (acc instanceof Account) {
+                long collectionBytes = ((Account) acc).estimateCollectionSize();
+                report.collectionBytes += collectionBytes;
+                accBytes += collectionBytes;
+            }
+
+            for (Event event : acc.getAllAccountEvents()) {
+                if (!event.isPromoter(accName)) {
+                    continue;
+                }
+                long eventBytes = this.estimateEvent(event, report, duplicates);
+                eventEntries.add(new MemoryReport.Entry(event.getName(), accName, eventBytes));
+                accBytes += eventBytes;
+                report.eventCount++;
+            }
+            accountEntries.add(new MemoryReport.Entry(accName, null, accBytes));
+        }
+
+        report.accountCount = accounts.size();
+        report.topAccounts = heaviest(accountEntries, top);
+        report.topEvents = heaviest(eventEntries, top);
+        return report;
+    }
+
+    /**
+     * Estimates the retained size of an event, and adds its parts to the totals of the report.
+     * @param event The event.
+     * @param report The report that receives the totals.
+     * @param duplicates The duplicated names already counted, as an identity set.
+     * @return the retained size of the event.
+     */
+    private long estimateEvent(Event event, MemoryReport report, IdentityHashMap<String, Boolean> duplicates) {
+        long objectBytes = EVENT + DATE + stringSize(event.getName()) + stringSize(event.getType());
+        Recurrence recurrence = event.getRecurrence();
+        if (recurrence != null) {
+            objectBytes += recurrence.estimateSize();
+        }
+        String statusLine = event.getCachedStatusLine();
+        if (statusLine != null) {
+            objectBytes += stringSize(statusLine);
+        }
+        report.eventBytes += objectBytes;
+
+        ArrayList<String> topics = event.getTopics();
+        long topicBytes = ARRAY_LIST + arraySize(topics.size(), REFERENCE);
+        for (String topic : topics) {
+            topicBytes += stringSize(topic);
+        }
+        report.topicBytes += topicBytes;
+
+        ArrayList<String> invited = event.getAllInvitedNames();
+        ArrayList<String> accepted = event.getAcceptedNames();
+        ArrayList<String> rejected = event.getRejectedNames();
+        long rsvpBytes = linkedHashSetSize(invited.size()) + linkedHashSetSize(accepted.size()) + linkedHashSetSize(rejected.size());
+        report.rsvpBytes += rsvpBytes;
+
+        long duplicateBytes = this.countDuplicates(invited, duplicates, report)
+                + this.countDuplicates(accepted, duplicates, report)
+                + this.countDuplicates(rejected, duplicates, report);
+        return objectBytes + topicBytes + rsvpBytes + duplicateBytes;
+    }
+
+    /**
+     * Counts the names of a list that are copies of the name of their account.
+     * @param names The names of an invitation list.
+     * @param duplicates The duplicated names already counted, as an identity set.
+     * @param report The report that receives the totals.
+     * @return the size of the duplicated names not counted before.
+     */
+    private long countDuplicates(ArrayList<String> names, IdentityHashMap<String, Boolean> duplicates, MemoryReport report) {
+        long bytes = 0;
+        for (String name : names) {
+            AccountInterface acc = this.calendar.getAccountByName(name);
+            if (acc != null && acc.getName() != name && duplicates.put(name, Boolean.TRUE) == null) {
+                long size = stringSize(name);
+                report.duplicateNameCount++;
+                report.duplicateNameBytes += size;
+                bytes += size;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Estimates the size of a String, with its bytes.
+     * @param value The string.
+     * @return the size in bytes.
+     */
+    static long stringSize(String value) {
+        boolean latin1 = true;
+        for (int i = 0; i < value.length() && latin1; i++) {
+            latin1 = value.charAt(i) <= 0xFF;
+        }
+        return STRING + arraySize(value.length(), latin1 ? 1 : 2);
+    }
+
+    /**
+     * Estimates the size of an ArrayList filled by adding its elements one by one.
+     * @param size The number of elements.
+     * @return the size in bytes, without the elements.
+     */
+    static long arrayListSize(int size) {
+        if (size == 0) {
+            return ARRAY_LIST;
+        }
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity < size) {
+            capacity += capacity >> 1;
+        }
+        return ARRAY_LIST + arraySize(capacity, REFERENCE);
+    }
+
+    /**
+     * Estimates the size of an ArrayList created with room for one element and filled by adding its elements one by one.
+     * @param size The number of elements.
+     * @return the size in bytes, without the elements.
+     */
+    static long singletonArrayListSize(int size) {
+        int capacity = 1;
+        while (capacity < size) {
+            capacity = Math.max(capacity + (capacity >> 1), capacity + 1);
+        }
+        return ARRAY_LIST + arraySize(capacity, REFERENCE);
+    }
+
+    /**
+     * Estimates the size of a HashMap with the default load factor.
+     * @param size The number of entries.
+     * @return the size in bytes, without the keys and values.
+     */
+    static long hashMapSize(int size) {
+        if (size == 0) {
+            return HASH_MAP;
+        }
+        return HASH_MAP + arraySize(tableSize(size), REFERENCE) + size * HASH_MAP_NODE;
+    }
+
+    /**
+     * Estimates the size of a LinkedHashSet with the default load factor.
+     * @param size The number of elements.
+     * @return the size in bytes, without the elements.
+     */
+    static long linkedHashSetSize(int size) {
+        if (size == 0) {
+            return LINKED_HASH_SET;
+        }
+        return LINKED_HASH_SET + arraySize(tableSize(size), REFERENCE) + size * LINKED_HASH_NODE;
+    }
+
+    /**
+     * Gets the capacity of the table of a hash map filled by adding its entries one by one.
+     * @param size The number of entries, at least one.
+     * @return the number of buckets.
+     */
+    private static int tableSize(int size) {
+        int table = MIN_TABLE;
+        while (table * 3L / 4 < size) {
+            table <<= 1;
+        }
+        return table;
+    }
+
+    /**
+     * Estimates the size of an array.
+     * @param length The number of elements.
+     * @param elementSize The size of an element.
+     * @return the size in bytes.
+     */
+    static long arraySize(int length, int elementSize) {
+        return align(ARRAY_HEADER + (long) length * elementSize);
+    }
+
+    /**
+     * Estimates the size of an object with the given fields.
+     * @param fieldBytes The size of the header and the fields.
+     * @return the size in bytes, aligned.
+     */
+    static long align(long fieldBytes) {
+        return (fieldBytes + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+
+    /**
+     * Gets the heaviest entries, by decreasing size and then by name.
+     * @param entries The entries.
+     * @param top The number of entries to keep.
+     * @return the heaviest entries.
+     */
+    private static ArrayList<MemoryReport.Entry> heaviest(ArrayList<MemoryReport.Entry> entries, int top) {
+        entries.sort(Comparator.comparingLong(MemoryReport.Entry::getBytes).reversed()
+                .thenComparing(MemoryReport.Entry::getName));
+        return new ArrayList<>(entries.subList(0, Math.min(top, entries.size())));
+    }
+}
@@ -0,0 +1,152 @@
+package calendarsystem;
+
+import java.util.ArrayList;
+
+/**
+ * The estimated heap retained by a calendar system, as computed by {@link MemoryEstimator}, split by structure,
+ * with its heaviest accounts and events. All the sizes are in bytes.
+ */
+public class MemoryReport {
+
+    // The number of accounts and of events.
+    int accountCount;
+    int eventCount;
+
+    // The map of the accounts by name, without the accounts.
+    long accountsMapBytes;
+
+    // The accounts with their names.
+    long accountBytes;
+
+    // The collections of events of the accounts, without the events.
+    long collectionBytes;
+
+    // The events with their names, types, dates and status lines.
+    long eventBytes;
+
+    // The topic lists of the events, with the topics.
+    long topicBytes;
+
+    // The invitation lists of the events, without the names.
+    long rsvpBytes;
+
+    // The names in invitation lists that copy the name of their account.
+    int duplicateNameCount;
+    long duplicateNameBytes;
+
+    // The heaviest accounts and events.
+    ArrayList<Entry> topAccounts;
+    ArrayList<Entry> topEvents;
+
+    /**
+     * Initializes an empty report, filled by the estimator.
+     */
+    MemoryReport() {
+        this.topAccounts = new ArrayList<>();
+        this.topEvents = new ArrayList<>();
+    }
+
+    /**
+     * Gets the estimated size of the whole calendar.
+     * @return the sum of every structure.
+     */
+    public long getTotalBytes() {
+        return this.accountsMapBytes + this.accountBytes + this.collectionBytes + this.eventBytes
+                + this.topicBytes + this.rsvpBytes + this.duplicateNameBytes;
+    }
+
+    public int getAccountCount() {
+        return this.accountCount;
+    }
+
+    public int getEventCount() {
+        return this.eventCount;
+    }
+
+    public long getAccountsMapBytes() {
+        return this.accountsMapBytes;
+    }
+
+    public long getAccountBytes() {
+        return this.accountBytes;
+    }
+
+    public long getCollectionBytes() {
+        return this.collectionBytes;
+    }
+
+    public long getEventBytes() {
+        return this.eventBytes;
+    }
+
+    public long getTopicBytes() {
+        return this.topicBytes;
+    }
+
+    public long getRsvpBytes() {
+        return this.rsvpBytes;
+    }
+
+    public int getDuplicateNameCount() {
+        return this.duplicateNameCount;
+    }
+
+    public long getDuplicateNameBytes() {
+        return this.duplicateNameBytes;
+    }
+
+    /**
+     * Gets the heaviest accounts, with the events they promote.
+     * @return the accounts by decreasing size.
+     */
+    public ArrayList<Entry> getTopAccounts() {
+        return new ArrayList<>(this.topAccounts);
+    }
+
+    /**
+     * Gets the heaviest events.
+     * @return the events by decreasing size.
+     */
+    public ArrayList<Entry> getTopEvents() {
+        return new ArrayList<>(this.topEvents);
+    }
+
+    /**
+     * The estimated retained size of an account or of an event.
+     */
+    public static class Entry {
+
+        // The name of the account or of the event.
+        private String name;
+
+        // The promoter of the event, or null for an account.
+        private String promoterName;
+
+        // The retained size.
+        private long bytes;
+
+        /**
+         * Initializes an entry.
+         * @param name The name of the account or of the event.
+         * @param promoterName The promoter of the event, or null for an account.
+         * @param bytes The retained size.
+         */
+        Entry(String name, String promoterName, long bytes) {
+            this.name = name;
+            this.promoterName = promoterName;
+            this.bytes = bytes;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        public String getPromoterName() {
+            return this.promoterName;
+        }
+
+        public long getBytes() {
+            return this.bytes;
+        }
+    }
+}
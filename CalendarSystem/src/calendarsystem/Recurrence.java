@@ -0,0 +1,191 @@
+package calendarsystem;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+
+/**
+ * A rule that repeats an event every day or every week, a given number of times, from the date of the event.
+ * The occurrences are never stored: they are computed from the first date when a check or a query needs them,
+ * so a busy check on a recurring event costs the same whatever its number of occurrences. Only the skipped
+ * occurrences are kept, in a set that is only allocated by the first skip.
+ * The rule is owned by its event, which guards it with its monitor.
+ */
+public class Recurrence {
+
+    // The largest number of occurrences of a rule.
+    public static final int MAX_COUNT = 1000;
+
+    // How often the event repeats.
+    private RecurrenceType type;
+
+    // The number of occurrences, the skipped ones included.
+    private int count;
+
+    // The skipped occurrences, or null if none was skipped.
+    private HashSet<LocalDateTime> skipped;
+
+    /**
+     * Initializes a rule without skipped occurrences.
+     * @param type How often the event repeats.
+     * @param count The number of occurrences, from 1 to {@link #MAX_COUNT}.
+     */
+    public Recurrence(RecurrenceType type, int count) {
+        if (count < 1 || count > MAX_COUNT) {
+            throw new IllegalArgumentException("count must be between 1 and " + MAX_COUNT + ".");
+        }
+        this.type = type;
+        this.count = count;
+        this.skipped = null;
+    }
+
+    /**
+     * Initializes a copy of a rule, with its skipped occurrences.
+     * @param other The rule to copy.
+     */
+    public Recurrence(Recurrence other) {
+        this.type = other.type;
+        this.count = other.count;
+        this.skipped = other.skipped == null ? null : new HashSet<>(other.skipped);
+    }
+
+    /**
+     * Gets how often the event repeats.
+     * @return The recurrence type.
+     */
+    public RecurrenceType getType() {
+        return this.type;
+    }
+
+    /**
+     * Gets the number of occurrences, the skipped ones included.
+     * @return The number of occurrences.
+     */
+    public int getCount() {
+        return this.count;
+    }
+
+    /**
+     * Gets the number of skipped occurrences.
+     * @return The number of skipped occurrences.
+     */
+    public int getSkippedCount() {
+        return this.skipped == null ? 0 : this.skipped.size();
+    }
+
+    /**
+     * Gets an occurrence by its index, skipped or not.
+     * @param first The date of the event.
+     * @param index The index of the occurrence, 0 being the date of the event.
+     * @return The date of the occurrence.
+     */
+    public LocalDateTime getOccurrence(LocalDateTime first, int index) {
+        return first.plusDays((long) index * this.type.getDays());
+    }
+
+    /**
+     * Gets the last occurrence, skipped or not.
+     * @param first The date of the event.
+     * @return The date of the last occurrence.
+     */
+    public LocalDateTime getLastOccurrence(LocalDateTime first) {
+        return this.getOccurrence(first, this.count - 1);
+    }
+
+    /**
+     * Gets the index of an occurrence, skipped or not.
+     * @param first The date of the event.
+     * @param ldt The date to check.
+     * @return The index of the occurrence on that date, or -1 if the rule has no occurrence on it.
+     */
+    public int indexOf(LocalDateTime first, LocalDateTime ldt) {
+        if (ldt.isBefore(first) || !ldt.toLocalTime().equals(first.toLocalTime())) {
+            return -1;
+        }
+        long days = ChronoUnit.DAYS.between(first, ldt);
+        long index = days / this.type.getDays();
+        if (days % this.type.getDays() != 0 || index >= this.count) {
+            return -1;
+        }
+        return (int) index;
+    }
+
+    /**
+     * Gets the index of the first occurrence on or after a date, skipped or not.
+     * @param first The date of the event.
+     * @param from The date to start from.
+     * @return The index of the occurrence, which is the count of occurrences if all of them are before the date.
+     */
+    public int firstIndexFrom(LocalDateTime first, LocalDateTime from) {
+        if (!from.isAfter(first)) {
+            return 0;
+        }
+        long index = ChronoUnit.DAYS.between(first, from) / this.type.getDays();
+        while (index < this.count && this.getOccurrence(first, (int) index).isBefore(from)) {
+            index++;
+        }
+        return (int) Math.min(index, this.count);
+    }
+
+    /**
+     * Checks if the rule has an occurrence, not skipped, on a date.
+     * @param first The date of the event.
+     * @param ldt The date to check.
+     * @return true if the event occurs on that date, false otherwise.
+     */
+    public boolean occursAt(LocalDateTime first, LocalDateTime ldt) {
+        return this.indexOf(first, ldt) >= 0 && (this.skipped == null || !this.skipped.contains(ldt));
+    }
+
+    /**
+     * Expands the occurrences, not skipped, within a window.
+     * @param first The date of the event.
+     * @param from The start of the window, included.
+     * @param to The end of the window, excluded.
+     * @return The dates of the occurrences in the window, in order.
+     */
+    public ArrayList<LocalDateTime> getOccurrences(LocalDateTime first, LocalDateTime from, LocalDateTime to) {
+        ArrayList<LocalDateTime> occurrences = new ArrayList<>();
+        for (int i = this.firstIndexFrom(first, from); i < this.count; i++) {
+            LocalDateTime occurrence = this.getOccurrence(first, i);
+            if (!occurrence.isBefore(to)) {
+                break;
+            }
+            if (this.skipped == null || !this.skipped.contains(occurrence)) {
+                occurrences.add(occurrence);
+            }
+        }
+        return occurrences;
+    }
+
+    /**
+     * Skips an occurrence, which is then free in the calendars of the promoter and of the invitees.
+     * @param first The date of the event.
+     * @param ldt The date of the occurrence.
+     * @return true if the occurrence was skipped, false if the rule has no occurrence, not skipped, on that date.
+     */
+    boolean skip(LocalDateTime first, LocalDateTime ldt) {
+        if (!this.occursAt(first, ldt)) {
+            return false;
+        }
+        if (this.skipped == null) {
+            this.skipped = new HashSet<>();
+        }
+        this.skipped.add(ldt);
+        return true;
+    }
+
+    /**
+     * Estimates the heap used by the rule.
+     * @return The size in bytes of the rule and of its skipped occurrences.
+     */
+    long estimateSize() {
+        long size = MemoryEstimator.align(12 + 4 + 4 + 4);
+        if (this.skipped != null) {
+            size += MemoryEstimator.align(12 + 4) + MemoryEstimator.hashMapSize(this.skipped.size())
+                    + this.skipped.size() * MemoryEstimator.DATE;
+        }
+        return size;
+    }
+}
@@ -0,0 +1,55 @@
+package calendarsystem;
+
+/**
+ * Enumeration representing how often a recurring event repeats.
+ */
+public enum RecurrenceType {
+
+    DAILY("daily", 1), // Repeats every day
+    WEEKLY("weekly", 7); // Repeats every week
+
+    private String recurrenceType; // String representation of the recurrence type
+
+    private int days; // Number of days between two occurrences
+
+    /**
+     * Constructor for RecurrenceType enum.
+     * @param recurrenceType The string representation of the recurrence type.
+     * @param days The number of days between two occurrences.
+     */
+    RecurrenceType(String recurrenceType, int days) {
+        this.recurrenceType = recurrenceType;
+        this.days = days;
+    }
+
+    /**
+     * Returns the string representation of the recurrence type.
+     * @return The string representation of the recurrence type.
+     */
+    public String toString() {
+        return this.recurrenceType;
+    }
+
+    /**
+     * Gets the number of days between two occurrences.
+     * @return The number of days.
+     */
+    public int getDays() {
+        return this.days;
+    }
+
+    /**
+     * Gets the recurrence type with the given string representation.
+     * @param recurrenceType The string representation of the recurrence type.
+     * @return The recurrence type, or null if the string is not a recurrence type.
+     */
+    public static RecurrenceType getEnum(String recurrenceType) {
+        if(DAILY.toString().equals(recurrenceType)) {
+            return DAILY;
+        }
+        if(WEEKLY.toString().equals(recurrenceType)) {
+            return WEEKLY;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,39 @@
+package calendarsystem;
+
+/**
+ * Enumeration representing the outcome of a response to an invitation.
+ */
+public enum ResponseOutcome {
+
+    /** The account accepted the invitation and rejected its other invitations at the same time. */
+    ACCEPTED,
+
+    /** The account rejected the invitation. */
+    REJECTED,
+
+    /** The promoter account does not exist. */
+    UNKNOWN_PROMOTER,
+
+    /** The invited account does not exist. */
+    UNKNOWN_INVITEE,
+
+    /** The response is neither accept nor reject. */
+    UNKNOWN_RESPONSE,
+
+    /** The promoter has no event with the given name. */
+    UNKNOWN_EVENT,
+
+    /** The account is not on the invitation list of an event with the given name. */
+    NOT_INVITED,
+
+    /** The account has already responded to the invitation. */
+    ALREADY_RESPONDED;
+
+    /**
+     * Checks if the response changed the calendar.
+     * @return true if the invitation was accepted or rejected, false if the response was refused.
+     */
+    public boolean isSuccess() {
+        return this == ACCEPTED || this == REJECTED;
+    }
+}
@@ -0,0 +1,65 @@
+package calendarsystem;
+
+/**
+ * A response of an account to an invitation, as given to {@link CalendarSystem#respondAll}.
+ */
+public class ResponseRequest {
+
+    // The name of the invited account.
+    private String inviteeName;
+
+    // The name of the account that promotes the event.
+    private String promoterName;
+
+    // The name of the event.
+    private String eventName;
+
+    // The response, accept or reject.
+    private String response;
+
+    /**
+     * Initializes a response.
+     * @param inviteeName The name of the invited account.
+     * @param promoterName The name of the account that promotes the event.
+     * @param eventName The name of the event.
+     * @param response The response, accept or reject.
+     */
+    public ResponseRequest(String inviteeName, String promoterName, String eventName, String response) {
+        this.inviteeName = inviteeName;
+        this.promoterName = promoterName;
+        this.eventName = eventName;
+        this.response = response;
+    }
+
+    /**
+     * Gets the name of the invited account.
+     * @return the name of the invited account.
+     */
+    public String getInviteeName() {
+        return this.inviteeName;
+    }
+
+    /**
+     * Gets the name of the account that promotes the event.
+     * @return the name of the promoter.
+     */
+    public String getPromoterName() {
+        return this.promoterName;
+    }
+
+    /**
+     * Gets the name of the event.
+     * @return the name of the event.
+     */
+    public String getEventName() {
+        return this.eventName;
+    }
+
+    /**
+     * Gets the response.
+     * @return the response, as given.
+     */
+    public String getResponse() {
+        return this.response;
+    }
+}
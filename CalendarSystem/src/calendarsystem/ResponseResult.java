@@ -0,0 +1,62 @@
+package calendarsystem;
+
+import java.util.ArrayList;
+
+/**
+ * The result of a response to an invitation: its outcome and, for accepted invitations,
+ * the other invitations of the account on the same date that were rejected, in order.
+ */
+public class ResponseResult {
+
+    // The response.
+    private ResponseRequest request;
+
+    // The outcome of the response.
+    private ResponseOutcome outcome;
+
+    // The invitations rejected because the account accepted this one.
+    private ArrayList<Event> rejectedEvents;
+
+    /**
+     * Initializes a result without rejected invitations.
+     * @param request The response.
+     * @param outcome The outcome of the response.
+     */
+    public ResponseResult(ResponseRequest request, ResponseOutcome outcome) {
+        this.request = request;
+        this.outcome = outcome;
+        this.rejectedEvents = new ArrayList<>();
+    }
+
+    /**
+     * Records an invitation rejected because the account accepted this one.
+     * @param event The rejected event.
+     */
+    void addRejectedEvent(Event event) {
+        this.rejectedEvents.add(event);
+    }
+
+    /**
+     * Gets the response.
+     * @return the response.
+     */
+    public ResponseRequest getRequest() {
+        return this.request;
+    }
+
+    /**
+     * Gets the outcome of the response.
+     * @return the outcome.
+     */
+    public ResponseOutcome getOutcome() {
+        return this.outcome;
+    }
+
+    /**
+     * Gets the invitations rejected because the account accepted this one.
+     * @return the rejected events, in the order they were rejected.
+     */
+    public ArrayList<Event> getRejectedEvents() {
+        return new ArrayList<>(this.rejectedEvents);
+    }
+}
@@ -0,0 +1,65 @@
+package calendarsystem;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Writes a column of numbers with run-length encoding.
+ * The data block holds runs of (value, length), with the value zigzag-encoded so that
+ * negative numbers stay short.
+ */
+public class RunLengthColumnWriter extends ColumnWriter {
+
+    // The value of the current run.
+    private long runValue;
+
+    // The length of the current run.
+    private long runLength;
+
+    /**
+     * Opens a run-length-encoded column file.
+     * @param file The path of the column file.
+     * @throws IOException if the file cannot be written.
+     */
+    public RunLengthColumnWriter(Path file) throws IOException {
+        super(file, RUN_LENGTH_ENCODING);
+        this.runValue = 0;
+        this.runLength = 0;
+    }
+
+    /**
+     * Appends a value to the column.
+     * @param value The value to append.
+     * @throws IOException if the file cannot be written.
+     */
+    public void write(long value) throws IOException {
+        if (this.runLength > 0 && value != this.runValue) {
+            this.flushRun();
+        }
+        this.runValue = value;
+        this.runLength++;
+        this.addRow();
+    }
+
+    /**
+     * Writes the current run to the data block.
+     * @throws IOException if the file cannot be written.
+     */
+    private void flushRun() throws IOException {
+        if (this.runLength > 0) {
+            this.writeVarLong((this.runValue << 1) ^ (this.runValue >> 63));
+            this.writeVarLong(this.runLength);
+            this.runLength = 0;
+        }
+    }
+
+    /**
+     * Writes the last run and the footer, and closes the file.
+     * @throws IOException if the file cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        this.flushRun();
+        this.finish(-1);
+    }
+}
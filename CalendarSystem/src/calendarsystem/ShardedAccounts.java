@@ -0,0 +1,178 @@
+package calendarsystem;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * A collection of accounts partitioned across independent shards by the hash of their names.
+ * Each shard is a separate {@link Accounts} that owns its accounts and their events, so hashing and
+ * resizing only touch one shard. Operations on one account go straight to its shard, and queries over
+ * every account run on each shard in parallel with the given executor, then merge the sorted
+ * partial results.
+ */
+public class ShardedAccounts extends Accounts {
+
+    // The shards of accounts.
+    private Accounts[] shards;
+
+    // The executor that runs the per-shard part of the global queries.
+    private Executor executor;
+
+    /**
+     * Initializes the shards.
+     * @param shardCount The number of shards.
+     * @param executor The executor that runs the per-shard part of the global queries.
+     */
+    public ShardedAccounts(int shardCount, Executor executor) {
+        super(Collections.emptyMap());
+        this.shards = new Accounts[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            this.shards[i] = new Accounts(new ConcurrentHashMap<>());
+        }
+        this.executor = executor;
+    }
+
+    /**
+     * Gets the number of shards.
+     * @return the number of shards.
+     */
+    public int getShardCount() {
+        return this.shards.length;
+    }
+
+    /**
+     * Gets the shard of an account.
+     * @param accName The name of the account.
+     * @return the index of the shard that owns the account.
+     */
+    public int shardOf(String accName) {
+        int hash = accName.hashCode() * 0x9E3779B9;
+        return Math.floorMod(hash ^ (hash >>> 16), this.shards.length);
+    }
+
+    /**
+     * Gets the number of accounts of each shard.
+     * @return the number of accounts, by shard.
+     */
+    public int[] getShardSizes() {
+        int[] sizes = new int[this.shards.length];
+        for (int i = 0; i < this.shards.length; i++) {
+            sizes[i] = this.shards[i].getAccountCount();
+        }
+        return sizes;
+    }
+
+    @Override
+    public int getAccountCount() {
+        int count = 0;
+        for (int i = 0; i < this.shards.length; i++) {
+            count += this.shards[i].getAccountCount();
+        }
+        return count;
+    }
+
+    @Override
+    public boolean accountAlreadyExists(String accName) {
+        return this.shards[this.shardOf(accName)].accountAlreadyExists(accName);
+    }
+
+    @Override
+    public void addAccount(String accName, String accType) {
+        this.shards[this.shardOf(accName)].addAccount(accName, accType);
+    }
+
+    @Override
+    public void removeAccount(String accName) {
+        this.shards[this.shardOf(accName)].removeAccount(accName);
+    }
+
+    @Override
+    public AccountInterface getAcountByName(String accName) {
+        return this.shards[this.shardOf(accName)].getAcountByName(accName);
+    }
+
+    /**
+     * Gets a sorted list of accounts, merging the sorted accounts of every shard.
+     * @return an ArrayList containing sorted accounts.
+     */
+    @Override
+    public ArrayList<AccountInterface> sortedList() {
+        ArrayList<ArrayList<AccountInterface>> partials = this.onEveryShard(Accounts::sortedList);
+        return mergeSorted(partials, Comparator.comparing(AccountInterface::getName));
+    }
+
+    @Override
+    public boolean hasEventWithTopic(ArrayList<String> topics) {
+        ArrayList<Boolean> partials = this.onEveryShard(shard -> shard.hasEventWithTopic(topics));
+        return partials.contains(Boolean.TRUE);
+    }
+
+    /**
+     * Gets a list of events with the specified topics, merging the sorted events of every shard.
+     * An event held by accounts of several shards is kept once.
+     * @param topics The list of topics to filter events by.
+     * @return an ArrayList of events with the given topics.
+     */
+    @Override
+    public ArrayList<Event> getEventsWithTopics(ArrayList<String> topics) {
+        ArrayList<ArrayList<Event>> partials = this.onEveryShard(shard -> shard.getEventsWithTopics(topics));
+        return mergeSorted(partials, new EventComparator(topics));
+    }
+
+    /**
+     * Runs a query on every shard with the executor and waits for all of them.
+     * @param query The query to run on one shard.
+     * @return the result of each shard, by shard.
+     */
+    private <T> ArrayList<T> onEveryShard(Function<Accounts, T> query) {
+        ArrayList<CompletableFuture<T>> futures = new ArrayList<>(this.shards.length);
+        for (int i = 0; i < this.shards.length; i++) {
+            Accounts shard = this.shards[i];
+            futures.add(CompletableFuture.supplyAsync(() -> query.apply(shard), this.executor));
+        }
+        ArrayList<T> results = new ArrayList<>(this.shards.length);
+        for (int i = 0; i < futures.size(); i++) {
+            results.add(futures.get(i).join());
+        }
+        return results;
+    }
+
+    /**
+     * Merges sorted lists into one sorted list, keeping once an element found in several lists.
+     * @param lists The sorted lists.
+     * @param comparator The order of the lists.
+     * @return the merged list.
+     */
+    private static <T> ArrayList<T> mergeSorted(ArrayList<ArrayList<T>> lists, Comparator<? super T> comparator) {
+        int total = 0;
+        PriorityQueue<int[]> heads = new PriorityQueue<>(Math.max(1, lists.size()),
+                (a, b) -> comparator.compare(lists.get(a[0]).get(a[1]), lists.get(b[0]).get(b[1])));
+        for (int i = 0; i < lists.size(); i++) {
+            total += lists.get(i).size();
+            if (!lists.get(i).isEmpty()) {
+                heads.add(new int[] {i, 0});
+            }
+        }
+
+        ArrayList<T> merged = new ArrayList<>(total);
+        while (!heads.isEmpty()) {
+            int[] head = heads.poll();
+            ArrayList<T> list = lists.get(head[0]);
+            T element = list.get(head[1]);
+            T last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != element) {
+                merged.add(element);
+            }
+            if (++head[1] < list.size()) {
+                heads.add(head);
+            }
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,91 @@
+package calendarsystem;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A concurrent calendar system whose accounts are partitioned across shards by the hash of their names.
+ * Each shard owns its accounts and their events; an operation on one account only touches its shard.
+ * Operations that span shards, such as inviting an account of another shard, lock the stripes of every
+ * involved account in the usual fixed order, so they are coordinated the same way as any other
+ * multi-account operation. Global queries over topics and accounts run on every shard in parallel,
+ * one task per shard, and merge the sorted partial results.
+ */
+public class ShardedCalendarSystem extends ConcurrentCalendarSystem {
+
+    // The default number of lock stripes.
+    private static final int DEFAULT_STRIPES = 256;
+
+    // The thread pool created for the shards, or null if the executor was given.
+    private ExecutorService ownExecutor;
+
+    /**
+     * Initializes the calendar system with one thread per shard.
+     * @param shardCount The number of shards.
+     */
+    public ShardedCalendarSystem(int shardCount) {
+        this(shardCount, newShardExecutor(shardCount), true);
+    }
+
+    /**
+     * Initializes the calendar system.
+     * @param shardCount The number of shards.
+     * @param executor The executor that runs the per-shard part of the global queries.
+     */
+    public ShardedCalendarSystem(int shardCount, Executor executor) {
+        this(shardCount, executor, false);
+    }
+
+    /**
+     * Initializes the calendar system.
+     * @param shardCount The number of shards.
+     * @param executor The executor that runs the per-shard part of the global queries.
+     * @param owned true if the executor was created for the shards and must be shut down with them.
+     */
+    private ShardedCalendarSystem(int shardCount, Executor executor, boolean owned) {
+        super(new ShardedAccounts(shardCount, executor), new AccountLocks(DEFAULT_STRIPES));
+        this.ownExecutor = owned ? (ExecutorService) executor : null;
+    }
+
+    /**
+     * This method gets the sharded accounts of the system.
+     * @return the sharded accounts.
+     */
+    public ShardedAccounts getShardedAccounts() {
+        return (ShardedAccounts) this.accounts;
+    }
+
+    /**
+     * This method checks if an operation between two accounts spans two shards.
+     * @param accName1 The name of the first account.
+     * @param accName2 The name of the second account.
+     * @return true if the accounts belong to different shards, false otherwise.
+     */
+    public boolean isCrossShard(String accName1, String accName2) {
+        ShardedAccounts sharded = this.getShardedAccounts();
+        return sharded.shardOf(accName1) != sharded.shardOf(accName2);
+    }
+
+    /**
+     * This method stops the shard threads created by the system, if any.
+     */
+    public void shutdown() {
+        if (this.ownExecutor != null) {
+            this.ownExecutor.shutdown();
+        }
+    }
+
+    /**
+     * This method creates a pool of daemon threads, one per shard.
+     * @param shardCount The number of shards.
+     * @return the thread pool.
+     */
+    private static ExecutorService newShardExecutor(int shardCount) {
+        return Executors.newFixedThreadPool(shardCount, task -> {
+            Thread thread = new Thread(task, "calendar-shard");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
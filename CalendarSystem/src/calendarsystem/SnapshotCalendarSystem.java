@@ -0,0 +1,221 @@
+package calendarsystem;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A concurrent calendar system that also publishes immutable versions of its state.
+ * Every update, while it still holds the locks of its accounts, publishes a new
+ * {@link CalendarSnapshot} with fresh copies of the accounts and events it changed.
+ * Read-only callers use {@link #getSnapshot()} and never take a lock, so their latency
+ * does not depend on the writers.
+ */
+// The guards of the try-with-resources blocks are only there to release their stripes when the block ends.
+@SuppressWarnings("try")
+public class SnapshotCalendarSystem extends ConcurrentCalendarSystem implements EventListener {
+
+    // The latest published version.
+    private AtomicReference<CalendarSnapshot> snapshot;
+
+    // The changes of the update running on the current thread, if any.
+    private ThreadLocal<Publication> pending;
+
+    /**
+     * Initializes the calendar system with the default number of lock stripes.
+     */
+    public SnapshotCalendarSystem() {
+        super();
+        this.snapshot = new AtomicReference<>(new CalendarSnapshot());
+        this.pending = new ThreadLocal<>();
+    }
+
+    /**
+     * Initializes the calendar system.
+     * @param stripeCount The number of lock stripes.
+     */
+    public SnapshotCalendarSystem(int stripeCount) {
+        super(stripeCount);
+        this.snapshot = new AtomicReference<>(new CalendarSnapshot());
+        this.pending = new ThreadLocal<>();
+    }
+
+    /**
+     * This method gets the latest published version of the calendar, without locking.
+     * @return the latest snapshot.
+     */
+    public CalendarSnapshot getSnapshot() {
+        return this.snapshot.get();
+    }
+
+    @Override
+    public void addAccount(String accName, String accType) {
+        this.publishing(() -> super.addAccount(accName, accType), accName);
+    }
+
+    @Override
+    public void addRecurringEvent(String accName, String pType, String eventName, LocalDateTime ldt, int hours, String[] topics, Recurrence recurrence) {
+        this.publishing(() -> {
+            super.addRecurringEvent(accName, pType, eventName, ldt, hours, topics, recurrence);
+            Event event = super.getEventByName(accName, eventName);
+            event.setListener(this);
+            this.pending.get().events.put(event, event);
+        }, accName);
+    }
+
+    @Override
+    public boolean skipOccurrence(String promoterName, String eventName, LocalDateTime ldt) {
+        boolean[] skipped = new boolean[1];
+        this.publishing(() -> skipped[0] = super.skipOccurrence(promoterName, eventName, ldt), promoterName);
+        return skipped[0];
+    }
+
+    @Override
+    public void inviteeAcceptEvent(String promoterName, String inviteeName, String eventName) {
+        this.publishing(() -> super.inviteeAcceptEvent(promoterName, inviteeName, eventName), promoterName, inviteeName);
+    }
+
+    @Override
+    public void inviteeRejectEvent(String promoterName, String inviteeName, String eventName) {
+        this.publishing(() -> super.inviteeRejectEvent(promoterName, inviteeName, eventName), promoterName, inviteeName);
+    }
+
+    @Override
+    public void inviteUpdateEvent(String inviteeName, String promoterName, String eventName) {
+        this.publishing(() -> super.inviteUpdateEvent(inviteeName, promoterName, eventName), inviteeName, promoterName);
+    }
+
+    @Override
+    protected InviteResult inviteLocked(String[] accNames, String inviteeName, String promoterName, String eventName) {
+        InviteResult[] result = new InviteResult[1];
+        this.publishing(() -> result[0] = super.inviteLocked(accNames, inviteeName, promoterName, eventName), accNames);
+        return result[0];
+    }
+
+    @Override
+    protected ArrayList<InviteResult> inviteManyLocked(String[] accNames, String promoterName, String eventName, String[] inviteeNames) {
+        ArrayList<ArrayList<InviteResult>> results = new ArrayList<>();
+        this.publishing(() -> results.add(super.inviteManyLocked(accNames, promoterName, eventName, inviteeNames)), accNames);
+        return results.get(0);
+    }
+
+    @Override
+    protected ArrayList<ResponseResult> respondAllLocked(String[] accNames, List<ResponseRequest> requests) {
+        ArrayList<ArrayList<ResponseResult>> results = new ArrayList<>();
+        this.publishing(() -> results.add(super.respondAllLocked(accNames, requests)), accNames);
+        return results.get(0);
+    }
+
+    @Override
+    protected UnregisterResult unregisterLocked(String[] accNames, String accName) {
+        ArrayList<UnregisterResult> results = new ArrayList<>();
+        this.publishing(() -> results.add(super.unregisterLocked(accNames, accName)), accNames);
+        return results.get(0);
+    }
+
+    @Override
+    protected void removeEventLocked(String promoterName, Event event, ArrayList<String> inviteeNames) {
+        String[] accNames = inviteeNames.toArray(new String[inviteeNames.size() + 1]);
+        accNames[inviteeNames.size()] = promoterName;
+        this.publishing(() -> {
+            super.removeEventLocked(promoterName, event, inviteeNames);
+            this.pending.get().removedEvents.add(event);
+        }, accNames);
+    }
+
+    /**
+     * This method collects the events changed by the update running on the current thread,
+     * or publishes the change at once when the event was changed outside of an update.
+     * @param event The event that changed.
+     */
+    @Override
+    public void eventChanged(Event event) {
+        Publication publication = this.pending.get();
+        if (publication != null) {
+            publication.events.put(event, event);
+            return;
+        }
+        ArrayList<EventSnapshot> events = new ArrayList<>();
+        events.add(event.getSnapshot());
+        this.snapshot.updateAndGet(current -> current.publish(new ArrayList<>(), new ArrayList<>(), events, new ArrayList<>()));
+    }
+
+    /**
+     * This method runs an update with the given accounts locked, and publishes its changes
+     * before the locks are released. Nested updates are published with the outermost one.
+     * @param update The update to run.
+     * @param accNames The names of the accounts changed by the update.
+     */
+    private void publishing(Runnable update, String... accNames) {
+        try (AccountLocks.Guard guard = this.locks.lock(accNames)) {
+            Publication publication = this.pending.get();
+            if (publication == null) {
+                publication = new Publication();
+                this.pending.set(publication);
+            }
+            publication.depth++;
+            try {
+                update.run();
+            } finally {
+                for (int i = 0; i < accNames.length; i++) {
+                    publication.accNames.add(accNames[i]);
+                }
+                publication.depth--;
+                if (publication.depth == 0) {
+                    this.pending.remove();
+                    this.publish(publication);
+                }
+            }
+        }
+    }
+
+    /**
+     * This method copies the changed accounts and events and publishes them as a new version.
+     * A changed account that no longer exists was unregistered, and is removed from the new version.
+     * @param publication The changes of an update.
+     */
+    private void publish(Publication publication) {
+        ArrayList<AccountSnapshot> accounts = new ArrayList<>();
+        ArrayList<String> removedAccounts = new ArrayList<>();
+        Iterator<String> itNames = publication.accNames.iterator();
+        while (itNames.hasNext()) {
+            String accName = itNames.next();
+            AccountInterface acc = this.getAccountByName(accName);
+            if (acc != null) {
+                accounts.add(new AccountSnapshot(acc));
+            } else if (accName != null) {
+                removedAccounts.add(accName);
+            }
+        }
+
+        ArrayList<EventSnapshot> events = new ArrayList<>();
+        Iterator<Event> itEvents = publication.events.keySet().iterator();
+        while (itEvents.hasNext()) {
+            events.add(itEvents.next().getSnapshot());
+        }
+
+        this.snapshot.updateAndGet(current -> current.publish(accounts, removedAccounts, events, publication.removedEvents));
+    }
+
+    /**
+     * The changes made by an update, published together when it ends.
+     */
+    private static class Publication {
+
+        // The nesting depth of the running updates.
+        private int depth = 0;
+
+        // The names of the changed accounts.
+        private LinkedHashSet<String> accNames = new LinkedHashSet<>();
+
+        // The changed events, as an identity set.
+        private IdentityHashMap<Event, Event> events = new IdentityHashMap<>();
+
+        // The removed events.
+        private ArrayList<Event> removedEvents = new ArrayList<>();
+    }
+}
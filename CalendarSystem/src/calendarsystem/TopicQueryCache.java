@@ -0,0 +1,164 @@
+package calendarsystem;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of the results of topic queries, evicting the least recently used query when full.
+ * Queries are keyed by their topics sorted alphabetically, keeping repeated topics because they change the
+ * order of the results. An entry is dropped only when an event with one of its topics is created or removed,
+ * since other changes, such as invitations, never change which events a topic query returns.
+ * All the methods are synchronized, so the cache can be shared by the threads of a concurrent calendar.
+ */
+public class TopicQueryCache {
+
+    // The largest number of cached queries.
+    private int capacity;
+
+    // The cached results by normalized topics, in access order.
+    private LinkedHashMap<ArrayList<String>, ArrayList<Event>> entries;
+
+    // The counters of the cache.
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    /**
+     * Initializes an empty cache.
+     * @param capacity The largest number of cached queries, 0 to disable the cache.
+     */
+    public TopicQueryCache(int capacity) {
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ArrayList<String>, ArrayList<Event>> eldest) {
+                if (this.size() > TopicQueryCache.this.capacity) {
+                    TopicQueryCache.this.evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Gets the cached result of a query.
+     * @param topics The topics of the query.
+     * @return a copy of the cached events, or null if the query is not cached.
+     */
+    public synchronized ArrayList<Event> get(ArrayList<String> topics) {
+        ArrayList<Event> events = this.entries.get(normalize(topics));
+        if (events == null) {
+            this.misses++;
+            return null;
+        }
+        this.hits++;
+        return new ArrayList<>(events);
+    }
+
+    /**
+     * Checks if a query is cached, without counting a hit or a miss.
+     * @param topics The topics of the query.
+     * @return the number of cached events, or -1 if the query is not cached.
+     */
+    public synchronized int peekSize(ArrayList<String> topics) {
+        ArrayList<Event> events = this.entries.get(normalize(topics));
+        return events == null ? -1 : events.size();
+    }
+
+    /**
+     * Caches the result of a query.
+     * @param topics The topics of the query.
+     * @param events The events returned by the query, copied.
+     */
+    public synchronized void put(ArrayList<String> topics, ArrayList<Event> events) {
+        if (this.capacity > 0) {
+            this.entries.put(normalize(topics), new ArrayList<>(events));
+        }
+    }
+
+    /**
+     * Drops the cached queries that share a topic with a created or removed event.
+     * @param topics The topics of the event.
+     */
+    public synchronized void invalidate(ArrayList<String> topics) {
+        Iterator<ArrayList<String>> itKeys = this.entries.keySet().iterator();
+        while (itKeys.hasNext()) {
+            if (!Collections.disjoint(itKeys.next(), topics)) {
+                itKeys.remove();
+                this.invalidations++;
+            }
+        }
+    }
+
+    /**
+     * Drops every cached query.
+     */
+    public synchronized void clear() {
+        this.invalidations += this.entries.size();
+        this.entries.clear();
+    }
+
+    /**
+     * Gets the largest number of cached queries.
+     * @return the capacity.
+     */
+    public synchronized int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Gets the number of cached queries.
+     * @return the number of entries.
+     */
+    public synchronized int getSize() {
+        return this.entries.size();
+    }
+
+    /**
+     * Gets the number of queries answered from the cache.
+     * @return the number of hits.
+     */
+    public synchronized long getHits() {
+        return this.hits;
+    }
+
+    /**
+     * Gets the number of queries that were not cached.
+     * @return the number of misses.
+     */
+    public synchronized long getMisses() {
+        return this.misses;
+    }
+
+    /**
+     * Gets the number of queries dropped to make room for newer ones.
+     * @return the number of evictions.
+     */
+    public synchronized long getEvictions() {
+        return this.evictions;
+    }
+
+    /**
+     * Gets the number of queries dropped because an event with one of their topics changed.
+     * @return the number of invalidations.
+     */
+    public synchronized long getInvalidations() {
+        return this.invalidations;
+    }
+
+    /**
+     * Gets the key of a query: its topics sorted alphabetically, repeated topics included.
+     * @param topics The topics of the query.
+     * @return the normalized topics.
+     */
+    private static ArrayList<String> normalize(ArrayList<String> topics) {
+        ArrayList<String> key = new ArrayList<>(topics);
+        Collections.sort(key);
+        return key;
+    }
+}
@@ -0,0 +1,116 @@
+package calendarsystem;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A fork-join task that finds the events with at least one of the given topics in a range of accounts.
+ * Ranges larger than the partition size are split in two halves searched in parallel, and each
+ * partition returns its events sorted by {@link EventComparator}. The sorted halves are merged and an
+ * event held by accounts of both halves is kept once, so the result is the same as the sequential search.
+ */
+class TopicSearchTask extends RecursiveTask<ArrayList<Event>> {
+
+    // The version of the serialized form, which RecursiveTask inherits from ForkJoinTask.
+    private static final long serialVersionUID = 1L;
+
+    // The accounts to search.
+    private AccountInterface[] accounts;
+
+    // The first account of the range, inclusive.
+    private int from;
+
+    // The last account of the range, exclusive.
+    private int to;
+
+    // The largest range searched without splitting.
+    private int partitionSize;
+
+    // The topics to search for.
+    private ArrayList<String> topics;
+
+    // The order of the results.
+    private EventComparator comparator;
+
+    /**
+     * Initializes a search over a range of accounts.
+     * @param accounts The accounts to search.
+     * @param from The first account of the range, inclusive.
+     * @param to The last account of the range, exclusive.
+     * @param partitionSize The largest range searched without splitting.
+     * @param topics The topics to search for.
+     */
+    TopicSearchTask(AccountInterface[] accounts, int from, int to, int partitionSize, ArrayList<String> topics) {
+        this.accounts = accounts;
+        this.from = from;
+        this.to = to;
+        this.partitionSize = partitionSize;
+        this.topics = topics;
+        this.comparator = new EventComparator(topics);
+    }
+
+    @Override
+    protected ArrayList<Event> compute() {
+        if (this.to - this.from <= this.partitionSize) {
+            return this.searchPartition();
+        }
+        int middle = (this.from + this.to) >>> 1;
+        TopicSearchTask left = new TopicSearchTask(this.accounts, this.from, middle, this.partitionSize, this.topics);
+        TopicSearchTask right = new TopicSearchTask(this.accounts, middle, this.to, this.partitionSize, this.topics);
+        left.fork();
+        ArrayList<Event> rightEvents = right.compute();
+        return this.merge(left.join(), rightEvents);
+    }
+
+    /**
+     * Searches the range sequentially.
+     * @return the distinct events found, sorted by {@link EventComparator}.
+     */
+    private ArrayList<Event> searchPartition() {
+        Set<Event> found = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = this.from; i < this.to; i++) {
+            found.addAll(this.accounts[i].getEventsWithTopics(this.topics));
+        }
+        ArrayList<Event> eventsList = new ArrayList<>(found);
+        eventsList.sort(this.comparator);
+        return eventsList;
+    }
+
+    /**
+     * Merges two sorted lists of events, keeping once an event found in both.
+     * @param left The events of the left half, sorted.
+     * @param right The events of the right half, sorted.
+     * @return the merged list, sorted.
+     */
+    private ArrayList<Event> merge(ArrayList<Event> left, ArrayList<Event> right) {
+        ArrayList<Event> merged = new ArrayList<>(left.size() + right.size());
+        int i = 0;
+        int j = 0;
+        while (i < left.size() && j < right.size()) {
+            Event leftEvent = left.get(i);
+            Event rightEvent = right.get(j);
+            int comparison = this.comparator.compare(leftEvent, rightEvent);
+            if (comparison == 0 && leftEvent == rightEvent) {
+                merged.add(leftEvent);
+                i++;
+                j++;
+            } else if (comparison <= 0) {
+                merged.add(leftEvent);
+                i++;
+            } else {
+                merged.add(rightEvent);
+                j++;
+            }
+        }
+        while (i < left.size()) {
+            merged.add(left.get(i++));
+        }
+        while (j < right.size()) {
+            merged.add(right.get(j++));
+        }
+        return merged;
+    }
+}
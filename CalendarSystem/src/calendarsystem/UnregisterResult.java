@@ -0,0 +1,79 @@
+package calendarsystem;
+
+/**
+ * The result of unregistering an account: what the cascade over its own events changed.
+ */
+public class UnregisterResult {
+
+    // The name of the unregistered account.
+    private String accName;
+
+    // The number of events promoted by the account, cancelled with it.
+    private int cancelledEvents;
+
+    // The number of other accounts whose events were removed with the cancelled events.
+    private int updatedAccounts;
+
+    // The number of events the account was invited to, which no longer list it.
+    private int leftEvents;
+
+    /**
+     * Initializes a result for an account that has not changed anything yet.
+     * @param accName The name of the unregistered account.
+     */
+    UnregisterResult(String accName) {
+        this.accName = accName;
+        this.cancelledEvents = 0;
+        this.updatedAccounts = 0;
+        this.leftEvents = 0;
+    }
+
+    /**
+     * Records a cancelled event.
+     * @param invitees The number of other accounts the event was removed from.
+     */
+    void addCancelled(int invitees) {
+        this.cancelledEvents++;
+        this.updatedAccounts += invitees;
+    }
+
+    /**
+     * Records an event that no longer lists the account.
+     */
+    void addLeft() {
+        this.leftEvents++;
+    }
+
+    /**
+     * Gets the name of the unregistered account.
+     * @return the name of the account.
+     */
+    public String getAccName() {
+        return this.accName;
+    }
+
+    /**
+     * Gets the number of events promoted by the account, cancelled with it.
+     * @return the number of cancelled events.
+     */
+    public int getCancelledEvents() {
+        return this.cancelledEvents;
+    }
+
+    /**
+     * Gets the number of other accounts whose events were removed with the cancelled events,
+     * an account being counted once per event.
+     * @return the number of updated accounts.
+     */
+    public int getUpdatedAccounts() {
+        return this.updatedAccounts;
+    }
+
+    /**
+     * Gets the number of events the account was invited to, which no longer list it.
+     * @return the number of events left.
+     */
+    public int getLeftEvents() {
+        return this.leftEvents;
+    }
+}